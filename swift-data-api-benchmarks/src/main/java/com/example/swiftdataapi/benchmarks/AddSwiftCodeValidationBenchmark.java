@@ -0,0 +1,92 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the validation done by SwiftTableManager.addSwiftCode, for an accepted branch and for the
+ * two most common rejections. Accepted records are not stored, so the dataset keeps its size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class AddSwiftCodeValidationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    private SwiftTableManager swiftTableManager;
+    private BranchSwiftCodeDTO[] newBranches;
+    private BranchSwiftCodeDTO[] existingRecords;
+    private BranchSwiftCodeDTO[] headquarterCodesAsBranches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SwiftCodeEntity> entities = BenchmarkData.entities(datasetSize);
+        swiftTableManager = BenchmarkData.swiftTableManager(InMemorySwiftCodeRepository.create(entities), false);
+
+        List<SwiftCodeEntity> headquarters = entities.stream().filter(SwiftCodeEntity::getHeadquarter).toList();
+        // A branch code not used yet, under an existing headquarter
+        newBranches = headquarters.stream()
+                .map(entity -> toRequest(entity, entity.getBankPrefix() + "NEW", false))
+                .toArray(BranchSwiftCodeDTO[]::new);
+        existingRecords = entities.stream()
+                .map(entity -> toRequest(entity, entity.getSwiftCode(), entity.getHeadquarter()))
+                .toArray(BranchSwiftCodeDTO[]::new);
+        headquarterCodesAsBranches = headquarters.stream()
+                .map(entity -> toRequest(entity, entity.getSwiftCode(), false))
+                .toArray(BranchSwiftCodeDTO[]::new);
+    }
+
+    @Benchmark
+    public Object acceptedBranch() {
+        return swiftTableManager.addSwiftCode(random(newBranches));
+    }
+
+    @Benchmark
+    public Object rejectedDuplicate() {
+        return addRejected(random(existingRecords));
+    }
+
+    @Benchmark
+    public Object rejectedHeadquarterSuffix() {
+        return addRejected(random(headquarterCodesAsBranches));
+    }
+
+    private Object addRejected(BranchSwiftCodeDTO request) {
+        try {
+            return swiftTableManager.addSwiftCode(request);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    private static BranchSwiftCodeDTO random(BranchSwiftCodeDTO[] requests) {
+        return requests[ThreadLocalRandom.current().nextInt(requests.length)];
+    }
+
+    private static BranchSwiftCodeDTO toRequest(SwiftCodeEntity entity, String swiftCode, boolean headquarter) {
+        return new BranchSwiftCodeDTO(entity.getAddress(), entity.getBankName(), entity.getCountryISO2(),
+                entity.getCountryName(), headquarter, swiftCode);
+    }
+}
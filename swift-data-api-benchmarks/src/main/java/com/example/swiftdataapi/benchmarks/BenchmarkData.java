@@ -0,0 +1,88 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.SwiftCodeDatasetGenerator;
+import com.example.swiftdataapi.loader.SwiftCodeRowMapper;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.SwiftCodeMetrics;
+import com.example.swiftdataapi.service.SwiftCodeReadModel;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * SWIFT code records and services used by the benchmarks.
+ *
+ * Datasets are generated by {@link SwiftCodeDatasetGenerator} with a fixed seed, so they have the
+ * proportions of the provided file and the same size always gives the same records.
+ */
+final class BenchmarkData {
+
+    // Seed of all generated datasets, results of different runs are comparable
+    static final long SEED = 1;
+
+    private BenchmarkData() {}
+
+    /**
+     * Generates the given number of records, as the loader would create them from a file.
+     *
+     * @param size Number of records
+     * @return The records, headquarters first within every bank
+     */
+    static List<SwiftCodeEntity> entities(int size) {
+        return new SwiftCodeDatasetGenerator(SEED).rows(size)
+                .map(SwiftCodeRowMapper::toEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Generates a single headquarter with the given number of branches, all in the same country.
+     *
+     * @param branches Number of branches, at most 46654
+     * @return The headquarter followed by its branches
+     */
+    static List<SwiftCodeEntity> bank(int branches) {
+        List<SwiftCodeEntity> entities = new ArrayList<>(branches + 1);
+        entities.add(entity(1, "BANKPLPWXXX"));
+        for (int branch = 1; branch <= branches; branch++) {
+            // Three base-36 characters, "XXX" (43989) is skipped
+            String suffix = Integer.toString(branch < 43989 ? branch : branch + 1, 36).toUpperCase();
+            entities.add(entity(branch + 1, "BANKPLPW" + "0".repeat(3 - suffix.length()) + suffix));
+        }
+        return entities;
+    }
+
+    /**
+     * Creates a SwiftTableManager outside of Spring: no caching and no transactions, events are discarded.
+     *
+     * @param repository The repository to read from
+     * @param snapshot If true, reads are served from an in-memory snapshot built from the repository
+     * @return The service
+     */
+    static SwiftTableManager swiftTableManager(SwiftCodeRepository repository, boolean snapshot) {
+        SwiftCodeReadModel readModel = new SwiftCodeReadModel(repository, event -> {}, snapshot, null);
+        readModel.rebuild();
+        return swiftTableManager(repository, readModel);
+    }
+
+    /**
+     * Creates a SwiftTableManager outside of Spring reading through the given read model.
+     *
+     * @param repository The repository to read from when the read model has no snapshot
+     * @param readModel The read model
+     * @return The service
+     */
+    static SwiftTableManager swiftTableManager(SwiftCodeRepository repository, SwiftCodeReadModel readModel) {
+        // The COPY and INCREMENTAL engines are not benchmarked, they only run against PostgreSQL
+        return new SwiftTableManager(repository, null, readModel, event -> {},
+                new SwiftCodeMetrics(new SimpleMeterRegistry(), repository, readModel), null, null, null);
+    }
+
+    private static SwiftCodeEntity entity(long id, String swiftCode) {
+        return new SwiftCodeEntity(id, "PL", swiftCode, "BENCHMARK BANK S.A.",
+                id + " MAIN STREET WARSZAWA, MAZOWIECKIE, 00-001", "POLAND", swiftCode.endsWith("XXX"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.SwiftCodeDatasetGenerator;
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.StreamingExcelReader;
+import com.example.swiftdataapi.loader.SwiftCodeRowMapper;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of reading a SWIFT codes .xlsx file generated by SwiftCodeDatasetGenerator,
+ * reported in rows per second (the "rows" secondary result).
+ *
+ * Engines:
+ * STREAMING - {@link StreamingExcelReader}, the SAX reader used for .xlsx files.
+ * USERMODEL - POI usermodel API, the whole workbook is loaded before the rows are read.
+ * LOADER - SwiftTableManager.loadSwiftDataFromExcel with the JPA engine on an in-memory repository:
+ * streaming read, chunking and duplicate detection, without the database writes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExcelParsingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Param({"STREAMING", "USERMODEL", "LOADER"})
+    private String engine;
+
+    private File file;
+    private SwiftTableManager swiftTableManager;
+
+    /**
+     * Number of rows read, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = File.createTempFile("swift-codes-" + rows + "-", ".xlsx");
+        new SwiftCodeDatasetGenerator(BenchmarkData.SEED).writeXlsx(rows, file);
+        swiftTableManager = BenchmarkData.swiftTableManager(InMemorySwiftCodeRepository.create(List.of()), false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void readFile(RowCounter counter, Blackhole blackhole) throws Exception {
+        switch (engine) {
+            case "STREAMING" -> counter.rows += new StreamingExcelReader().read(file, blackhole::consume);
+            case "USERMODEL" -> counter.rows += readWorkbook(blackhole);
+            case "LOADER" -> counter.rows += swiftTableManager
+                    .loadSwiftDataFromExcel(file.getPath(), LoadEngine.JPA, false).getRowsChecked();
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+
+    // Same reading as SwiftTableManager uses for workbooks which are not .xlsx files
+    private long readWorkbook(Blackhole blackhole) throws Exception {
+        long count = 0;
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Iterator<Row> rowIterator = sheet.iterator();
+            if (rowIterator.hasNext()) {
+                rowIterator.next();  // Skip header row
+            }
+            String[] cells = new String[SwiftCodeRowMapper.COLUMN_COUNT];
+            while (rowIterator.hasNext()) {
+                Row row = rowIterator.next();
+                for (int i = 0; i < cells.length; i++) {
+                    Cell cell = row.getCell(i);
+                    cells[i] = cell != null ? cell.toString().trim() : "";
+                }
+                SwiftCodeEntity entity = SwiftCodeRowMapper.toEntity(cells);
+                blackhole.consume(entity);
+                count++;
+            }
+        }
+        return count;
+    }
+}
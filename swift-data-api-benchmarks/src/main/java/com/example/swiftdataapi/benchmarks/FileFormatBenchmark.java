@@ -0,0 +1,116 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.SwiftCodeDatasetGenerator;
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.SwiftCodeBinaryWriter;
+import com.example.swiftdataapi.loader.SwiftCodeFileReader;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of reading the same SWIFT codes dataset in each file format the loader accepts,
+ * reported in rows per second (the "rows" secondary result).
+ *
+ * Formats:
+ * XLSX - .xlsx file, read by the SAX reader.
+ * CSV - CSV file, memory-mapped and split in place.
+ * BINARY - length-prefixed binary file converted from the .xlsx file, memory-mapped.
+ *
+ * Engines:
+ * READER - the file reader alone, as selected by SwiftCodeFileReader.
+ * LOADER - SwiftTableManager.loadSwiftDataFromExcel with the JPA engine on an in-memory repository:
+ * reading, validation, chunking and duplicate detection, without the database writes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class FileFormatBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"XLSX", "CSV", "BINARY"})
+    private String format;
+
+    @Param({"READER", "LOADER"})
+    private String engine;
+
+    private File file;
+    private SwiftTableManager swiftTableManager;
+
+    /**
+     * Number of rows read, reported per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SwiftCodeDatasetGenerator generator = new SwiftCodeDatasetGenerator(BenchmarkData.SEED);
+        switch (format) {
+            case "XLSX" -> {
+                file = File.createTempFile("swift-codes-" + rows + "-", ".xlsx");
+                generator.writeXlsx(rows, file);
+            }
+            case "CSV" -> {
+                file = File.createTempFile("swift-codes-" + rows + "-", ".csv");
+                generator.writeCsv(rows, file);
+            }
+            case "BINARY" -> {
+                // Generated once from the .xlsx file, as in production
+                File xlsx = File.createTempFile("swift-codes-" + rows + "-", ".xlsx");
+                generator.writeXlsx(rows, xlsx);
+                file = File.createTempFile("swift-codes-" + rows + "-", ".bin");
+                SwiftCodeBinaryWriter.convert(xlsx, file);
+                xlsx.delete();
+            }
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        swiftTableManager = BenchmarkData.swiftTableManager(InMemorySwiftCodeRepository.create(List.of()), false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public void readFile(RowCounter counter, Blackhole blackhole) throws Exception {
+        switch (engine) {
+            case "READER" -> counter.rows += new SwiftCodeFileReader().read(file, blackhole::consume);
+            case "LOADER" -> counter.rows += swiftTableManager
+                    .loadSwiftDataFromExcel(file.getPath(), LoadEngine.JPA, false).getRowsChecked();
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+    }
+}
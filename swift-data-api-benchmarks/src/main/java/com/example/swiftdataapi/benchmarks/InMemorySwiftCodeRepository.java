@@ -0,0 +1,115 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.dto.BranchListDTO;
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SwiftCodeRepository} answering the queries used by {@code SwiftTableManager} from indexed maps.
+ *
+ * The benchmarks measure the service code, not the database: query results are built once and
+ * writes are accepted without changing the data, so every invocation of a benchmark sees the same state.
+ * Methods which are not needed by the benchmarks throw {@link UnsupportedOperationException}.
+ */
+final class InMemorySwiftCodeRepository implements InvocationHandler {
+
+    private final List<SwiftCodeEntity> entities;
+
+    // SWIFT code -> records, ordered by id
+    private final Map<String, List<SwiftCodeEntity>> bySwiftCode;
+
+    // SWIFT code -> details of the oldest record with this code
+    private final Map<String, BranchSwiftCodeDTO> detailsBySwiftCode = new HashMap<>();
+
+    // Institution prefix -> records sharing the prefix, as returned by findBranchList
+    private final Map<String, List<BranchListDTO>> branchListsByPrefix;
+
+    // Country ISO2 code -> details of the records of the country
+    private final Map<String, List<BranchSwiftCodeDTO>> detailsByCountry;
+
+    private InMemorySwiftCodeRepository(List<SwiftCodeEntity> entities) {
+        this.entities = List.copyOf(entities);
+        this.bySwiftCode = entities.stream().collect(Collectors.groupingBy(SwiftCodeEntity::getSwiftCode));
+        this.branchListsByPrefix = entities.stream().collect(Collectors.groupingBy(SwiftCodeEntity::getBankPrefix,
+                Collectors.mapping(InMemorySwiftCodeRepository::toBranchList, Collectors.toList())));
+        this.detailsByCountry = entities.stream().collect(Collectors.groupingBy(SwiftCodeEntity::getCountryISO2,
+                Collectors.mapping(InMemorySwiftCodeRepository::toDetails, Collectors.toList())));
+        for (SwiftCodeEntity entity : entities) {
+            detailsBySwiftCode.putIfAbsent(entity.getSwiftCode(), toDetails(entity));
+        }
+    }
+
+    /**
+     * Creates a repository containing the given records.
+     *
+     * @param entities The records, ordered by id
+     * @return The repository
+     */
+    static SwiftCodeRepository create(List<SwiftCodeEntity> entities) {
+        return (SwiftCodeRepository) Proxy.newProxyInstance(SwiftCodeRepository.class.getClassLoader(),
+                new Class<?>[]{SwiftCodeRepository.class}, new InMemorySwiftCodeRepository(entities));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "findAll" -> entities;
+            case "findBySwiftCode" -> first((String) args[0]);
+            case "findBySwiftCodeAndBankNameAndCountryISO2" -> bySwiftCode.getOrDefault((String) args[0], List.of()).stream()
+                    .filter(entity -> entity.getBankName().equals(args[1]) && entity.getCountryISO2().equals(args[2]))
+                    .findFirst();
+            case "findDetailsBySwiftCode" -> {
+                BranchSwiftCodeDTO details = detailsBySwiftCode.get((String) args[0]);
+                yield details != null ? List.of(details) : List.of();
+            }
+            case "findBranchList" -> branchListsByPrefix.getOrDefault((String) args[0], List.of()).stream()
+                    .filter(branch -> !branch.getSwiftCode().equals(args[1]))
+                    .collect(Collectors.toList());
+            case "findDetailsByCountryISO2" -> detailsByCountry.getOrDefault((String) args[0], List.of());
+            case "findNaturalKeysBySwiftCodeIn" -> naturalKeys((Collection<?>) args[0]);
+            case "existsAnyRecord" -> !entities.isEmpty();
+            case "save", "saveAll" -> args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemorySwiftCodeRepository(" + entities.size() + " records)";
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private Optional<SwiftCodeEntity> first(String swiftCode) {
+        List<SwiftCodeEntity> matches = bySwiftCode.get(swiftCode);
+        return matches != null ? Optional.of(matches.get(0)) : Optional.empty();
+    }
+
+    private List<Object[]> naturalKeys(Collection<?> swiftCodes) {
+        List<Object[]> keys = new ArrayList<>();
+        for (Object swiftCode : swiftCodes) {
+            for (SwiftCodeEntity entity : bySwiftCode.getOrDefault((String) swiftCode, List.of())) {
+                keys.add(new Object[]{entity.getSwiftCode(), entity.getBankName(), entity.getCountryISO2()});
+            }
+        }
+        return keys;
+    }
+
+    private static BranchListDTO toBranchList(SwiftCodeEntity entity) {
+        return new BranchListDTO(entity.getAddress(), entity.getBankName(), entity.getCountryISO2(),
+                entity.getHeadquarter(), entity.getSwiftCode());
+    }
+
+    private static BranchSwiftCodeDTO toDetails(SwiftCodeEntity entity) {
+        return new BranchSwiftCodeDTO(entity.getAddress(), entity.getBankName(), entity.getCountryISO2(),
+                entity.getCountryName(), entity.getHeadquarter(), entity.getSwiftCode());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.MappedSwiftCodeSnapshot;
+import com.example.swiftdataapi.service.SwiftCodeLookup;
+import com.example.swiftdataapi.service.SwiftCodeSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time until the read model can answer its first lookup at startup. Run with "-prof gc" to compare the heap allocated.
+ *
+ * Sources:
+ * ENTITIES - SwiftCodeSnapshot built from the entities of the table, as after reading it from the database
+ * (the database query itself is not included).
+ * SNAPSHOT_FILE - the snapshot file mapped and verified by MappedSwiftCodeSnapshot, in the page cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ReadModelStartupBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int datasetSize;
+
+    @Param({"ENTITIES", "SNAPSHOT_FILE"})
+    private String source;
+
+    private List<SwiftCodeEntity> entities;
+    private Path snapshotFile;
+    private String swiftCode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        entities = BenchmarkData.entities(datasetSize);
+        snapshotFile = Files.createTempFile("swift-codes-" + datasetSize + "-", ".snapshot");
+        MappedSwiftCodeSnapshot.write(entities, snapshotFile);
+        swiftCode = entities.get(datasetSize / 2).getSwiftCode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(snapshotFile);
+    }
+
+    @Benchmark
+    public Object firstLookup() throws IOException {
+        SwiftCodeLookup snapshot = switch (source) {
+            case "ENTITIES" -> SwiftCodeSnapshot.of(entities);
+            case "SNAPSHOT_FILE" -> MappedSwiftCodeSnapshot.open(snapshotFile);
+            default -> throw new IllegalArgumentException("Unknown source: " + source);
+        };
+        return snapshot.findBySwiftCode(swiftCode).orElseThrow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.dto.SwiftCodeResponseDTO;
+import com.example.swiftdataapi.dto.endpoint2.CountrySwiftCodesResponseDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of building the responses of the two read endpoints and of serializing them with Jackson.
+ * The dataset is a single headquarter with "size" branches, all in the same country, so "size" is the number of
+ * branches of the SwiftCodeResponseDTO and the number of SWIFT codes of the CountrySwiftCodesResponseDTO.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SwiftTableManager swiftTableManager;
+    private String headquarterCode;
+    private String countryISO2;
+    private SwiftCodeResponseDTO headquarterResponse;
+    private CountrySwiftCodesResponseDTO countryResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<SwiftCodeEntity> entities = BenchmarkData.bank(size);
+        swiftTableManager = BenchmarkData.swiftTableManager(InMemorySwiftCodeRepository.create(entities), false);
+        headquarterCode = entities.get(0).getSwiftCode();
+        countryISO2 = entities.get(0).getCountryISO2();
+        headquarterResponse = (SwiftCodeResponseDTO) swiftTableManager.getSwiftCodeDetails(headquarterCode);
+        countryResponse = swiftTableManager.getSwiftCodesForCountry(countryISO2);
+    }
+
+    @Benchmark
+    public Object mapHeadquarterResponse() {
+        return swiftTableManager.getSwiftCodeDetails(headquarterCode);
+    }
+
+    @Benchmark
+    public CountrySwiftCodesResponseDTO mapCountryResponse() {
+        return swiftTableManager.getSwiftCodesForCountry(countryISO2);
+    }
+
+    @Benchmark
+    public byte[] serializeHeadquarterResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(headquarterResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeCountryResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(countryResponse);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeCountryResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(swiftTableManager.getSwiftCodesForCountry(countryISO2));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.swiftdataapi.benchmarks;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.MappedSwiftCodeSnapshot;
+import com.example.swiftdataapi.service.SwiftCodeReadModel;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of SwiftTableManager.getSwiftCodeDetails, including the resolution of the branches of a headquarter.
+ * Codes are picked at random, so the lookups are spread over the whole dataset.
+ *
+ * Sources:
+ * REPOSITORY - the repository queries, answered by {@link InMemorySwiftCodeRepository}.
+ * SNAPSHOT - the in-memory snapshot of the read model ("swift.read-model.enabled").
+ * SNAPSHOT_FILE - the mapped snapshot file served at startup ("swift.read-model.snapshot-file").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SwiftCodeDetailsBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    @Param({"REPOSITORY", "SNAPSHOT", "SNAPSHOT_FILE"})
+    private String source;
+
+    private SwiftTableManager swiftTableManager;
+    private Path snapshotFile;
+    private String[] headquarterCodes;
+    private String[] branchCodes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<SwiftCodeEntity> entities = BenchmarkData.entities(datasetSize);
+        SwiftCodeRepository repository = InMemorySwiftCodeRepository.create(entities);
+        if (source.equals("SNAPSHOT_FILE")) {
+            snapshotFile = Files.createTempFile("swift-codes-" + datasetSize + "-", ".snapshot");
+            MappedSwiftCodeSnapshot.write(entities, snapshotFile);
+            swiftTableManager = BenchmarkData.swiftTableManager(repository,
+                    new SwiftCodeReadModel(repository, event -> {}, true, snapshotFile.toString()));
+        } else {
+            swiftTableManager = BenchmarkData.swiftTableManager(repository, source.equals("SNAPSHOT"));
+        }
+        headquarterCodes = entities.stream().filter(SwiftCodeEntity::getHeadquarter)
+                .map(SwiftCodeEntity::getSwiftCode).toArray(String[]::new);
+        branchCodes = entities.stream().filter(entity -> !entity.getHeadquarter())
+                .map(SwiftCodeEntity::getSwiftCode).toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (snapshotFile != null) {
+            Files.delete(snapshotFile);
+        }
+    }
+
+    @Benchmark
+    public Object headquarterDetails() {
+        return swiftTableManager.getSwiftCodeDetails(randomCode(headquarterCodes));
+    }
+
+    @Benchmark
+    public Object branchDetails() {
+        return swiftTableManager.getSwiftCodeDetails(randomCode(branchCodes));
+    }
+
+    private static String randomCode(String[] codes) {
+        return codes[ThreadLocalRandom.current().nextInt(codes.length)];
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.swiftdataapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class SwiftDataReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SwiftDataReactiveApplication.class, args);
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.example.swiftdataapi.reactive.controller;
+
+import com.example.swiftdataapi.dto.BranchListDTO;
+import com.example.swiftdataapi.reactive.service.ReactiveSwiftCodeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking read endpoints, with the same paths and responses as the ones of swift-data-api.
+ * Requests are served by the Netty event loops: no handler blocks, so a few threads serve any
+ * number of concurrent connections.
+ */
+@RestController
+@RequestMapping("/v1/swift-codes")
+public class ReactiveSwiftCodeController {
+
+    private final ReactiveSwiftCodeService swiftCodeService;
+
+    public ReactiveSwiftCodeController(ReactiveSwiftCodeService swiftCodeService) {
+        this.swiftCodeService = swiftCodeService;
+    }
+
+    /**
+     * Endpoint to retrieve detailed information about a specific SWIFT code.
+     *
+     * @param swiftCode The SWIFT code to fetch details for.
+     * @return Details of the requested SWIFT code if found, or a 'not found' response.
+     */
+    @GetMapping("/{swiftCode}")
+    public Mono<ResponseEntity<Object>> getSwiftCodeDetails(@PathVariable("swiftCode") String swiftCode) {
+        return swiftCodeService.getSwiftCodeDetails(swiftCode)
+                .map(ResponseEntity::ok)
+                // If the SWIFT code is not found, return a 404 Not Found with the error message
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(notFound(e)));
+    }
+
+    /**
+     * Endpoint to retrieve all SWIFT codes for a given country based on its ISO2 code.
+     *
+     * @param countryISO2code The 2-letter ISO code of the country.
+     * @return The SWIFT codes associated with the given country, or a 'not found' response.
+     */
+    @GetMapping(value = "/country/{countryISO2code}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<Object>> getSwiftCodeForCountry(@PathVariable("countryISO2code") String countryISO2code) {
+        return swiftCodeService.getSwiftCodesForCountry(countryISO2code)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(notFound(e)));
+    }
+
+    /**
+     * Endpoint to stream the SWIFT codes of a country as NDJSON (one JSON object per line),
+     * selected with "Accept: application/x-ndjson".
+     * Lines are written while the rows are read, and rows are only read as fast as the client
+     * receives them.
+     *
+     * @param countryISO2code The 2-letter ISO code of the country.
+     * @return The SWIFT codes associated with the given country, none if the country is unknown.
+     */
+    @GetMapping(value = "/country/{countryISO2code}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BranchListDTO> streamSwiftCodesForCountry(@PathVariable("countryISO2code") String countryISO2code) {
+        return swiftCodeService.streamSwiftCodesForCountry(countryISO2code);
+    }
+
+    /**
+     * Endpoint to retrieve the details of many SWIFT codes in one request.
+     *
+     * @param swiftCodes The SWIFT codes to fetch details for (at most 1000 distinct codes).
+     * @return For every requested SWIFT code its details, or a 'not found' message.
+     */
+    @PostMapping("/lookup")
+    public Mono<ResponseEntity<Map<String, Object>>> lookupSwiftCodes(@RequestBody List<String> swiftCodes) {
+        return swiftCodeService.lookupSwiftCodes(swiftCodes)
+                .map(ResponseEntity::ok)
+                // If too many SWIFT codes are requested, return a Bad Request response with the error
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("message", e.getMessage()))));
+    }
+
+    private static ResponseEntity<Object> notFound(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+    }
+}
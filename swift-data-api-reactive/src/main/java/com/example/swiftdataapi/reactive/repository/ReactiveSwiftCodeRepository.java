@@ -0,0 +1,105 @@
+package com.example.swiftdataapi.reactive.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking queries of the swift_codes table, executed with R2DBC.
+ *
+ * The queries are the ones of {@code SwiftCodeRepository} in swift-data-api, written in SQL
+ * and served by the same indexes.
+ */
+@Repository
+public class ReactiveSwiftCodeRepository {
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveSwiftCodeRepository(DatabaseClient databaseClient,
+                                       @Value("${swift.reactive.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Finds the record with the given SWIFT code, the oldest one if the code is used more than once.
+     *
+     * @param swiftCode The SWIFT code.
+     * @return The record, or an empty Mono if there is none.
+     */
+    public Mono<SwiftCodeRow> findBySwiftCode(String swiftCode) {
+        return databaseClient.sql("SELECT " + SwiftCodeRow.COLUMNS + " FROM swift_codes "
+                        + "WHERE swift_code = :swiftCode ORDER BY id LIMIT 1")
+                .bind("swiftCode", swiftCode)
+                .map(SwiftCodeRow::from)
+                .one();
+    }
+
+    /**
+     * Finds the records sharing the given institution prefix, except the given SWIFT code.
+     * Used to list the branches of a headquarter.
+     *
+     * @param bankPrefix The 8-character institution prefix.
+     * @param swiftCode The SWIFT code to exclude, usually the one of the headquarter.
+     * @return The branches, ordered by id.
+     */
+    public Flux<SwiftCodeRow> findBranches(String bankPrefix, String swiftCode) {
+        return databaseClient.sql("SELECT " + SwiftCodeRow.COLUMNS + " FROM swift_codes "
+                        + "WHERE bank_prefix = :bankPrefix AND swift_code <> :swiftCode ORDER BY id")
+                .bind("bankPrefix", bankPrefix)
+                .bind("swiftCode", swiftCode)
+                .map(SwiftCodeRow::from)
+                .all();
+    }
+
+    /**
+     * Finds all records of a country.
+     * Rows are fetched "swift.reactive.fetch-size" at a time, and the next rows are only fetched
+     * when the subscriber requests them, so a slow client holds back the query instead of
+     * filling the heap.
+     *
+     * @param countryISO2 The upper-case 2-letter ISO country code.
+     * @return The records of the country, ordered by id.
+     */
+    public Flux<SwiftCodeRow> findAllByCountryISO2(String countryISO2) {
+        return databaseClient.sql("SELECT " + SwiftCodeRow.COLUMNS + " FROM swift_codes "
+                        + "WHERE countryiso2 = :countryISO2 ORDER BY id")
+                .bind("countryISO2", countryISO2)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(SwiftCodeRow::from)
+                .all();
+    }
+
+    /**
+     * Finds the records with any of the given SWIFT codes.
+     *
+     * @param swiftCodes The SWIFT codes.
+     * @return The records, ordered by id.
+     */
+    public Flux<SwiftCodeRow> findAllBySwiftCodeIn(Collection<String> swiftCodes) {
+        return databaseClient.sql("SELECT " + SwiftCodeRow.COLUMNS + " FROM swift_codes "
+                        + "WHERE swift_code = ANY(:swiftCodes) ORDER BY id")
+                .bind("swiftCodes", swiftCodes.toArray(new String[0]))
+                .map(SwiftCodeRow::from)
+                .all();
+    }
+
+    /**
+     * Finds the records with any of the given institution prefixes.
+     *
+     * @param bankPrefixes The 8-character institution prefixes.
+     * @return The records, ordered by id.
+     */
+    public Flux<SwiftCodeRow> findAllByBankPrefixIn(Collection<String> bankPrefixes) {
+        return databaseClient.sql("SELECT " + SwiftCodeRow.COLUMNS + " FROM swift_codes "
+                        + "WHERE bank_prefix = ANY(:bankPrefixes) ORDER BY id")
+                .bind("bankPrefixes", bankPrefixes.toArray(new String[0]))
+                .map(SwiftCodeRow::from)
+                .all();
+    }
+}
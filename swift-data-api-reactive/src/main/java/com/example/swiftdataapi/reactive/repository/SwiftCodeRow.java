@@ -0,0 +1,51 @@
+package com.example.swiftdataapi.reactive.repository;
+
+import com.example.swiftdataapi.dto.BranchListDTO;
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.dto.SwiftCodeResponseDTO;
+import io.r2dbc.spi.Readable;
+
+import java.util.List;
+
+/**
+ * One row of the swift_codes table, as read by {@link ReactiveSwiftCodeRepository}.
+ * The table is the one mapped by {@code SwiftCodeEntity} and managed by the migrations of swift-data-api.
+ *
+ * @param address The address of the bank or branch.
+ * @param bankName The name of the bank.
+ * @param countryISO2 The 2-letter ISO country code.
+ * @param countryName The name of the country.
+ * @param headquarter Whether the row is the headquarter of the bank.
+ * @param swiftCode The SWIFT code.
+ * @param bankPrefix The first 8 characters of the SWIFT code, shared by a headquarter and its branches.
+ */
+public record SwiftCodeRow(String address, String bankName, String countryISO2, String countryName,
+                           boolean headquarter, String swiftCode, String bankPrefix) {
+
+    // Columns read by every query, in the order of the record components
+    static final String COLUMNS = "address, bank_name, countryiso2, country_name, is_headquarter, swift_code, bank_prefix";
+
+    static SwiftCodeRow from(Readable row) {
+        return new SwiftCodeRow(
+                row.get("address", String.class),
+                row.get("bank_name", String.class),
+                row.get("countryiso2", String.class),
+                row.get("country_name", String.class),
+                Boolean.TRUE.equals(row.get("is_headquarter", Boolean.class)),
+                row.get("swift_code", String.class),
+                row.get("bank_prefix", String.class)
+        );
+    }
+
+    public BranchSwiftCodeDTO toBranchSwiftCodeDTO() {
+        return new BranchSwiftCodeDTO(address, bankName, countryISO2, countryName, headquarter, swiftCode);
+    }
+
+    public BranchListDTO toBranchListDTO() {
+        return new BranchListDTO(address, bankName, countryISO2, headquarter, swiftCode);
+    }
+
+    public SwiftCodeResponseDTO toSwiftCodeResponseDTO(List<BranchListDTO> branches) {
+        return new SwiftCodeResponseDTO(address, bankName, countryISO2, countryName, headquarter, swiftCode, branches);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.swiftdataapi.reactive.service;
+
+import com.example.swiftdataapi.dto.BranchListDTO;
+import com.example.swiftdataapi.dto.endpoint2.CountrySwiftCodesResponseDTO;
+import com.example.swiftdataapi.reactive.repository.ReactiveSwiftCodeRepository;
+import com.example.swiftdataapi.reactive.repository.SwiftCodeRow;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking version of the read operations of {@code SwiftTableManager}.
+ * Responses have the same content as the ones of swift-data-api, and the same
+ * IllegalArgumentException messages are used for the error responses.
+ */
+@Service
+public class ReactiveSwiftCodeService {
+
+    // Maximum number of distinct SWIFT codes in a single lookup, as in swift-data-api
+    public static final int MAX_LOOKUP_CODES = 1000;
+
+    private final ReactiveSwiftCodeRepository swiftCodeRepository;
+
+    public ReactiveSwiftCodeService(ReactiveSwiftCodeRepository swiftCodeRepository) {
+        this.swiftCodeRepository = swiftCodeRepository;
+    }
+
+    /**
+     * Retrieves the details of a SWIFT code.
+     * @param swiftCode SWIFT code
+     * @return SwiftCodeResponseDTO with the branches for a headquarter, BranchSwiftCodeDTO for a branch,
+     *         or an IllegalArgumentException if the code is not found
+     */
+    public Mono<Object> getSwiftCodeDetails(String swiftCode) {
+        return swiftCodeRepository.findBySwiftCode(swiftCode)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("SWIFT code not found: " + swiftCode)))
+                .flatMap(mainRow -> {
+                    if (!mainRow.headquarter()) {
+                        // Return branch information if it's not a headquarter
+                        return Mono.just(mainRow.toBranchSwiftCodeDTO());
+                    }
+                    return swiftCodeRepository.findBranches(mainRow.bankPrefix(), mainRow.swiftCode())
+                            .map(SwiftCodeRow::toBranchListDTO)
+                            .collectList()
+                            .map(mainRow::toSwiftCodeResponseDTO);
+                });
+    }
+
+    /**
+     * Retrieves SWIFT codes for a specific country.
+     * @param countryISO2code Country ISO2 code
+     * @return CountrySwiftCodesResponseDTO containing the country's SWIFT codes,
+     *         or an IllegalArgumentException if the country has none
+     */
+    public Mono<CountrySwiftCodesResponseDTO> getSwiftCodesForCountry(String countryISO2code) {
+        String countryISO2 = countryISO2code.toUpperCase();
+        return swiftCodeRepository.findAllByCountryISO2(countryISO2)
+                .collectList()
+                .handle((rows, sink) -> {
+                    if (rows.isEmpty()) {
+                        sink.error(new IllegalArgumentException("No SWIFT codes found for country ISO2 code: " + countryISO2code));
+                        return;
+                    }
+                    List<BranchListDTO> swiftCodes = rows.stream()
+                            .map(SwiftCodeRow::toBranchListDTO)
+                            .collect(Collectors.toList());
+                    sink.next(new CountrySwiftCodesResponseDTO(countryISO2, rows.get(0).countryName(), swiftCodes));
+                });
+    }
+
+    /**
+     * Streams the SWIFT codes of a country, ordered by id.
+     * Nothing is collected: every SWIFT code is emitted as soon as its row is read, and rows are
+     * read from the database only as fast as the subscriber requests them.
+     * @param countryISO2code Country ISO2 code
+     * @return The SWIFT codes of the country, empty if it has none
+     */
+    public Flux<BranchListDTO> streamSwiftCodesForCountry(String countryISO2code) {
+        return swiftCodeRepository.findAllByCountryISO2(countryISO2code.toUpperCase())
+                .map(SwiftCodeRow::toBranchListDTO);
+    }
+
+    /**
+     * Retrieves the details of many SWIFT codes at once.
+     * Uses two queries whatever the number of codes: one for the requested codes and one for
+     * the branches of all requested headquarters.
+     * @param swiftCodes The SWIFT codes to retrieve
+     * @return For every distinct requested code, in request order, the same details as returned by
+     *         getSwiftCodeDetails, or a map with a "message" entry if the code is not found
+     */
+    public Mono<Map<String, Object>> lookupSwiftCodes(List<String> swiftCodes) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String swiftCode : swiftCodes) {
+            if (swiftCode != null) {
+                requested.add(swiftCode);
+            }
+        }
+        if (requested.size() > MAX_LOOKUP_CODES) {
+            return Mono.error(new IllegalArgumentException("At most " + MAX_LOOKUP_CODES + " SWIFT codes can be looked up at once."));
+        }
+        if (requested.isEmpty()) {
+            return Mono.just(new LinkedHashMap<>());
+        }
+
+        // Like findBySwiftCode, a single record per code, the oldest one if the code is used more than once
+        Mono<Map<String, SwiftCodeRow>> mainRows = swiftCodeRepository.findAllBySwiftCodeIn(requested)
+                .collect(HashMap::new, (rows, row) -> rows.putIfAbsent(row.swiftCode(), row));
+
+        return mainRows.flatMap(rowsByCode -> {
+            Set<String> headquarterPrefixes = rowsByCode.values().stream()
+                    .filter(SwiftCodeRow::headquarter)
+                    .map(SwiftCodeRow::bankPrefix)
+                    .collect(Collectors.toSet());
+            Mono<Map<String, List<SwiftCodeRow>>> rowsByPrefix = headquarterPrefixes.isEmpty()
+                    ? Mono.just(Map.of())
+                    : swiftCodeRepository.findAllByBankPrefixIn(headquarterPrefixes)
+                            .collect(Collectors.groupingBy(SwiftCodeRow::bankPrefix));
+
+            return rowsByPrefix.map(branchesByPrefix -> {
+                Map<String, Object> results = new LinkedHashMap<>();
+                for (String swiftCode : requested) {
+                    SwiftCodeRow mainRow = rowsByCode.get(swiftCode);
+                    if (mainRow == null) {
+                        results.put(swiftCode, Map.of("message", "SWIFT code not found: " + swiftCode));
+                    } else if (!mainRow.headquarter()) {
+                        results.put(swiftCode, mainRow.toBranchSwiftCodeDTO());
+                    } else {
+                        List<BranchListDTO> branches = branchesByPrefix.getOrDefault(mainRow.bankPrefix(), List.of()).stream()
+                                .filter(row -> !row.swiftCode().equals(swiftCode))
+                                .map(SwiftCodeRow::toBranchListDTO)
+                                .collect(Collectors.toList());
+                        results.put(swiftCode, mainRow.toSwiftCodeResponseDTO(branches));
+                    }
+                }
+                return results;
+            });
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.swiftdataapi.reactive;
+
+import com.example.swiftdataapi.dto.BranchListDTO;
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.reactive.controller.ReactiveSwiftCodeController;
+import com.example.swiftdataapi.reactive.service.ReactiveSwiftCodeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReactiveSwiftCodeController.
+ * The controller is bound to a WebTestClient and the service layer is mocked.
+ */
+class ReactiveSwiftCodeControllerTest {
+
+    @Mock
+    private ReactiveSwiftCodeService swiftCodeService; // Mocking the service that reads the SWIFT codes.
+
+    private WebTestClient webTestClient; // Client sending requests to the controller being tested.
+
+    /**
+     * Sets up the mocks and binds the controller before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        webTestClient = WebTestClient.bindToController(new ReactiveSwiftCodeController(swiftCodeService)).build();
+    }
+
+    /**
+     * Test for retrieving the details of a branch SWIFT code.
+     */
+    @Test
+    void testGetSwiftCodeDetails_Success() {
+        // Given: the service returns the details of a branch
+        when(swiftCodeService.getSwiftCodeDetails("TESTUS33ABC")).thenReturn(Mono.just(
+                new BranchSwiftCodeDTO("123 Main St", "Test Bank", "US", "United States", false, "TESTUS33ABC")));
+
+        // When & Then: the details are returned
+        webTestClient.get().uri("/v1/swift-codes/TESTUS33ABC")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.swiftCode").isEqualTo("TESTUS33ABC")
+                .jsonPath("$.headquarter").isEqualTo(false);
+    }
+
+    /**
+     * Test for retrieving an unknown SWIFT code.
+     */
+    @Test
+    void testGetSwiftCodeDetails_NotFound() {
+        // Given: the service does not find the SWIFT code
+        when(swiftCodeService.getSwiftCodeDetails("UNKNOWN")).thenReturn(
+                Mono.error(new IllegalArgumentException("SWIFT code not found: UNKNOWN")));
+
+        // When & Then: 404 with the error message
+        webTestClient.get().uri("/v1/swift-codes/UNKNOWN")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("SWIFT code not found: UNKNOWN");
+    }
+
+    /**
+     * Test for streaming the SWIFT codes of a country as NDJSON.
+     */
+    @Test
+    void testStreamSwiftCodesForCountry() {
+        // Given: the service streams two SWIFT codes
+        when(swiftCodeService.streamSwiftCodesForCountry("US")).thenReturn(Flux.just(
+                new BranchListDTO("123 Main St", "Test Bank", "US", true, "TESTUS33XXX"),
+                new BranchListDTO("456 Side St", "Test Bank", "US", false, "TESTUS33ABC")));
+
+        // When & Then: one JSON object per line
+        String body = webTestClient.get().uri("/v1/swift-codes/country/US")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"swiftCode\":\"TESTUS33ABC\""));
+    }
+
+    /**
+     * Test for a batch lookup with too many SWIFT codes.
+     */
+    @Test
+    void testLookupSwiftCodes_TooMany() {
+        // Given: the service rejects the request
+        when(swiftCodeService.lookupSwiftCodes(anyList())).thenReturn(
+                Mono.error(new IllegalArgumentException("At most 1000 SWIFT codes can be looked up at once.")));
+
+        // When & Then: 400 with the error message
+        webTestClient.post().uri("/v1/swift-codes/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("TESTUS33XXX"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("At most 1000 SWIFT codes can be looked up at once.");
+    }
+}
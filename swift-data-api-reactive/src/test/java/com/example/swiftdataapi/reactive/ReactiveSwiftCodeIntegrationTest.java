@@ -0,0 +1,117 @@
+package com.example.swiftdataapi.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests of the reactive read endpoints against the swift_codes table.
+ * The table is created by the migrations of swift-data-api.
+ * The server is stopped immediately, a graceful shutdown would wait for the idle keep-alive
+ * connections of the WebTestClient.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.shutdown=immediate")
+class ReactiveSwiftCodeIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient; // Client sending HTTP requests to the running server
+
+    @Autowired
+    private DatabaseClient databaseClient; // Used to prepare the content of the table
+
+    /**
+     * Replaces the content of the table with a headquarter, its branch and a second country before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM swift_codes").then().block();
+        Flux.concat(
+                insert("TESTUS33XXX", "US", "United States", true),
+                insert("TESTUS33ABC", "US", "United States", false),
+                insert("TESTPLPWXXX", "PL", "Poland", true)
+        ).then().block();
+    }
+
+    /**
+     * Test for retrieving a headquarter with its branches.
+     */
+    @Test
+    void testGetSwiftCodeDetails_Headquarter() {
+        // When & Then: the headquarter is returned with its branch
+        webTestClient.get().uri("/v1/swift-codes/TESTUS33XXX")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.headquarter").isEqualTo(true)
+                .jsonPath("$.branches.length()").isEqualTo(1)
+                .jsonPath("$.branches[0].swiftCode").isEqualTo("TESTUS33ABC");
+    }
+
+    /**
+     * Test for retrieving the SWIFT codes of a country as one JSON document and as NDJSON.
+     */
+    @Test
+    void testGetSwiftCodesForCountry() {
+        // When & Then: the lower-case country code is accepted
+        webTestClient.get().uri("/v1/swift-codes/country/us")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.countryISO2").isEqualTo("US")
+                .jsonPath("$.countryName").isEqualTo("United States")
+                .jsonPath("$.swiftCodes.length()").isEqualTo(2);
+
+        String body = webTestClient.get().uri("/v1/swift-codes/country/US")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(2, body.lines().count());
+
+        webTestClient.get().uri("/v1/swift-codes/country/DE")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    /**
+     * Test for a batch lookup of known and unknown SWIFT codes.
+     */
+    @Test
+    void testLookupSwiftCodes() {
+        // When & Then: every code is answered, in request order
+        webTestClient.post().uri("/v1/swift-codes/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("TESTPLPWXXX", "TESTUS33XXX", "TESTUS33ABC", "UNKNOWN"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.TESTPLPWXXX.branches.length()").isEqualTo(0)
+                .jsonPath("$.TESTUS33XXX.branches[0].swiftCode").isEqualTo("TESTUS33ABC")
+                .jsonPath("$.TESTUS33ABC.headquarter").isEqualTo(false)
+                .jsonPath("$.UNKNOWN.message").isEqualTo("SWIFT code not found: UNKNOWN");
+    }
+
+    private Mono<Long> insert(String swiftCode, String countryISO2, String countryName, boolean headquarter) {
+        return databaseClient.sql("INSERT INTO swift_codes (id, countryiso2, swift_code, bank_prefix, bank_name, address, country_name, is_headquarter) "
+                        + "VALUES (nextval('swift_codes_seq'), :countryISO2, :swiftCode, :bankPrefix, 'Test Bank', '123 Main St', :countryName, :headquarter)")
+                .bind("countryISO2", countryISO2)
+                .bind("swiftCode", swiftCode)
+                .bind("bankPrefix", swiftCode.substring(0, 8))
+                .bind("countryName", countryName)
+                .bind("headquarter", headquarter)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.swiftdataapi.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.util.StringUtils;
+
+/**
+ * Enables caching of the read endpoints.
+ *
+ * Caches are provided by Caffeine (bounded, W-TinyLFU eviction) and configured with the
+ * "spring.cache.caffeine.spec" property. Entries are invalidated by
+ * {@link com.example.swiftdataapi.service.SwiftCodeCacheInvalidator} when the data changes.
+ *
+ * The cached methods open their read-only transaction themselves around the database reads only,
+ * so neither a cache hit nor a miss answered by the read model takes a database connection.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Cache of getSwiftCodeDetails results, keyed by SWIFT code
+    public static final String SWIFT_CODE_DETAILS_CACHE = "swiftCodeDetails";
+
+    // Cache of getSwiftCodesForCountry results, keyed by upper-case country ISO2 code
+    public static final String COUNTRY_SWIFT_CODES_CACHE = "countrySwiftCodes";
+
+    // Cache of serialized SWIFT code details responses, keyed by SWIFT code
+    public static final String SWIFT_CODE_DETAILS_JSON_CACHE = "swiftCodeDetailsJson";
+
+    // Cache of serialized country responses, keyed by upper-case country ISO2 code
+    public static final String COUNTRY_SWIFT_CODES_JSON_CACHE = "countrySwiftCodesJson";
+
+    /**
+     * Keeps cache misses from pinning virtual threads.
+     *
+     * A synchronous Caffeine cache computes a missing value inside a {@code synchronized} block of its map,
+     * and on Java 21 a virtual thread blocked on JDBC inside such a block pins its carrier thread.
+     * In asynchronous mode the map only stores a future under the lock: the value is loaded on a separate
+     * virtual thread and concurrent callers for the same key wait on the future, which unmounts them.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheManagerCustomizer(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(new VirtualThreadTaskExecutor("swift-cache-")));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
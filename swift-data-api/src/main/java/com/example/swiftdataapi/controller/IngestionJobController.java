@@ -0,0 +1,103 @@
+package com.example.swiftdataapi.controller;
+
+import com.example.swiftdataapi.loader.DataLoader;
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Endpoints of the background data loads.
+ * A load is submitted with POST and runs on the ingestion threads, its progress is polled with GET.
+ */
+@RestController
+@RequestMapping("/v1/swift-codes/load-jobs")
+public class IngestionJobController {
+
+    private final IngestionJobService ingestionJobService;
+    private final String dataFile;
+
+    public IngestionJobController(IngestionJobService ingestionJobService,
+                                  @Value(DataLoader.DATA_FILE_PROPERTY) String dataFile) {
+        this.ingestionJobService = ingestionJobService;
+        this.dataFile = dataFile;
+    }
+
+    /**
+     * Endpoint to submit a load of the SWIFT codes Excel file.
+     *
+     * @param engine The engine used to write the rows (AUTO, JPA, COPY or INCREMENTAL), AUTO uses COPY when the table is empty.
+     * @param fullReload Whether all existing records are replaced by the content of the file.
+     * @return 202 Accepted with the queued job, 409 Conflict if a load of the file is already in progress,
+     * or 503 Service Unavailable if too many jobs are queued.
+     */
+    @PostMapping
+    public ResponseEntity<Object> submitJob(@RequestParam(value = "engine", defaultValue = "AUTO") LoadEngine engine,
+                                            @RequestParam(value = "fullReload", defaultValue = "false") boolean fullReload) {
+        try {
+            IngestionJob job = ingestionJobService.submit(dataFile, engine, fullReload);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/v1/swift-codes/load-jobs/" + job.getId()))
+                    .body(job);
+        } catch (IngestionJobService.LoadInProgressException e) {
+            // Only one load of a file at a time, the response points to the running one
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage(), "jobId", e.getActiveJob().getId()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("message", "Too many ingestion jobs are queued, try again later."));
+        }
+    }
+
+    /**
+     * Endpoint to list the queued, running and recently finished jobs.
+     *
+     * @return The jobs, the most recently submitted first.
+     */
+    @GetMapping
+    public List<IngestionJob> getJobs() {
+        return ingestionJobService.getJobs();
+    }
+
+    /**
+     * Endpoint to retrieve the state and progress of a job.
+     *
+     * @param id The id of the job.
+     * @return The job, or 404 Not Found if it is unknown.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> getJob(@PathVariable("id") String id) {
+        return ingestionJobService.getJob(id)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound(id));
+    }
+
+    /**
+     * Endpoint to cancel a job. A running job stops at its next row and its load is rolled back.
+     *
+     * @param id The id of the job.
+     * @return The job, 404 Not Found if it is unknown, or 409 Conflict if it has already finished.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Object> cancelJob(@PathVariable("id") String id) {
+        try {
+            return ingestionJobService.cancel(id)
+                    .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                    .orElseGet(() -> notFound(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<Object> notFound(String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", "Ingestion job not found: " + id));
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.swiftdataapi.controller;
+
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the first file of a multipart/form-data body (RFC 7578) as a stream.
+ *
+ * The servlet container stores every part of a multipart request in memory or on disk before the request is
+ * handled. This class scans the body for the part boundaries instead, while it is being read: the parts before
+ * the file, such as form fields, are skipped and the content of the file is returned up to its closing
+ * boundary, so the upload is never stored.
+ */
+public final class MultipartFileStream {
+
+    // Longest header section of a part
+    private static final int MAX_HEADER_LENGTH = 16 * 1024;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final Pattern FILE_NAME = Pattern.compile("filename=(\"([^\"]*)\"|[^;\\s]+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The file part of a multipart body.
+     *
+     * @param fileName The file name of the part, may be empty
+     * @param contentType The content type of the part, null if it has none
+     * @param content The content of the file, ending at the boundary of the part
+     */
+    public record FilePart(String fileName, String contentType, InputStream content) {
+    }
+
+    private MultipartFileStream() {}
+
+    /**
+     * Finds the first part of a multipart/form-data body which has a file name.
+     *
+     * @param body The request body, positioned at its start
+     * @param contentType The content type of the request, with the boundary parameter
+     * @return The file part, or null if the body has no file
+     * @throws IOException If the body cannot be read or is not a valid multipart body
+     */
+    public static FilePart firstFile(InputStream body, String contentType) throws IOException {
+        String boundary = boundary(contentType);
+        // The delimiter is preceded by a line break, except before the first part: one is added to the body
+        BoundaryScanner scanner = new BoundaryScanner(body, ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1));
+
+        // The preamble before the first part is ignored
+        scanner.skipPart();
+        while (scanner.nextPart()) {
+            String headers = scanner.readHeaders();
+            String fileName = null;
+            String partContentType = null;
+            for (String header : headers.split("\r\n")) {
+                int colon = header.indexOf(':');
+                if (colon < 0) {
+                    continue;
+                }
+                String name = header.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+                String value = header.substring(colon + 1).trim();
+                if (name.equals("content-disposition")) {
+                    Matcher matcher = FILE_NAME.matcher(value);
+                    if (matcher.find()) {
+                        fileName = matcher.group(2) != null ? matcher.group(2) : matcher.group(1);
+                    }
+                } else if (name.equals("content-type")) {
+                    partContentType = value;
+                }
+            }
+            if (fileName != null) {
+                return new FilePart(fileName, partContentType, new PartInputStream(scanner));
+            }
+            scanner.skipPart();
+        }
+        return null;
+    }
+
+    private static String boundary(String contentType) throws IOException {
+        String boundary;
+        try {
+            boundary = MediaType.parseMediaType(contentType).getParameter("boundary");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid multipart content type: " + contentType);
+        }
+        if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new IOException("Missing or invalid multipart boundary.");
+        }
+        return boundary;
+    }
+
+    /**
+     * Buffered reader of the body which stops at every delimiter.
+     */
+    private static class BoundaryScanner {
+
+        private final InputStream body;
+        private final byte[] delimiter;
+        private final byte[] buffer;
+        private int position;
+        private int limit;
+        private boolean endOfBody;
+
+        // Whether the current part has been read up to its delimiter
+        private boolean partEnded;
+
+        BoundaryScanner(InputStream body, byte[] delimiter) {
+            this.body = body;
+            this.delimiter = delimiter;
+            this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+            // The line break before the first delimiter
+            buffer[0] = '\r';
+            buffer[1] = '\n';
+            limit = 2;
+        }
+
+        /**
+         * Reads content of the current part.
+         *
+         * @return The number of bytes read, -1 once the delimiter ending the part is reached
+         */
+        int readPart(byte[] target, int offset, int length) throws IOException {
+            if (partEnded) {
+                return -1;
+            }
+            while (true) {
+                if (limit - position < delimiter.length && !endOfBody) {
+                    fill();
+                    continue;
+                }
+                int found = indexOfDelimiter();
+                if (found == position) {
+                    position += delimiter.length;
+                    partEnded = true;
+                    return -1;
+                }
+                // Bytes which cannot be the start of a delimiter
+                int available = found >= 0 ? found - position : limit - position - (delimiter.length - 1);
+                if (available > 0) {
+                    int count = Math.min(length, available);
+                    System.arraycopy(buffer, position, target, offset, count);
+                    position += count;
+                    return count;
+                }
+                if (endOfBody) {
+                    throw new IOException("The multipart body ends before the closing boundary.");
+                }
+                fill();
+            }
+        }
+
+        void skipPart() throws IOException {
+            byte[] skipped = new byte[BUFFER_SIZE];
+            while (readPart(skipped, 0, skipped.length) != -1) {
+                // Discarded
+            }
+        }
+
+        /**
+         * Moves to the part after the delimiter which has just been read.
+         *
+         * @return False if the delimiter closes the body
+         */
+        boolean nextPart() throws IOException {
+            int first = readByte();
+            int second = readByte();
+            if (first == '-' && second == '-') {
+                return false;
+            }
+            // Transport padding before the line break is allowed
+            while (!(first == '\r' && second == '\n')) {
+                if (second == -1) {
+                    throw new IOException("The multipart body ends before the closing boundary.");
+                }
+                first = second;
+                second = readByte();
+            }
+            partEnded = false;
+            return true;
+        }
+
+        String readHeaders() throws IOException {
+            ByteArrayOutputStream headers = new ByteArrayOutputStream();
+            byte[] end = {'\r', '\n', '\r', '\n'};
+            int matched = 2;  // The line break of the delimiter line counts for a blank first line
+            int b;
+            while ((b = readByte()) != -1) {
+                headers.write(b);
+                matched = b == end[matched] ? matched + 1 : (b == '\r' ? 1 : 0);
+                if (matched == end.length) {
+                    return headers.toString(StandardCharsets.UTF_8).trim();
+                }
+                if (headers.size() > MAX_HEADER_LENGTH) {
+                    throw new IOException("The headers of a multipart part are too long.");
+                }
+            }
+            throw new IOException("The multipart body ends inside the headers of a part.");
+        }
+
+        private int readByte() throws IOException {
+            if (position == limit) {
+                fill();
+                if (position == limit) {
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xff;
+        }
+
+        // Moves the unread bytes to the start of the buffer and reads more of the body after them
+        private void fill() throws IOException {
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            int read = body.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                endOfBody = true;
+            } else {
+                limit += read;
+            }
+        }
+
+        private int indexOfDelimiter() {
+            int last = limit - delimiter.length;
+            for (int i = position; i <= last; i++) {
+                if (buffer[i] != delimiter[0]) {
+                    continue;
+                }
+                int j = 1;
+                while (j < delimiter.length && buffer[i + j] == delimiter[j]) {
+                    j++;
+                }
+                if (j == delimiter.length) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The content of the file part, ending at the next delimiter.
+     */
+    private static class PartInputStream extends InputStream {
+
+        private final BoundaryScanner scanner;
+
+        PartInputStream(BoundaryScanner scanner) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            return scanner.readPart(target, offset, length);
+        }
+    }
+}
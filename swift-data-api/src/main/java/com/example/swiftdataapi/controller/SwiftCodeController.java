@@ -1,68 +1,183 @@
 package com.example.swiftdataapi.controller;
 
 import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.loader.DataLoader;
+import com.example.swiftdataapi.loader.LoadEngine;
 import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import com.example.swiftdataapi.service.SwiftCodeExporter;
+import com.example.swiftdataapi.service.SwiftCodeJsonCache;
 import com.example.swiftdataapi.service.SwiftTableManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/v1/swift-codes")
 public class SwiftCodeController {
 
+    // Number of SWIFT codes in a page of the country listing when only a cursor is given
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    // Content type of the export, one JSON object per line
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Size of the buffer used to compress the export
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final SwiftTableManager swiftTableManager;
+    private final SwiftCodeJsonCache swiftCodeJsonCache;
+    private final SwiftCodeExporter swiftCodeExporter;
+    private final IngestionJobService ingestionJobService;
+    private final String dataFile;
 
-    // Constructor that injects the SwiftTableManager service for handling business logic
-    public SwiftCodeController(SwiftTableManager swiftTableManager) {
+    // Constructor that injects the SwiftTableManager service for handling business logic,
+    // the cache of serialized responses used by the read endpoints, the exporter of the whole table,
+    // the service running the data loads and the data file they load
+    public SwiftCodeController(SwiftTableManager swiftTableManager, SwiftCodeJsonCache swiftCodeJsonCache,
+                               SwiftCodeExporter swiftCodeExporter, IngestionJobService ingestionJobService,
+                               @Value(DataLoader.DATA_FILE_PROPERTY) String dataFile) {
         this.swiftTableManager = swiftTableManager;
+        this.swiftCodeJsonCache = swiftCodeJsonCache;
+        this.swiftCodeExporter = swiftCodeExporter;
+        this.ingestionJobService = ingestionJobService;
+        this.dataFile = dataFile;
     }
 
     /**
-     * Endpoint to load SWIFT codes data from an Excel file into the database.
+     * Endpoint to load SWIFT codes data from an Excel file into the database, waiting until the load is finished.
+     * The load runs as an ingestion job, see {@link IngestionJobController} to load without waiting.
      *
+     * @param engine The engine used to write the rows (AUTO, JPA, COPY or INCREMENTAL), AUTO uses COPY when the table is empty.
+     * @param fullReload Whether all existing records are replaced by the content of the file.
      * @return Response indicating whether the data load was successful or not.
      */
     @GetMapping("/load-excel")
-    public ResponseEntity<String> loadExcel() {
-        // Trigger the service to load data from a pre-defined Excel file
-        swiftTableManager.loadSwiftDataFromExcel("src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+    public ResponseEntity<String> loadExcel(@RequestParam(value = "engine", defaultValue = "AUTO") LoadEngine engine,
+                                            @RequestParam(value = "fullReload", defaultValue = "false") boolean fullReload)
+            throws InterruptedException {
+        IngestionJob job;
+        try {
+            // Load the pre-defined Excel file on the ingestion threads and wait for the result
+            job = ingestionJobService.submit(dataFile, engine, fullReload).await();
+        } catch (IngestionJobService.LoadInProgressException e) {
+            // A second request does not load the file again while the first one is loading it
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        if (job.getState() != IngestionJob.State.SUCCEEDED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Data load " + job.getState().name().toLowerCase() + ": " + job.getError());
+        }
         // Return a simple confirmation response
         return ResponseEntity.ok("Data has been loaded.");
     }
 
+    /**
+     * Endpoint to export all SWIFT codes as NDJSON (one JSON object per line).
+     * Records are streamed while they are read from the database, so the export starts immediately
+     * and uses the same amount of memory whatever the size of the table.
+     *
+     * @param acceptEncoding The Accept-Encoding header, the export is compressed with gzip if it accepts gzip.
+     * @return A streamed response containing every SWIFT code.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSwiftCodes(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                swiftCodeExporter.export(gzipOut);
+                gzipOut.finish();
+            } else {
+                swiftCodeExporter.export(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
     /**
      * Endpoint to retrieve all SWIFT codes for a given country based on its ISO2 code.
+     * If a page size or a cursor is given, the SWIFT codes are returned page by page, ordered by SWIFT code.
      *
      * @param countryISO2code The 2-letter ISO code of the country.
+     * @param limit The maximum number of SWIFT codes in a page (1 to 1000, 100 if only a cursor is given).
+     * @param cursor The nextCursor returned with the previous page.
+     * @param acceptEncoding The Accept-Encoding header, a gzip-compressed body is sent if it accepts gzip.
      * @return A list of SWIFT codes associated with the given country.
      */
     @GetMapping("/country/{countryISO2code}")
-    public ResponseEntity<Object> getSwiftCodeForCountry(@PathVariable("countryISO2code") String countryISO2code) {
-        // Fetch and return all SWIFT codes for the specified country
-        return ResponseEntity.ok(swiftTableManager.getSwiftCodesForCountry(countryISO2code));
+    public ResponseEntity<Object> getSwiftCodeForCountry(@PathVariable("countryISO2code") String countryISO2code,
+                                                         @RequestParam(value = "limit", required = false) Integer limit,
+                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (limit != null || cursor != null) {
+            try {
+                // Fetch and return one page of SWIFT codes for the specified country
+                return ResponseEntity.ok(swiftTableManager.getSwiftCodesForCountry(
+                        countryISO2code, cursor, limit != null ? limit : DEFAULT_PAGE_SIZE));
+            } catch (IllegalArgumentException e) {
+                // If the page size or the cursor is invalid, return a Bad Request response with the error
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+            }
+        }
+        // Fetch and return all SWIFT codes for the specified country, already serialized
+        return jsonResponse(swiftCodeJsonCache.getSwiftCodesForCountry(countryISO2code), acceptEncoding);
     }
 
     /**
      * Endpoint to retrieve detailed information about a specific SWIFT code.
      *
      * @param swiftCode The SWIFT code to fetch details for.
+     * @param acceptEncoding The Accept-Encoding header, a gzip-compressed body is sent if it accepts gzip.
      * @return Details of the requested SWIFT code if found, or a 'not found' response.
      */
     @GetMapping("/{swiftCode}")
-    public ResponseEntity<Object> getSwiftCodeDetails(@PathVariable("swiftCode") String swiftCode) {
+    public ResponseEntity<Object> getSwiftCodeDetails(@PathVariable("swiftCode") String swiftCode,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            // Retrieve and return details for the specified SWIFT code
-            return ResponseEntity.ok(swiftTableManager.getSwiftCodeDetails(swiftCode));
+            // Retrieve and return details for the specified SWIFT code, already serialized
+            return jsonResponse(swiftCodeJsonCache.getSwiftCodeDetails(swiftCode), acceptEncoding);
         } catch (IllegalArgumentException e) {
             // If the SWIFT code is invalid or not found, return a 404 Not Found with the error message
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
         }
     }
 
+    /**
+     * Endpoint to retrieve the details of many SWIFT codes in one request.
+     *
+     * @param swiftCodes The SWIFT codes to fetch details for (at most 1000 distinct codes).
+     * @return For every requested SWIFT code its details, or a 'not found' message.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<Map<String, Object>> lookupSwiftCodes(@RequestBody List<String> swiftCodes) {
+        try {
+            // Resolve all SWIFT codes with a constant number of queries
+            return ResponseEntity.ok(swiftTableManager.lookupSwiftCodes(swiftCodes));
+        } catch (IllegalArgumentException e) {
+            // If too many SWIFT codes are requested, return a Bad Request response with the error
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     /**
      * Endpoint to add a new SWIFT code entry into the system.
      *
@@ -112,4 +227,36 @@ public class SwiftCodeController {
         }
     }
 
+    // Writes the serialized JSON as it is, using the gzip copy when there is one and the client accepts it
+    private static ResponseEntity<Object> jsonResponse(SwiftCodeJsonCache.SerializedResponse response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (response.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(response.getJson());
+    }
+
+    // Checks whether an Accept-Encoding header such as "gzip, deflate" or "br;q=1.0, gzip;q=0.8" allows gzip
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && parameter.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,190 @@
+package com.example.swiftdataapi.controller;
+
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.UploadFormat;
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Endpoint loading SWIFT codes from an uploaded CSV or .xlsx file.
+ *
+ * The file is sent either as the raw request body or as the file of a multipart/form-data request. In both
+ * cases the body is read by the ingestion job while it arrives and the rows are written in chunks, the upload
+ * is never stored in memory or on disk as a whole (an .xlsx file, a zip archive, is extracted in memory by POI).
+ * Uploads larger than "swift.upload.max-size" are refused. When the limit is exceeded while the body is read,
+ * the read fails inside the load, which is rolled back.
+ */
+@RestController
+@RequestMapping("/v1/swift-codes/uploads")
+public class SwiftCodeUploadController {
+
+    private final IngestionJobService ingestionJobService;
+    private final long maxUploadBytes;
+
+    public SwiftCodeUploadController(IngestionJobService ingestionJobService,
+                                     @Value("${swift.upload.max-size:100MB}") DataSize maxUploadSize) {
+        this.ingestionJobService = ingestionJobService;
+        this.maxUploadBytes = maxUploadSize.toBytes();
+    }
+
+    /**
+     * Endpoint to load the SWIFT codes of an uploaded file. The request waits until the file has been loaded.
+     *
+     * @param request The request, with a text/csv or .xlsx body, or a multipart/form-data body with the file.
+     * @param engine The engine used to write the rows (AUTO, JPA or COPY), AUTO uses COPY when the table is empty.
+     * @param fullReload Whether all existing records are replaced by the content of the file.
+     * @param name The name of the upload, defaults to the name of the multipart file.
+     * @return 200 OK with the finished job and its rejected rows, 400 Bad Request for the INCREMENTAL engine or
+     * a malformed multipart body, 409 Conflict if an upload of the same name is in progress or the job was
+     * cancelled, 413 Payload Too Large above the size limit, 415 Unsupported Media Type if the file is neither
+     * CSV nor .xlsx, 500 Internal Server Error if the load failed, or 503 Service Unavailable if too many jobs are queued.
+     */
+    @PostMapping
+    public ResponseEntity<Object> upload(HttpServletRequest request,
+                                         @RequestParam(value = "engine", defaultValue = "AUTO") LoadEngine engine,
+                                         @RequestParam(value = "fullReload", defaultValue = "false") boolean fullReload,
+                                         @RequestParam(value = "name", required = false) String name)
+            throws IOException, InterruptedException {
+        if (engine == LoadEngine.INCREMENTAL) {
+            return message(HttpStatus.BAD_REQUEST, "Uploads cannot be loaded incrementally, use AUTO, JPA or COPY.");
+        }
+        if (request.getContentLengthLong() > maxUploadBytes) {
+            return tooLarge();
+        }
+
+        // Chunked requests have no length, the limit is also enforced while the body is read: the read fails
+        // inside the load, so that the rows already written are rolled back
+        LimitedInputStream body = new LimitedInputStream(request.getInputStream(), maxUploadBytes);
+        InputStream content = body;
+        String contentType = request.getContentType();
+        String uploadName = name;
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            MultipartFileStream.FilePart filePart;
+            try {
+                filePart = MultipartFileStream.firstFile(body, contentType);
+            } catch (IOException e) {
+                return body.isLimitExceeded() ? tooLarge() : message(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            if (filePart == null) {
+                return message(HttpStatus.BAD_REQUEST, "The multipart request has no file.");
+            }
+            content = filePart.content();
+            contentType = filePart.contentType();
+            if (uploadName == null) {
+                uploadName = filePart.fileName();
+            }
+        }
+
+        UploadFormat format = UploadFormat.of(contentType, uploadName);
+        if (format == null) {
+            return message(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Only CSV (text/csv) and .xlsx files can be uploaded.");
+        }
+        if (uploadName == null || uploadName.isBlank()) {
+            uploadName = "upload." + format.name().toLowerCase(Locale.ROOT);
+        }
+
+        IngestionJob job;
+        try {
+            job = ingestionJobService.submitUpload(uploadName, content, format, engine, fullReload);
+        } catch (IngestionJobService.LoadInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage(), "jobId", e.getActiveJob().getId()));
+        } catch (RejectedExecutionException e) {
+            return message(HttpStatus.SERVICE_UNAVAILABLE, "Too many ingestion jobs are queued, try again later.");
+        }
+
+        // The job reads the request body, the request must not complete before it
+        try {
+            job.await();
+        } catch (InterruptedException e) {
+            ingestionJobService.cancel(job.getId());
+            throw e;
+        }
+
+        if (body.isLimitExceeded()) {
+            return tooLarge();
+        }
+        HttpStatus status = switch (job.getState()) {
+            case SUCCEEDED -> HttpStatus.OK;
+            case CANCELLED -> HttpStatus.CONFLICT;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        return ResponseEntity.status(status).body(job);
+    }
+
+    private ResponseEntity<Object> tooLarge() {
+        return message(HttpStatus.PAYLOAD_TOO_LARGE, "Uploads are limited to " + maxUploadBytes + " bytes.");
+    }
+
+    private static ResponseEntity<Object> message(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("message", message));
+    }
+
+    /**
+     * Fails the read once more than the given number of bytes have been read.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long readBytes;
+        private volatile boolean limitExceeded;
+
+        LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(long bytes) throws IOException {
+            readBytes += bytes;
+            if (readBytes > maxBytes) {
+                limitExceeded = true;
+                throw new IOException("The upload is larger than " + maxBytes + " bytes.");
+            }
+        }
+
+        boolean isLimitExceeded() {
+            return limitExceeded;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.List;
  *
  * This class is used to return information about a country along with its associated SWIFT codes.
  * It includes the country ISO2 code, country name, and a list of branches with their SWIFT codes.
+ * When the SWIFT codes are returned page by page, it also includes the cursor of the next page.
  *
  * The {@link JsonInclude} annotation ensures that fields with null values are excluded from the JSON response.
  */
@@ -24,6 +25,9 @@ public class CountrySwiftCodesResponseDTO {
     // List of BranchListDTO objects, each representing a bank branch and its associated SWIFT code
     private List<BranchListDTO> swiftCodes;
 
+    // Opaque cursor of the next page, null for the last page and for responses which are not paged
+    private String nextCursor;
+
     /**
      * Constructor to initialize the CountrySwiftCodesResponseDTO with the provided values.
      *
@@ -37,6 +41,19 @@ public class CountrySwiftCodesResponseDTO {
         this.swiftCodes = swiftCodes;
     }
 
+    /**
+     * Constructor to initialize a page of the SWIFT codes of a country.
+     *
+     * @param countryISO2 The 2-letter ISO code of the country (e.g., "US").
+     * @param countryName The name of the country (e.g., "United States").
+     * @param swiftCodes The branches of this page with their associated SWIFT codes.
+     * @param nextCursor The cursor of the next page, or null if this is the last page.
+     */
+    public CountrySwiftCodesResponseDTO(String countryISO2, String countryName, List<BranchListDTO> swiftCodes, String nextCursor) {
+        this(countryISO2, countryName, swiftCodes);
+        this.nextCursor = nextCursor;
+    }
+
     /**
      * Gets the ISO2 code of the country.
      *
@@ -63,4 +80,13 @@ public class CountrySwiftCodesResponseDTO {
     public List<BranchListDTO> getSwiftCodes() {
         return swiftCodes;
     }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return The cursor to pass to get the next page, or null if there is none.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
@@ -1,6 +1,8 @@
 package com.example.swiftdataapi.loader;
 
-import com.example.swiftdataapi.service.SwiftTableManager;
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -8,20 +10,57 @@ import org.springframework.stereotype.Component;
  * DataLoader is responsible for loading initial data into the database when the application starts.
  * It implements CommandLineRunner, which allows the execution of code at startup.
  * The primary function of this class is to load SWIFT code data from an Excel file.
+ *
+ * The load runs as an ingestion job. By default the application waits for it before it is ready;
+ * with "swift.loader.background=true" it runs in the background and the existing records are served meanwhile,
+ * {@link SwiftDataLoadHealthIndicator} tells when the data can be queried.
  */
 @Component
 public class DataLoader implements CommandLineRunner {
 
-    // The service used to manage SWIFT codes and interact with the database
-    private final SwiftTableManager swiftTableManager;
+    // The Excel file with the SWIFT codes, loaded at startup and by the load endpoints unless "swift.loader.file" is set
+    public static final String SWIFT_CODES_FILE = "src/main/resources/Interns_2025_SWIFT_CODES.xlsx";
+
+    // Property naming the data file: an .xlsx, CSV or binary file, see SwiftCodeFileReader
+    public static final String DATA_FILE_PROPERTY = "${swift.loader.file:" + SWIFT_CODES_FILE + "}";
+
+    // The service running the data loads
+    private final IngestionJobService ingestionJobService;
+
+    // The data file loaded at startup
+    private final String dataFile;
+
+    // The engine used to write the rows (property "swift.loader.engine"), by default only the changes of the file are loaded
+    private final LoadEngine loadEngine;
+
+    // Whether existing records are replaced on startup (property "swift.loader.full-reload")
+    private final boolean fullReload;
+
+    // Whether startup goes on without waiting for the load (property "swift.loader.background")
+    private final boolean background;
+
+    // The startup load, null until the application has started
+    private volatile IngestionJob startupJob;
 
     /**
-     * Constructor to initialize the DataLoader with the required SwiftTableManager.
+     * Constructor to initialize the DataLoader with the required IngestionJobService.
      *
-     * @param swiftTableManager The SwiftTableManager to be used for loading data.
+     * @param ingestionJobService The IngestionJobService to be used for loading data.
+     * @param dataFile The data file to load.
+     * @param loadEngine The engine used to write the rows, INCREMENTAL skips the file if it has not changed since its last load.
+     * @param fullReload Whether all existing records are replaced by the content of the file.
+     * @param background Whether the file is loaded in the background while the application serves the existing records.
      */
-    public DataLoader(SwiftTableManager swiftTableManager) {
-        this.swiftTableManager = swiftTableManager;
+    public DataLoader(IngestionJobService ingestionJobService,
+                      @Value(DATA_FILE_PROPERTY) String dataFile,
+                      @Value("${swift.loader.engine:INCREMENTAL}") LoadEngine loadEngine,
+                      @Value("${swift.loader.full-reload:false}") boolean fullReload,
+                      @Value("${swift.loader.background:false}") boolean background) {
+        this.ingestionJobService = ingestionJobService;
+        this.dataFile = dataFile;
+        this.loadEngine = loadEngine;
+        this.fullReload = fullReload;
+        this.background = background;
     }
 
     /**
@@ -29,13 +68,31 @@ public class DataLoader implements CommandLineRunner {
      * It loads SWIFT code data from an Excel file into the database.
      *
      * @param args Command-line arguments (not used in this case).
+     * @throws IllegalStateException If the load failed and the application waits for it
      */
     @Override
-    public void run(String... args) {
-        // Uncomment the line below to clear the SWIFT codes table before loading new data
-        // swiftTableManager.clearSwiftCodesTable();
+    public void run(String... args) throws InterruptedException {
+        // Set "swift.loader.full-reload=true" to replace the SWIFT codes table with the content of the file
 
         // Load SWIFT code data from the provided Excel file
-        swiftTableManager.loadSwiftDataFromExcel("src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+        startupJob = ingestionJobService.submit(dataFile, loadEngine, fullReload);
+        if (background) {
+            return;
+        }
+
+        // Startup fails with the load, as it did before loads ran as jobs
+        IngestionJob job = startupJob.await();
+        if (job.getState() != IngestionJob.State.SUCCEEDED) {
+            throw new IllegalStateException("The startup load of " + dataFile + " failed: " + job.getError());
+        }
+    }
+
+    /**
+     * The load started with the application.
+     *
+     * @return The job, or null if the application has not started yet
+     */
+    public IngestionJob getStartupJob() {
+        return startupJob;
     }
 }
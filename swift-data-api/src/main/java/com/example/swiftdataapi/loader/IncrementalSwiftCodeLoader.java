@@ -0,0 +1,314 @@
+package com.example.swiftdataapi.loader;
+
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+
+/**
+ * Load engine applying only what has changed in a data file since its last load.
+ *
+ * The size, modification time and SHA-256 content hash of every loaded file are recorded in "swift_code_sources",
+ * and the key (SWIFT code, bank name, country ISO2 code), a hash of the values and the id of the record inserted
+ * for every loaded row in "swift_code_source_rows". A file with the same size and modification time, or the same
+ * content, as at its last load is skipped without being parsed.
+ *
+ * A changed file is streamed with COPY into the staging table of {@link PostgresCopyLoader} and compared with the
+ * recorded rows. Only the difference is written: new rows are inserted (unless the record already exists),
+ * rows whose values changed update their record and the records of rows removed from the file are deleted.
+ * Only the records inserted by the loader itself are updated or deleted, found by their id: a record which did not
+ * come from the file, e.g. added through the API, is kept as it is even when a row of the file has the same key.
+ * Like a deletion through the API, a removed headquarter is kept while it has branches, until a later load.
+ *
+ * Everything runs in one transaction holding an advisory lock on the file, so instances starting at the same time
+ * load a file once and a failed load leaves the table and the fingerprints unchanged.
+ */
+@Component
+public class IncrementalSwiftCodeLoader {
+
+    // Size of the buffer used to hash the content of a file
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private static final String LOCK_SOURCE = "SELECT pg_advisory_xact_lock(hashtext(?))";
+
+    private static final String FIND_SOURCE =
+            "SELECT file_size, last_modified, content_hash, row_count FROM swift_code_sources WHERE source = ?";
+
+    private static final String TABLE_HAS_RECORDS = "SELECT EXISTS (SELECT 1 FROM swift_codes)";
+
+    private static final String TOUCH_SOURCE =
+            "UPDATE swift_code_sources SET file_size = ?, last_modified = ? WHERE source = ?";
+
+    private static final String DELETE_SOURCE_ROWS = "DELETE FROM swift_code_source_rows WHERE source = ?";
+
+    private static final String TRUNCATE_TABLES =
+            "TRUNCATE TABLE swift_codes, swift_code_source_rows, swift_code_sources";
+
+    private static final String TRUNCATE_SOURCES = "TRUNCATE TABLE swift_code_source_rows, swift_code_sources";
+
+    // The rows of the file, only the first occurrence of a key, with a hash of the values of the record
+    private static final String CREATE_FILE_TABLE =
+            "CREATE TEMPORARY TABLE swift_codes_file ON COMMIT DROP AS " +
+            "SELECT DISTINCT ON (swift_code, bank_name, countryiso2) line_no, countryiso2, swift_code, bank_name, " +
+            "       address, country_name, is_headquarter, " +
+            "       md5(concat_ws(chr(31), address, country_name, is_headquarter::text)) AS row_hash " +
+            "FROM swift_codes_staging ORDER BY swift_code, bank_name, countryiso2, line_no";
+
+    // The records inserted for the rows removed from the file, branches first (is_headquarter false, then true),
+    // so that a headquarter is only deleted once it has no branches left
+    private static final String DELETE_REMOVED_RECORDS =
+            "DELETE FROM swift_codes t USING swift_code_source_rows r " +
+            "WHERE r.source = ? AND t.id = r.record_id AND t.is_headquarter = ? " +
+            "  AND NOT EXISTS (SELECT 1 FROM swift_codes_file f WHERE f.swift_code = r.swift_code " +
+            "                  AND f.bank_name = r.bank_name AND f.countryiso2 = r.countryiso2) " +
+            "  AND NOT (t.is_headquarter AND EXISTS (SELECT 1 FROM swift_codes b " +
+            "           WHERE b.bank_prefix = t.bank_prefix AND b.swift_code <> t.swift_code))";
+
+    // A row of a kept headquarter stays, so that a later load deletes it
+    private static final String DELETE_REMOVED_ROWS =
+            "DELETE FROM swift_code_source_rows r " +
+            "WHERE r.source = ? " +
+            "  AND NOT EXISTS (SELECT 1 FROM swift_codes_file f WHERE f.swift_code = r.swift_code " +
+            "                  AND f.bank_name = r.bank_name AND f.countryiso2 = r.countryiso2) " +
+            "  AND NOT EXISTS (SELECT 1 FROM swift_codes t WHERE t.id = r.record_id)";
+
+    // The rows of the file which are new or whose values changed since the last load
+    private static final String CREATE_DELTA_TABLE =
+            "CREATE TEMPORARY TABLE swift_codes_delta ON COMMIT DROP AS " +
+            "SELECT f.*, r.record_id FROM swift_codes_file f " +
+            "LEFT JOIN swift_code_source_rows r ON r.source = ? AND r.swift_code = f.swift_code " +
+            "     AND r.bank_name = f.bank_name AND r.countryiso2 = f.countryiso2 " +
+            "WHERE r.row_hash IS DISTINCT FROM f.row_hash";
+
+    private static final String UPDATE_CHANGED_RECORDS =
+            "UPDATE swift_codes t SET address = d.address, country_name = d.country_name, is_headquarter = d.is_headquarter " +
+            "FROM swift_codes_delta d " +
+            "WHERE t.id = d.record_id " +
+            "  AND (t.address, t.country_name, t.is_headquarter) " +
+            "      IS DISTINCT FROM (d.address, d.country_name, d.is_headquarter)";
+
+    // Inserts the new records and records their ids as the rows of the file, returns the number of inserted records
+    private static final String INSERT_NEW_RECORDS =
+            "WITH inserted AS (" +
+            "  INSERT INTO swift_codes (id, countryiso2, swift_code, bank_prefix, bank_name, address, country_name, is_headquarter) " +
+            "  SELECT nextval('swift_codes_seq'), d.countryiso2, d.swift_code, LEFT(d.swift_code, 8), d.bank_name, " +
+            "         d.address, d.country_name, d.is_headquarter " +
+            "  FROM swift_codes_delta d " +
+            "  WHERE NOT EXISTS (SELECT 1 FROM swift_codes t WHERE t.swift_code = d.swift_code " +
+            "                    AND t.bank_name = d.bank_name AND t.countryiso2 = d.countryiso2) " +
+            "  ORDER BY d.line_no " +
+            "  RETURNING id, swift_code, bank_name, countryiso2) " +
+            "INSERT INTO swift_code_source_rows (source, swift_code, bank_name, countryiso2, row_hash, record_id) " +
+            "SELECT ?, i.swift_code, i.bank_name, i.countryiso2, d.row_hash, i.id FROM inserted i " +
+            "JOIN swift_codes_delta d ON d.swift_code = i.swift_code AND d.bank_name = i.bank_name " +
+            "     AND d.countryiso2 = i.countryiso2 " +
+            "ON CONFLICT (source, swift_code, bank_name, countryiso2) " +
+            "DO UPDATE SET row_hash = EXCLUDED.row_hash, record_id = EXCLUDED.record_id";
+
+    private static final String UPSERT_SOURCE =
+            "INSERT INTO swift_code_sources (source, file_size, last_modified, content_hash, row_count, loaded_at) " +
+            "VALUES (?, ?, ?, ?, ?, now()) " +
+            "ON CONFLICT (source) DO UPDATE SET file_size = EXCLUDED.file_size, last_modified = EXCLUDED.last_modified, " +
+            "    content_hash = EXCLUDED.content_hash, row_count = EXCLUDED.row_count, loaded_at = EXCLUDED.loaded_at";
+
+    // The other new and changed rows, a row matching an existing record keeps the record id it had, if any
+    private static final String UPSERT_ROWS =
+            "INSERT INTO swift_code_source_rows (source, swift_code, bank_name, countryiso2, row_hash) " +
+            "SELECT ?, d.swift_code, d.bank_name, d.countryiso2, d.row_hash FROM swift_codes_delta d " +
+            "ON CONFLICT (source, swift_code, bank_name, countryiso2) DO UPDATE SET row_hash = EXCLUDED.row_hash";
+
+    private final DataSource dataSource;
+
+    public IncrementalSwiftCodeLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Loads the changes of a file into the "swift_codes" table.
+     *
+     * @param file The data file, used to compute its fingerprint
+     * @param source The rows of the file, only read if the file has changed
+     * @param fullReload If true, all existing records and fingerprints are removed and the file is loaded again
+     * @return Statistics of the load, {@link LoadReport#isSourceUnchanged()} if the file was skipped
+     */
+    public LoadReport load(File file, SwiftCodeRowSource source, boolean fullReload) throws Exception {
+        String sourceName = sourceName(file);
+        LoadReport report = new LoadReport();
+
+        try (Connection connection = dataSource.getConnection()) {
+            PGConnection pgConnection = PostgresCopyLoader.unwrap(connection);
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                // Held until the end of the transaction, a second instance waits and then finds the new fingerprint
+                try (PreparedStatement statement = connection.prepareStatement(LOCK_SOURCE)) {
+                    statement.setString(1, sourceName);
+                    statement.execute();
+                }
+
+                long fileSize = file.length();
+                long lastModified = file.lastModified();
+                String contentHash = null;
+                boolean unchanged = false;
+
+                Fingerprint stored = fullReload ? null : findFingerprint(connection, sourceName);
+                if (stored != null && stored.rowCount() > 0 && !tableHasRecords(connection)) {
+                    // The table was emptied, the file is loaded again as if it had never been loaded
+                    executeUpdate(connection, DELETE_SOURCE_ROWS, sourceName);
+                    stored = null;
+                }
+                if (stored != null) {
+                    if (stored.fileSize() == fileSize && stored.lastModified() == lastModified) {
+                        unchanged = true;
+                    } else {
+                        // The file was touched or copied, only its content tells whether it has changed
+                        contentHash = contentHash(file);
+                        unchanged = contentHash.equals(stored.contentHash());
+                        if (unchanged) {
+                            executeUpdate(connection, TOUCH_SOURCE, fileSize, lastModified, sourceName);
+                        }
+                    }
+                }
+
+                if (unchanged) {
+                    report.markSourceUnchanged();
+                } else {
+                    if (contentHash == null) {
+                        contentHash = contentHash(file);
+                    }
+                    applyFile(connection, pgConnection, source, fullReload,
+                            new Fingerprint(fileSize, lastModified, contentHash, 0), sourceName, report);
+                }
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Removes the fingerprints of all files, so that the next incremental load reads them again.
+     * Called when the table is changed by another engine, e.g. emptied by a full reload.
+     */
+    public void forgetSources() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(TRUNCATE_SOURCES);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot remove the fingerprints of the data files: " + e.getMessage(), e);
+        }
+    }
+
+    // Stages the rows of the file and writes the difference with the rows recorded at its last load
+    private void applyFile(Connection connection, PGConnection pgConnection, SwiftCodeRowSource source,
+                           boolean fullReload, Fingerprint fingerprint, String sourceName, LoadReport report)
+            throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            if (fullReload) {
+                statement.execute(TRUNCATE_TABLES);
+            }
+            statement.execute(PostgresCopyLoader.CREATE_STAGING_TABLE);
+
+            long stagedRows = PostgresCopyLoader.copyToStaging(pgConnection, source);
+
+            long mergeStart = System.nanoTime();
+            long fileRows = statement.executeUpdate(CREATE_FILE_TABLE);
+            statement.execute("ANALYZE swift_codes_file");
+
+            report.addDeleted(executeUpdate(connection, DELETE_REMOVED_RECORDS, sourceName, false));
+            report.addDeleted(executeUpdate(connection, DELETE_REMOVED_RECORDS, sourceName, true));
+            executeUpdate(connection, DELETE_REMOVED_ROWS, sourceName);
+
+            executeUpdate(connection, CREATE_DELTA_TABLE, sourceName);
+            report.addUpdated(statement.executeUpdate(UPDATE_CHANGED_RECORDS));
+
+            // The rows of the file reference its fingerprint
+            executeUpdate(connection, UPSERT_SOURCE, sourceName, fingerprint.fileSize(), fingerprint.lastModified(),
+                    fingerprint.contentHash(), fileRows);
+            report.addInserted(executeUpdate(connection, INSERT_NEW_RECORDS, sourceName));
+            executeUpdate(connection, UPSERT_ROWS, sourceName);
+
+            report.addDedupResult(stagedRows, stagedRows - fileRows, System.nanoTime() - mergeStart);
+        }
+    }
+
+    private static Fingerprint findFingerprint(Connection connection, String sourceName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(FIND_SOURCE)) {
+            statement.setString(1, sourceName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                return new Fingerprint(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3), resultSet.getLong(4));
+            }
+        }
+    }
+
+    private static boolean tableHasRecords(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(TABLE_HAS_RECORDS)) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+
+    private static int executeUpdate(Connection connection, String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Identifies a file: the same file is found through any relative path.
+     *
+     * @param file The data file
+     * @return The normalized absolute path of the file
+     */
+    private static String sourceName(File file) {
+        return file.getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    // SHA-256 of the content of the file, in hexadecimal
+    private static String contentHash(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The state of a file at its last load.
+     */
+    private record Fingerprint(long fileSize, long lastModified, String contentHash, long rowCount) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.swiftdataapi.loader;
+
+/**
+ * The engine used to write loaded SWIFT codes into the database.
+ */
+public enum LoadEngine {
+
+    /**
+     * Uses {@link #COPY} when the table is empty or a full reload is requested, {@link #JPA} otherwise.
+     */
+    AUTO,
+
+    /**
+     * Saves new records in batches through the JPA repository.
+     */
+    JPA,
+
+    /**
+     * Streams all rows into a staging table with PostgreSQL COPY and merges them with a single statement.
+     */
+    COPY,
+
+    /**
+     * Skips a file which has not changed since its last load, and applies a changed file as a delta with COPY:
+     * new and changed rows are written, records whose row was removed from the file are deleted.
+     */
+    INCREMENTAL
+}
@@ -0,0 +1,22 @@
+package com.example.swiftdataapi.loader;
+
+/**
+ * Receives the progress of a data load while the source is being read.
+ *
+ * The listener is called on the loading thread for every parsed row. It can abort the load by throwing,
+ * e.g. a {@link java.util.concurrent.CancellationException} once the load has been cancelled.
+ */
+@FunctionalInterface
+public interface LoadProgress {
+
+    /**
+     * A listener ignoring the progress.
+     */
+    LoadProgress NONE = () -> {
+    };
+
+    /**
+     * Called after a row has been parsed, before it is written.
+     */
+    void rowParsed();
+}
@@ -0,0 +1,154 @@
+package com.example.swiftdataapi.loader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics collected while loading SWIFT codes into the database.
+ *
+ * A report is filled in by the loader as rows are processed and printed once the load is finished,
+ * so the cost of the duplicate detection can be compared with the rest of the load.
+ */
+public class LoadReport {
+
+    // Number of parsed rows checked against the existing records
+    private long rowsChecked;
+
+    // Number of rows skipped because the same SWIFT code, bank name and country already exist
+    private long duplicatesSkipped;
+
+    // Number of rows written to the database
+    private long rowsInserted;
+
+    // Number of existing records whose values were changed by an incremental load
+    private long rowsUpdated;
+
+    // Number of records deleted by an incremental load because their row was removed from the file
+    private long rowsDeleted;
+
+    // Whether an incremental load skipped the file because it has not changed since its last load
+    private boolean sourceUnchanged;
+
+    // Number of uploaded rows rejected as invalid, with the first of them
+    private long rowsRejected;
+    private List<RowReject> rejects = List.of();
+
+    // Time spent in duplicate detection, in nanoseconds
+    private long dedupNanos;
+
+    /**
+     * Records the result of checking one chunk of rows for duplicates.
+     *
+     * @param checked Number of rows checked
+     * @param duplicates Number of rows found to be duplicates
+     * @param nanos Time spent on the check, in nanoseconds
+     */
+    public void addDedupResult(long checked, long duplicates, long nanos) {
+        rowsChecked += checked;
+        duplicatesSkipped += duplicates;
+        dedupNanos += nanos;
+    }
+
+    /**
+     * Records rows written to the database.
+     *
+     * @param inserted Number of inserted rows
+     */
+    public void addInserted(long inserted) {
+        rowsInserted += inserted;
+    }
+
+    /**
+     * Records existing records updated with new values.
+     *
+     * @param updated Number of updated records
+     */
+    public void addUpdated(long updated) {
+        rowsUpdated += updated;
+    }
+
+    /**
+     * Records records deleted because they are no longer in the file.
+     *
+     * @param deleted Number of deleted records
+     */
+    public void addDeleted(long deleted) {
+        rowsDeleted += deleted;
+    }
+
+    /**
+     * Records that the file was not read because it has not changed since its last load.
+     */
+    public void markSourceUnchanged() {
+        sourceUnchanged = true;
+    }
+
+    /**
+     * Records the rows of an uploaded file which were not loaded.
+     *
+     * @param rowRejects The rejected rows
+     */
+    public void addRejects(RowRejects rowRejects) {
+        rowsRejected += rowRejects.getCount();
+        rejects = rowRejects.getRejects();
+    }
+
+    /**
+     * Whether the load inserted, updated or deleted any record.
+     *
+     * @return True if the table has changed
+     */
+    public boolean hasChanges() {
+        return rowsInserted > 0 || rowsUpdated > 0 || rowsDeleted > 0;
+    }
+
+    public long getRowsChecked() {
+        return rowsChecked;
+    }
+
+    public long getDuplicatesSkipped() {
+        return duplicatesSkipped;
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public boolean isSourceUnchanged() {
+        return sourceUnchanged;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public List<RowReject> getRejects() {
+        return rejects;
+    }
+
+    public long getDedupMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(dedupNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "LoadReport{" +
+                "rowsChecked=" + rowsChecked +
+                ", duplicatesSkipped=" + duplicatesSkipped +
+                ", rowsInserted=" + rowsInserted +
+                ", rowsUpdated=" + rowsUpdated +
+                ", rowsDeleted=" + rowsDeleted +
+                ", rowsRejected=" + rowsRejected +
+                ", sourceUnchanged=" + sourceUnchanged +
+                ", dedupMillis=" + getDedupMillis() +
+                '}';
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads SWIFT codes from a UTF-8 CSV file (RFC 4180) with a header line and the column layout of the spreadsheet.
+ *
+ * The file is memory-mapped and split into fields directly in the mapped bytes: nothing is copied through
+ * a stream buffer or decoded into characters first. Only the values used by the application get a String,
+ * the other columns are skipped without allocating anything, and the cell array is reused for every row.
+ * This is the fastest format the loader reads; see {@link SwiftCodeCsvReader} for CSV streams.
+ */
+public class MappedCsvReader {
+
+    private final int windowSize;
+
+    // Bytes of the current value, reused for every value
+    private byte[] scratch = new byte[256];
+
+    // Values of the current row, null for the columns which are not used
+    private final String[] cells = new String[SwiftCodeRowMapper.COLUMN_COUNT];
+
+    // Number of columns and whether the current row is an empty line
+    private int columns;
+    private boolean blankRow;
+
+    public MappedCsvReader() {
+        this(MappedFileWindow.WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a reader mapping at most the given number of bytes at a time.
+     *
+     * @param windowSize Size of the mapped window, larger than the longest row of the files
+     */
+    public MappedCsvReader(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reads the given CSV file.
+     *
+     * @param file The CSV file to read
+     * @param rowConsumer Consumer receiving one entity per data row (the header and empty lines are skipped)
+     * @return Number of data rows read
+     * @throws IOException If the file cannot be read, ends inside a quoted value or has a row longer than the window
+     */
+    public long read(File file, Consumer<SwiftCodeEntity> rowConsumer) throws IOException {
+        long rowCount = 0;
+        boolean headerSkipped = false;
+        try (MappedFileWindow window = new MappedFileWindow(file, windowSize)) {
+            ByteBuffer buffer = window.buffer();
+            int position = hasByteOrderMark(buffer) ? 3 : 0;
+            while (position < buffer.limit() || !window.isLast()) {
+                int next = position < buffer.limit() ? parseRow(buffer, position, window.isLast()) : -1;
+                if (next < 0) {
+                    // The row continues after the window
+                    if (position == 0) {
+                        throw new IOException("Row at byte " + window.offset() + " of " + file + " is longer than " + windowSize + " bytes.");
+                    }
+                    window.moveTo(window.offset() + position);
+                    buffer = window.buffer();
+                    position = 0;
+                    continue;
+                }
+                position = next;
+                if (blankRow) {
+                    continue;
+                }
+                if (!headerSkipped) {
+                    headerSkipped = true;
+                    continue;
+                }
+                rowConsumer.accept(SwiftCodeRowMapper.toEntity(cells));
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
+    private static boolean hasByteOrderMark(ByteBuffer buffer) {
+        return buffer.limit() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF;
+    }
+
+    /**
+     * Splits the row starting at the given index into {@link #cells}.
+     *
+     * @param last Whether the buffer ends at the end of the file
+     * @return Index of the next row, or -1 if the row does not end in the buffer
+     */
+    private int parseRow(ByteBuffer buffer, int start, boolean last) throws IOException {
+        Arrays.fill(cells, null);
+        int limit = buffer.limit();
+        int position = start;
+        columns = 0;
+        while (true) {
+            int end;
+            int length;
+            boolean quoted = position < limit && buffer.get(position) == '"';
+            if (quoted) {
+                // The value is unescaped into the scratch buffer while the closing quote is searched
+                length = 0;
+                int i = position + 1;
+                while (true) {
+                    if (i >= limit) {
+                        if (last) {
+                            throw new IOException("The file ends inside a quoted value.");
+                        }
+                        return -1;
+                    }
+                    byte b = buffer.get(i);
+                    if (b == '"') {
+                        if (i + 1 >= limit && !last) {
+                            return -1;
+                        }
+                        if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                            append(length++, b);
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    append(length++, b);
+                    i++;
+                }
+                end = indexOfSeparator(buffer, i, limit);
+            } else {
+                end = indexOfSeparator(buffer, position, limit);
+                length = end - position;
+                if (length > 0 && buffer.get(end - 1) == '\r') {
+                    length--;
+                }
+            }
+            if (end >= limit && !last) {
+                return -1;
+            }
+
+            if (isUsed(columns)) {
+                if (!quoted) {
+                    ensureScratch(length);
+                    buffer.get(position, scratch, 0, length);
+                }
+                cells[columns] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+            columns++;
+
+            if (end >= limit || buffer.get(end) == '\n') {
+                blankRow = columns == 1 && length == 0 && !quoted;
+                return Math.min(end + 1, limit);
+            }
+            position = end + 1;
+        }
+    }
+
+    // Index of the next ',' or line feed, or the limit
+    private static int indexOfSeparator(ByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == ',' || b == '\n') {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private static boolean isUsed(int column) {
+        return column == SwiftCodeRowMapper.COUNTRY_ISO2_COLUMN
+                || column == SwiftCodeRowMapper.SWIFT_CODE_COLUMN
+                || column == SwiftCodeRowMapper.BANK_NAME_COLUMN
+                || column == SwiftCodeRowMapper.ADDRESS_COLUMN
+                || column == SwiftCodeRowMapper.COUNTRY_NAME_COLUMN;
+    }
+
+    private void append(int index, byte b) {
+        ensureScratch(index + 1);
+        scratch[index] = b;
+    }
+
+    private void ensureScratch(int length) {
+        if (scratch.length < length) {
+            scratch = Arrays.copyOf(scratch, Math.max(length, scratch.length * 2));
+        }
+    }
+}
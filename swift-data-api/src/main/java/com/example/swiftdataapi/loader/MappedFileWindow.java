@@ -0,0 +1,102 @@
+package com.example.swiftdataapi.loader;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only memory-mapped view of a region of a file, moved forward as the file is read.
+ *
+ * A single mapping is limited to 2 GB, so larger files are read through consecutive windows. A reader which
+ * reaches the end of the window in the middle of a record moves the window to the start of that record,
+ * so records never span two windows.
+ */
+final class MappedFileWindow implements Closeable {
+
+    // Size of a window, large enough for any record and small enough to be mapped on every platform
+    static final int WINDOW_SIZE = 256 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private MappedByteBuffer buffer;
+    private long offset;
+
+    MappedFileWindow(File file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    MappedFileWindow(File file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        moveTo(0);
+    }
+
+    /**
+     * Maps the window starting at the given position of the file.
+     *
+     * @param position Position in the file of the first byte of the window
+     */
+    void moveTo(long position) throws IOException {
+        offset = position;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, fileSize - position));
+    }
+
+    /**
+     * The mapped bytes, from index 0 to the limit of the buffer. Read with absolute gets only.
+     */
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Position in the file of the first byte of the window.
+     */
+    long offset() {
+        return offset;
+    }
+
+    /**
+     * Size of the file.
+     */
+    long fileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Reads bytes of the file without moving the window.
+     *
+     * @param position Position in the file of the first byte
+     * @param length Number of bytes, which must all be in the file
+     * @return The bytes, from index 0
+     */
+    ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, position + bytes.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return bytes.flip();
+    }
+
+    /**
+     * Whether the window reaches the end of the file.
+     */
+    boolean isLast() {
+        return offset + buffer.limit() >= fileSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        buffer = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Bulk-load engine writing SWIFT codes with PostgreSQL COPY.
+ *
+ * Parsed rows are streamed as CSV through the PgJDBC copy API into a temporary staging table.
+ * The staged rows are then merged into "swift_codes" with one set-based statement, which applies
+ * the same duplicate rule as the JPA loader: a row is skipped when a record with the same SWIFT code,
+ * bank name and country ISO2 code exists, and only the first occurrence of a key in the file is kept.
+ * Everything runs in a single transaction, so a failed load leaves the table unchanged.
+ */
+@Component
+public class PostgresCopyLoader {
+
+    // Size of the buffer used to send data to the COPY stream
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // The staging table is also filled by the incremental loader
+    static final String CREATE_STAGING_TABLE =
+            "CREATE TEMPORARY TABLE swift_codes_staging (" +
+            "line_no BIGINT, countryiso2 TEXT, swift_code TEXT, bank_name TEXT, " +
+            "address TEXT, country_name TEXT, is_headquarter BOOLEAN) ON COMMIT DROP";
+
+    private static final String COPY_STAGING_TABLE =
+            "COPY swift_codes_staging (line_no, countryiso2, swift_code, bank_name, address, country_name, is_headquarter) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MERGE_STAGING_TABLE =
+            "INSERT INTO swift_codes (id, countryiso2, swift_code, bank_prefix, bank_name, address, country_name, is_headquarter) " +
+            "SELECT nextval('swift_codes_seq'), s.countryiso2, s.swift_code, LEFT(s.swift_code, 8), s.bank_name, " +
+            "       s.address, s.country_name, s.is_headquarter " +
+            "FROM (SELECT DISTINCT ON (swift_code, bank_name, countryiso2) * FROM swift_codes_staging " +
+            "      ORDER BY swift_code, bank_name, countryiso2, line_no) s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM swift_codes t WHERE t.swift_code = s.swift_code " +
+            "                  AND t.bank_name = s.bank_name AND t.countryiso2 = s.countryiso2) " +
+            "ORDER BY s.line_no";
+
+    private final DataSource dataSource;
+
+    public PostgresCopyLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Loads all rows of the source into the "swift_codes" table.
+     *
+     * @param source The rows to load
+     * @param fullReload If true, all existing records are removed in the same transaction before loading
+     * @return Statistics of the load
+     */
+    public LoadReport load(SwiftCodeRowSource source, boolean fullReload) throws Exception {
+        LoadReport report = new LoadReport();
+
+        try (Connection connection = dataSource.getConnection()) {
+            PGConnection pgConnection = unwrap(connection);
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                if (fullReload) {
+                    statement.execute("TRUNCATE TABLE swift_codes");
+                }
+                statement.execute(CREATE_STAGING_TABLE);
+
+                long stagedRows = copyToStaging(pgConnection, source);
+
+                long mergeStart = System.nanoTime();
+                int inserted = statement.executeUpdate(MERGE_STAGING_TABLE);
+                report.addDedupResult(stagedRows, stagedRows - inserted, System.nanoTime() - mergeStart);
+                report.addInserted(inserted);
+
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return report;
+    }
+
+    // Streams the rows of the source into the staging table, returns the number of rows sent
+    static long copyToStaging(PGConnection pgConnection, SwiftCodeRowSource source) throws Exception {
+        long[] lineNo = {0};
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, COPY_STAGING_TABLE, COPY_BUFFER_SIZE), StandardCharsets.UTF_8),
+                COPY_BUFFER_SIZE)) {
+            source.readRows(entity -> {
+                try {
+                    writeCsvRow(writer, ++lineNo[0], entity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        return lineNo[0];
+    }
+
+    // Writes one staging row in CSV format, text values are always quoted so that empty strings are not read as NULL
+    private static void writeCsvRow(Writer writer, long lineNo, SwiftCodeEntity entity) throws IOException {
+        writer.write(Long.toString(lineNo));
+        writer.write(',');
+        writeCsvValue(writer, entity.getCountryISO2());
+        writer.write(',');
+        writeCsvValue(writer, entity.getSwiftCode());
+        writer.write(',');
+        writeCsvValue(writer, entity.getBankName());
+        writer.write(',');
+        writeCsvValue(writer, entity.getAddress());
+        writer.write(',');
+        writeCsvValue(writer, entity.getCountryName());
+        writer.write(',');
+        writer.write(entity.getHeadquarter() ? "t" : "f");
+        writer.write('\n');
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    static PGConnection unwrap(Connection connection) throws SQLException {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+            throw new IllegalStateException("The COPY load engine requires a PostgreSQL database.");
+        }
+        return connection.unwrap(PGConnection.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.swiftdataapi.loader;
+
+/**
+ * A row of an uploaded file which was not loaded.
+ *
+ * @param row Number of the row in the file, the header being row 1
+ * @param swiftCode The SWIFT code of the row as it was read, null if the row has no such column
+ * @param reason Why the row was rejected
+ */
+public record RowReject(long row, String swiftCode, String reason) {
+}
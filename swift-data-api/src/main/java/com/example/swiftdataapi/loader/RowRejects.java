@@ -0,0 +1,62 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The rows rejected while reading a file.
+ * Every reject is counted, only the first {@link #MAX_REPORTED_REJECTS} are kept, so that a file full of
+ * invalid rows does not fill the memory.
+ */
+public class RowRejects {
+
+    // Number of rejects kept with their row and reason
+    public static final int MAX_REPORTED_REJECTS = 100;
+
+    private long count;
+    private final List<RowReject> rejects = new ArrayList<>();
+
+    /**
+     * Records a rejected row.
+     *
+     * @param reject The row and why it was rejected
+     */
+    public void add(RowReject reject) {
+        count++;
+        if (rejects.size() < MAX_REPORTED_REJECTS) {
+            rejects.add(reject);
+        }
+    }
+
+    /**
+     * Validates the rows read from a file with {@link SwiftCodeRowMapper#rejectReason(SwiftCodeEntity)}:
+     * valid rows are passed on, invalid ones are recorded here.
+     *
+     * @param rowConsumer Consumer receiving the valid rows
+     * @return Consumer of all the data rows of the file, in order (the header being row 1)
+     */
+    public Consumer<SwiftCodeEntity> filter(Consumer<SwiftCodeEntity> rowConsumer) {
+        long[] row = {1};
+        return entity -> {
+            row[0]++;
+            String reason = SwiftCodeRowMapper.rejectReason(entity);
+            if (reason != null) {
+                add(new RowReject(row[0], entity.getSwiftCode(), reason));
+            } else {
+                rowConsumer.accept(entity);
+            }
+        };
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public List<RowReject> getRejects() {
+        return Collections.unmodifiableList(rejects);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Reads SWIFT codes from an .xlsx file using the POI event (SAX) API.
+ *
+ * Unlike {@code WorkbookFactory}, this reader never builds the workbook in memory:
+ * the sheet XML is parsed row by row and each row is handed to the consumer as soon
+ * as it is complete, so heap usage does not depend on the size of the file.
+ * Only the shared strings table is kept in memory.
+ */
+public class StreamingExcelReader {
+
+    /**
+     * Reads the first sheet of the given .xlsx file.
+     *
+     * @param file The Excel file to read
+     * @param rowConsumer Consumer receiving one entity per data row (the header row is skipped)
+     * @return Number of data rows read
+     */
+    public long read(File file, Consumer<SwiftCodeEntity> rowConsumer)
+            throws IOException, OpenXML4JException, SAXException {
+        try (OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ)) {
+            return read(opcPackage, rowConsumer);
+        }
+    }
+
+    /**
+     * Reads the first sheet of an already opened .xlsx package.
+     *
+     * @param opcPackage The opened package
+     * @param rowConsumer Consumer receiving one entity per data row (the header row is skipped)
+     * @return Number of data rows read
+     */
+    public long read(OPCPackage opcPackage, Consumer<SwiftCodeEntity> rowConsumer)
+            throws IOException, OpenXML4JException, SAXException {
+        XSSFReader xssfReader = new XSSFReader(opcPackage);
+        // Phonetic runs are not part of the cell text returned by the usermodel API
+        ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+
+        Iterator<InputStream> sheets = xssfReader.getSheetsData();
+        if (!sheets.hasNext()) {
+            return 0;
+        }
+
+        RowCollector rowCollector = new RowCollector(rowConsumer);
+        try (InputStream sheet = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    xssfReader.getStylesTable(), sharedStrings, rowCollector, new CellToStringFormatter(), true));
+            parser.parse(new InputSource(sheet));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("Unable to create XML parser", e);
+        }
+        return rowCollector.rowCount;
+    }
+
+    /**
+     * Collects the cells of the current row and emits an entity when the row ends.
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<SwiftCodeEntity> rowConsumer;
+        private final String[] cells = new String[SwiftCodeRowMapper.COLUMN_COUNT];
+        private boolean headerSkipped;
+        private int nextColumn;
+        private long rowCount;
+
+        RowCollector(Consumer<SwiftCodeEntity> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // The first row present in the sheet is the header
+            if (!headerSkipped) {
+                headerSkipped = true;
+                return;
+            }
+            rowConsumer.accept(SwiftCodeRowMapper.toEntity(cells));
+            rowCount++;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? columnIndex(cellReference) : nextColumn;
+            nextColumn = column + 1;
+            if (column < cells.length) {
+                cells[column] = formattedValue;
+            }
+        }
+
+        // Converts the letters of a reference such as "AB12" to a zero-based column index
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+    /**
+     * Formats numeric cells the same way as {@code Cell.toString()} does, so that the streaming
+     * reader produces the same values as reading the cells through the usermodel API.
+     */
+    private static class CellToStringFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                DateFormat dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+                dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+                return dateFormat.format(DateUtil.getJavaDate(value, use1904Windowing));
+            }
+            return Double.toString(value);
+        }
+    }
+}
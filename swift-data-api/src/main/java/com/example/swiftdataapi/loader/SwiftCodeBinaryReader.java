@@ -0,0 +1,165 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads SWIFT codes from a file in the binary format written by {@link SwiftCodeBinaryWriter}.
+ *
+ * The file is memory-mapped and every value is found from its length prefix, without any search for
+ * separators, quotes or line breaks: reading a row costs little more than creating its strings.
+ * The row count at the end of the file is checked before the first row is read, so a truncated file gives no row.
+ */
+public class SwiftCodeBinaryReader {
+
+    // Columns of the values of a record, in the order they are written
+    private static final int[] VALUE_COLUMNS = {
+            SwiftCodeRowMapper.COUNTRY_ISO2_COLUMN,
+            SwiftCodeRowMapper.SWIFT_CODE_COLUMN,
+            SwiftCodeRowMapper.BANK_NAME_COLUMN,
+            SwiftCodeRowMapper.ADDRESS_COLUMN,
+            SwiftCodeRowMapper.COUNTRY_NAME_COLUMN
+    };
+
+    private static final int HEADER_LENGTH = SwiftCodeBinaryWriter.MAGIC.length + 1;
+
+    // End tag and row count
+    private static final int TRAILER_LENGTH = 1 + Long.BYTES;
+
+    // Record tag and 5 empty values
+    private static final int MIN_RECORD_LENGTH = 1 + VALUE_COLUMNS.length;
+
+    private final String[] cells = new String[SwiftCodeRowMapper.COLUMN_COUNT];
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Checks whether a file starts with the magic of the binary format.
+     *
+     * @param file The file to check
+     * @return True if the file is a binary SWIFT codes file
+     */
+    public static boolean isBinaryFile(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return Arrays.equals(in.readNBytes(SwiftCodeBinaryWriter.MAGIC.length), SwiftCodeBinaryWriter.MAGIC);
+        }
+    }
+
+    /**
+     * Reads the given binary file.
+     *
+     * @param file The binary file to read
+     * @param rowConsumer Consumer receiving one entity per row
+     * @return Number of rows read
+     * @throws IOException If the file cannot be read, has another version or is truncated
+     */
+    public long read(File file, Consumer<SwiftCodeEntity> rowConsumer) throws IOException {
+        long rowCount = 0;
+        try (MappedFileWindow window = new MappedFileWindow(file)) {
+            ByteBuffer buffer = window.buffer();
+            if (!hasHeader(buffer)) {
+                throw new IOException(file + " is not a binary SWIFT codes file of version " + SwiftCodeBinaryWriter.VERSION + ".");
+            }
+            long trailerPosition = window.fileSize() - TRAILER_LENGTH;
+            long expected = readRowCount(window, trailerPosition);
+            if (expected < 0) {
+                throw new IOException(file + " is truncated, it does not end with its row count.");
+            }
+            int position = HEADER_LENGTH;
+            while (true) {
+                int next = position < buffer.limit() ? parseRecord(buffer, position) : -1;
+                if (next < 0) {
+                    if (window.isLast() || position == 0) {
+                        throw new IOException(file + " is truncated after " + rowCount + " rows.");
+                    }
+                    // The record continues after the window
+                    window.moveTo(window.offset() + position);
+                    buffer = window.buffer();
+                    position = 0;
+                    continue;
+                }
+                if (buffer.get(position) == SwiftCodeBinaryWriter.END_TAG) {
+                    if (window.offset() + position != trailerPosition || expected != rowCount) {
+                        throw new IOException(file + " has " + rowCount + " rows instead of " + expected + ".");
+                    }
+                    return rowCount;
+                }
+                position = next;
+                rowConsumer.accept(SwiftCodeRowMapper.toEntity(cells));
+                rowCount++;
+            }
+        }
+    }
+
+    // The row count of the trailer at the given position, or -1 if there is no trailer there
+    private static long readRowCount(MappedFileWindow window, long trailerPosition) throws IOException {
+        if (trailerPosition < HEADER_LENGTH) {
+            return -1;
+        }
+        ByteBuffer trailer = window.read(trailerPosition, TRAILER_LENGTH);
+        long rowCount = trailer.getLong(1);
+        boolean plausible = rowCount >= 0 && rowCount <= (trailerPosition - HEADER_LENGTH) / MIN_RECORD_LENGTH;
+        return trailer.get(0) == SwiftCodeBinaryWriter.END_TAG && plausible ? rowCount : -1;
+    }
+
+    // Whether the buffer starts with the magic and the supported version
+    private static boolean hasHeader(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < SwiftCodeBinaryWriter.MAGIC.length; i++) {
+            if (buffer.get(i) != SwiftCodeBinaryWriter.MAGIC[i]) {
+                return false;
+            }
+        }
+        return buffer.get(SwiftCodeBinaryWriter.MAGIC.length) == SwiftCodeBinaryWriter.VERSION;
+    }
+
+    /**
+     * Reads the record starting at the given index into {@link #cells}.
+     *
+     * @return Index of the next record, or -1 if the record does not end in the buffer
+     */
+    private int parseRecord(ByteBuffer buffer, int start) throws IOException {
+        int limit = buffer.limit();
+        int tag = buffer.get(start);
+        if (tag == SwiftCodeBinaryWriter.END_TAG) {
+            return start + 1 + Long.BYTES <= limit ? start + 1 + Long.BYTES : -1;
+        }
+        if (tag != SwiftCodeBinaryWriter.RECORD_TAG) {
+            throw new IOException("Invalid record tag " + tag + ".");
+        }
+        int position = start + 1;
+        for (int column : VALUE_COLUMNS) {
+            // Unsigned varint length
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= limit) {
+                    return -1;
+                }
+                b = buffer.get(position++);
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (position + length > limit) {
+                return -1;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(position, scratch, 0, length);
+            cells[column] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            position += length;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes SWIFT codes in the compact binary format read by {@link SwiftCodeBinaryReader}.
+ *
+ * The file is generated once from an .xlsx or CSV file, see {@link #main(String[])}. Its layout is:
+ * <pre>
+ * "SWCB"                magic
+ * version               1 byte
+ * per row:
+ *   1                   record tag, 1 byte
+ *   5 values            ISO2 code, SWIFT code, bank name, address and country name,
+ *                       each its UTF-8 length as an unsigned varint followed by the bytes
+ * 0                     end tag, 1 byte
+ * row count             8 bytes, big-endian
+ * </pre>
+ * The values are written as the loader creates them, so reading a row only takes the length prefixes.
+ * The row count at the end tells a complete file from a truncated one. It is written by {@link #finish()}
+ * once every row has been written, a writer closed without it leaves a file that is refused by the reader.
+ */
+public class SwiftCodeBinaryWriter implements Closeable {
+
+    static final byte[] MAGIC = {'S', 'W', 'C', 'B'};
+    static final int VERSION = 1;
+    static final int RECORD_TAG = 1;
+    static final int END_TAG = 0;
+
+    private final DataOutputStream out;
+    private long rowCount;
+
+    /**
+     * Starts a binary file.
+     *
+     * @param out The stream to write to, closed by {@link #close()}
+     */
+    public SwiftCodeBinaryWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    /**
+     * Writes one row.
+     *
+     * @param entity The entity of the row
+     */
+    public void write(SwiftCodeEntity entity) throws IOException {
+        out.writeByte(RECORD_TAG);
+        writeValue(entity.getCountryISO2());
+        writeValue(entity.getSwiftCode());
+        writeValue(entity.getBankName());
+        writeValue(entity.getAddress());
+        writeValue(entity.getCountryName());
+        rowCount++;
+    }
+
+    private void writeValue(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while (length >= 0x80) {
+            out.writeByte(length & 0x7F | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Ends the file with the row count. Called once, after the last row.
+     */
+    public void finish() throws IOException {
+        out.writeByte(END_TAG);
+        out.writeLong(rowCount);
+        out.flush();
+    }
+
+    /**
+     * Closes the stream. The file is complete only if {@link #finish()} was called first.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Converts a data file to the binary format.
+     *
+     * @param source The file to convert, in any format read by {@link SwiftCodeFileReader}
+     * @param target The binary file to create
+     * @return Number of rows written
+     * @throws Exception If the source cannot be read or the target cannot be written, the target is then deleted
+     */
+    public static long convert(File source, File target) throws Exception {
+        try (SwiftCodeBinaryWriter writer = new SwiftCodeBinaryWriter(new FileOutputStream(target))) {
+            new SwiftCodeFileReader().read(source, entity -> {
+                try {
+                    writer.write(entity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+            return writer.getRowCount();
+        } catch (Exception e) {
+            // No partial file is left behind
+            Files.deleteIfExists(target.toPath());
+            throw e;
+        }
+    }
+
+    /**
+     * Converts a data file to the binary format.
+     *
+     * @param args Source file (.xlsx or .csv) and binary file to create
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: SwiftCodeBinaryWriter <file.xlsx|file.csv> <file.bin>");
+            System.exit(1);
+        }
+        File source = new File(args[0]);
+        File target = new File(args[1]);
+
+        long start = System.nanoTime();
+        long rowCount = convert(source, target);
+        System.out.printf("Wrote %,d rows to %s (%,d bytes) in %.1f s%n",
+                rowCount, target, target.length(), (System.nanoTime() - start) / 1e9);
+    }
+}
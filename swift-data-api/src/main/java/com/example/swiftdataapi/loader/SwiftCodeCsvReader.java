@@ -0,0 +1,155 @@
+package com.example.swiftdataapi.loader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the records of a CSV stream (RFC 4180) with a header line, e.g. the SWIFT codes in the column
+ * layout of the spreadsheet.
+ *
+ * The stream is parsed character by character and every record is handed to the consumer as soon as
+ * it is complete, so memory usage does not depend on the size of the input. Quoted values may contain
+ * separators, doubled quotes and line breaks. A leading byte order mark and blank lines are ignored.
+ */
+public class SwiftCodeCsvReader {
+
+    // Longest record accepted, so that a missing line break or quote cannot fill the memory
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Receives the records of the stream.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+
+        /**
+         * Receives one data record.
+         *
+         * @param row Number of the record in the stream, the header being record 1
+         * @param values The values of the record, as many as it has columns
+         */
+        void accept(long row, String[] values);
+    }
+
+    /**
+     * Reads the stream and passes every record after the header to the consumer.
+     *
+     * @param reader The CSV stream, not closed by this method
+     * @param recordConsumer Consumer receiving the data records
+     * @return Number of data records read
+     * @throws IOException If the stream cannot be read, ends inside a quoted value or has a record longer
+     *                     than {@link #MAX_RECORD_LENGTH} characters
+     */
+    public long read(Reader reader, RecordConsumer recordConsumer) throws IOException {
+        RecordBuilder record = new RecordBuilder(recordConsumer);
+        char[] buffer = new char[BUFFER_SIZE];
+        boolean firstChar = true;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            int start = 0;
+            if (firstChar && read > 0) {
+                firstChar = false;
+                if (buffer[0] == '\uFEFF') {
+                    start = 1;
+                }
+            }
+            for (int i = start; i < read; i++) {
+                record.accept(buffer[i]);
+            }
+        }
+        record.endOfStream();
+        return Math.max(record.row - 1, 0);
+    }
+
+    /**
+     * State machine collecting the values of the current record.
+     */
+    private static class RecordBuilder {
+
+        private enum State { VALUE_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED }
+
+        private final RecordConsumer recordConsumer;
+        private final List<String> values = new ArrayList<>(SwiftCodeRowMapper.COLUMN_COUNT);
+        private final StringBuilder value = new StringBuilder();
+        private State state = State.VALUE_START;
+        private int recordLength;
+        private long row;
+
+        RecordBuilder(RecordConsumer recordConsumer) {
+            this.recordConsumer = recordConsumer;
+        }
+
+        void accept(char c) throws IOException {
+            if (++recordLength > MAX_RECORD_LENGTH) {
+                throw new IOException("Record " + (row + 1) + " is longer than " + MAX_RECORD_LENGTH + " characters.");
+            }
+            switch (state) {
+                case QUOTED -> {
+                    if (c == '"') {
+                        state = State.QUOTE_IN_QUOTED;
+                    } else {
+                        value.append(c);
+                    }
+                }
+                case QUOTE_IN_QUOTED -> {
+                    if (c == '"') {
+                        // A doubled quote stands for one quote
+                        value.append(c);
+                        state = State.QUOTED;
+                    } else {
+                        state = State.UNQUOTED;
+                        unquoted(c);
+                    }
+                }
+                case VALUE_START -> {
+                    if (c == '"') {
+                        state = State.QUOTED;
+                    } else {
+                        state = State.UNQUOTED;
+                        unquoted(c);
+                    }
+                }
+                case UNQUOTED -> unquoted(c);
+            }
+        }
+
+        private void unquoted(char c) {
+            if (c == ',') {
+                endValue();
+            } else if (c == '\n') {
+                endRecord();
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+
+        private void endValue() {
+            values.add(value.toString());
+            value.setLength(0);
+            state = State.VALUE_START;
+        }
+
+        private void endRecord() {
+            endValue();
+            boolean blank = values.size() == 1 && values.get(0).isEmpty();
+            if (!blank && ++row > 1) {
+                recordConsumer.accept(row, values.toArray(new String[0]));
+            }
+            values.clear();
+            recordLength = 0;
+        }
+
+        void endOfStream() throws IOException {
+            if (state == State.QUOTED) {
+                throw new IOException("Record " + (row + 1) + " ends inside a quoted value.");
+            }
+            if (!values.isEmpty() || state != State.VALUE_START) {
+                endRecord();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Reads the SWIFT codes of a data file with the reader matching its format:
+ * <ul>
+ *     <li>.xlsx workbooks with {@link StreamingExcelReader}</li>
+ *     <li>binary files written by {@link SwiftCodeBinaryWriter} with {@link SwiftCodeBinaryReader}</li>
+ *     <li>.csv files with {@link MappedCsvReader}</li>
+ *     <li>other workbooks (e.g. legacy .xls) through the POI usermodel API</li>
+ * </ul>
+ * Workbooks and binary files are recognized by their content, CSV files by their extension.
+ * Every reader creates its entities with {@link SwiftCodeRowMapper}, so a row gives the same entity in any format.
+ */
+public class SwiftCodeFileReader {
+
+    /**
+     * Reads the given file.
+     *
+     * @param file The data file to read
+     * @param rowConsumer Consumer receiving one entity per data row
+     * @return Number of data rows read
+     */
+    public long read(File file, Consumer<SwiftCodeEntity> rowConsumer) throws Exception {
+        if (FileMagic.valueOf(file) == FileMagic.OOXML) {
+            return new StreamingExcelReader().read(file, rowConsumer);
+        }
+        if (SwiftCodeBinaryReader.isBinaryFile(file)) {
+            return new SwiftCodeBinaryReader().read(file, rowConsumer);
+        }
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            return new MappedCsvReader().read(file, rowConsumer);
+        }
+        return readWorkbook(file, rowConsumer);
+    }
+
+    /**
+     * Reads a workbook which is not in the .xlsx format (e.g. legacy .xls) through the usermodel API.
+     * The whole workbook is loaded into memory, so this is only used when streaming is not possible.
+     */
+    private long readWorkbook(File file, Consumer<SwiftCodeEntity> rowConsumer) throws IOException {
+        long rowCount = 0;
+        try (FileInputStream fileInputStream = new FileInputStream(file);
+             Workbook workbook = WorkbookFactory.create(fileInputStream)) {
+            Sheet sheet = workbook.getSheetAt(0);
+
+            Iterator<Row> rowIterator = sheet.iterator();
+            if (!rowIterator.hasNext()) {
+                return 0;
+            }
+            rowIterator.next();  // Skip header row
+
+            String[] cells = new String[SwiftCodeRowMapper.COLUMN_COUNT];
+            while (rowIterator.hasNext()) {
+                Row row = rowIterator.next();
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = getCellValue(row, i);
+                }
+                rowConsumer.accept(SwiftCodeRowMapper.toEntity(cells));
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
+    private static String getCellValue(Row row, int cellIndex) {
+        Cell cell = row.getCell(cellIndex);
+        return cell != null ? cell.toString().trim() : "";
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.util.regex.Pattern;
+
+/**
+ * Maps a single row of the SWIFT codes spreadsheet to a {@link SwiftCodeEntity}.
+ *
+ * The column layout is the one used by the provided Excel file:
+ * ISO2 code, SWIFT code, code type, bank name, address, town name, country name, time zone.
+ * Every reader producing entities from that layout goes through this class, so all of them
+ * create exactly the same values.
+ */
+public final class SwiftCodeRowMapper {
+
+    // Column indexes of the values used by the application
+    public static final int COUNTRY_ISO2_COLUMN = 0;
+    public static final int SWIFT_CODE_COLUMN = 1;
+    public static final int BANK_NAME_COLUMN = 3;
+    public static final int ADDRESS_COLUMN = 4;
+    public static final int COUNTRY_NAME_COLUMN = 6;
+
+    // Number of columns in the spreadsheet layout
+    public static final int COLUMN_COUNT = 8;
+
+    // Bank and country letters, location, then an optional branch code (ISO 9362)
+    private static final Pattern SWIFT_CODE = Pattern.compile("[A-Z]{6}[A-Z0-9]{2}([A-Z0-9]{3})?");
+    private static final Pattern COUNTRY_ISO2 = Pattern.compile("[A-Z]{2}");
+
+    private SwiftCodeRowMapper() {}
+
+    /**
+     * Creates a new (not yet persisted) entity from the raw cell values of a row.
+     * Cell values are trimmed, the ISO2 code and country name are upper-cased
+     * and codes ending with "XXX" are marked as headquarters.
+     *
+     * @param cells Raw cell values indexed by column, missing cells may be null
+     * @return The entity representing the row
+     */
+    public static SwiftCodeEntity toEntity(String[] cells) {
+        String countryISO2 = cellValue(cells, COUNTRY_ISO2_COLUMN).toUpperCase();
+        String swiftCode = cellValue(cells, SWIFT_CODE_COLUMN);
+        String bankName = cellValue(cells, BANK_NAME_COLUMN);
+        String address = cellValue(cells, ADDRESS_COLUMN);
+        String countryName = cellValue(cells, COUNTRY_NAME_COLUMN).toUpperCase();
+
+        // Check if this is a headquarter
+        boolean isHeadquarter = swiftCode.endsWith("XXX");
+
+        return new SwiftCodeEntity(
+                null,  // ID is generated automatically
+                countryISO2,
+                swiftCode,
+                bankName,
+                address,
+                countryName,
+                isHeadquarter
+        );
+    }
+
+    /**
+     * Checks that an entity created by {@link #toEntity(String[])} can be stored.
+     * Every file and upload goes through this check, whatever its format.
+     *
+     * @param entity The entity of a row
+     * @return Why the row is invalid, or null if it is valid
+     */
+    public static String rejectReason(SwiftCodeEntity entity) {
+        if (!SWIFT_CODE.matcher(entity.getSwiftCode()).matches()) {
+            return "Invalid SWIFT code";
+        }
+        if (!COUNTRY_ISO2.matcher(entity.getCountryISO2()).matches()) {
+            return "Invalid country ISO2 code";
+        }
+        if (entity.getBankName().isEmpty()) {
+            return "Missing bank name";
+        }
+        if (entity.getCountryName().isEmpty()) {
+            return "Missing country name";
+        }
+        return null;
+    }
+
+    private static String cellValue(String[] cells, int cellIndex) {
+        String value = cellIndex < cells.length ? cells[cellIndex] : null;
+        return value != null ? value.trim() : "";
+    }
+}
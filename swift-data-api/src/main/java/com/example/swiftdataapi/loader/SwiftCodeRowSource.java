@@ -0,0 +1,22 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.util.function.Consumer;
+
+/**
+ * A source of parsed SWIFT code rows, e.g. an Excel file.
+ * Rows are pushed to the consumer one by one while the source is being read,
+ * so the load engines can write them without keeping the whole file in memory.
+ */
+@FunctionalInterface
+public interface SwiftCodeRowSource {
+
+    /**
+     * Reads the source and passes every row to the consumer.
+     *
+     * @param rowConsumer Consumer receiving one entity per data row
+     * @throws Exception If the source cannot be read
+     */
+    void readRows(Consumer<SwiftCodeEntity> rowConsumer) throws Exception;
+}
@@ -0,0 +1,79 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Reads the SWIFT codes of an uploaded CSV or .xlsx stream.
+ *
+ * Rows are validated with {@link SwiftCodeRowMapper#rejectReason(SwiftCodeEntity)} as they are read: valid rows
+ * are passed on to the load engine, invalid ones are collected in {@link #getRejects()} instead of failing the load.
+ *
+ * A CSV stream is parsed as it arrives. An .xlsx file is a zip archive whose shared strings usually come after
+ * the sheet, so POI has to extract the archive in memory before the rows can be read: the size of an .xlsx upload
+ * should be limited accordingly.
+ */
+public class SwiftCodeUploadReader implements SwiftCodeRowSource {
+
+    private final InputStream inputStream;
+    private final UploadFormat format;
+    private final RowRejects rejects = new RowRejects();
+
+    /**
+     * @param inputStream The uploaded content, read once and not closed by this reader
+     * @param format The format of the content
+     */
+    public SwiftCodeUploadReader(InputStream inputStream, UploadFormat format) {
+        this.inputStream = inputStream;
+        this.format = format;
+    }
+
+    @Override
+    public void readRows(Consumer<SwiftCodeEntity> rowConsumer) throws Exception {
+        if (format == UploadFormat.CSV) {
+            Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+            new SwiftCodeCsvReader().read(reader, (row, values) -> {
+                if (values.length != SwiftCodeRowMapper.COLUMN_COUNT) {
+                    String swiftCode = values.length > SwiftCodeRowMapper.SWIFT_CODE_COLUMN
+                            ? values[SwiftCodeRowMapper.SWIFT_CODE_COLUMN].trim() : null;
+                    rejects.add(new RowReject(row, swiftCode, "Expected " + SwiftCodeRowMapper.COLUMN_COUNT
+                            + " columns, found " + values.length));
+                } else {
+                    accept(row, SwiftCodeRowMapper.toEntity(values), rowConsumer);
+                }
+            });
+        } else {
+            OPCPackage opcPackage = OPCPackage.open(inputStream);
+            try {
+                new StreamingExcelReader().read(opcPackage, rejects.filter(rowConsumer));
+            } finally {
+                // A package opened from a stream is writable, it is discarded without being saved
+                opcPackage.revert();
+            }
+        }
+    }
+
+    private void accept(long row, SwiftCodeEntity entity, Consumer<SwiftCodeEntity> rowConsumer) {
+        String reason = SwiftCodeRowMapper.rejectReason(entity);
+        if (reason != null) {
+            rejects.add(new RowReject(row, entity.getSwiftCode(), reason));
+        } else {
+            rowConsumer.accept(entity);
+        }
+    }
+
+    /**
+     * The rows rejected so far.
+     *
+     * @return The rejected rows
+     */
+    public RowRejects getRejects() {
+        return rejects;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.IngestionJob;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the startup load, included in the readiness group as "swiftDataLoad".
+ *
+ * The status tells whether the SWIFT codes can be queried: UP once the load has succeeded, or while it runs
+ * if the table already has records (e.g. loaded by an earlier deployment), OUT_OF_SERVICE while an empty table
+ * is being loaded or the database cannot be reached, and DOWN if the load failed and the table is empty.
+ * The details give the progress of the load. Liveness does not depend on the database,
+ * see {@link SwiftDataLoadLivenessHealthIndicator}.
+ */
+@Component
+public class SwiftDataLoadHealthIndicator implements HealthIndicator {
+
+    private final DataLoader dataLoader;
+    private final SwiftCodeRepository swiftCodeRepository;
+
+    public SwiftDataLoadHealthIndicator(DataLoader dataLoader, SwiftCodeRepository swiftCodeRepository) {
+        this.dataLoader = dataLoader;
+        this.swiftCodeRepository = swiftCodeRepository;
+    }
+
+    @Override
+    public Health health() {
+        IngestionJob job = dataLoader.getStartupJob();
+        if (job == null) {
+            // Probes are served before the startup load is submitted
+            return queryableOr(Health.outOfService()).withDetail("state", "NOT_STARTED").build();
+        }
+
+        Health.Builder builder;
+        IngestionJob.State state = job.getState();
+        if (state == IngestionJob.State.SUCCEEDED) {
+            builder = Health.up();
+        } else if (state.isFinal()) {
+            builder = queryableOr(Health.down());
+        } else {
+            builder = queryableOr(Health.outOfService());
+        }
+
+        builder.withDetail("jobId", job.getId())
+                .withDetail("state", state)
+                .withDetail("rowsParsed", job.getRowsParsed())
+                .withDetail("rowsPerSecond", job.getRowsPerSecond());
+        if (job.getError() != null) {
+            builder.withDetail("error", job.getError());
+        }
+        return builder.build();
+    }
+
+    // UP if the table already has records to serve, the given status otherwise
+    private Health.Builder queryableOr(Health.Builder notQueryable) {
+        try {
+            return swiftCodeRepository.existsAnyRecord() ? Health.up() : notQueryable;
+        } catch (RuntimeException e) {
+            // Nothing can be served until the database is back, the load itself may still succeed
+            return Health.outOfService().withDetail("databaseError", String.valueOf(e.getMessage()));
+        }
+    }
+}
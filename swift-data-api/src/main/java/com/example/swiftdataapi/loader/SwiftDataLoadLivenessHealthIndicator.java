@@ -0,0 +1,40 @@
+package com.example.swiftdataapi.loader;
+
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Liveness of the startup load, included in the liveness group as "swiftDataLoadLiveness".
+ *
+ * Only the state of the job is checked, never the database: an outage of the database or a failed load
+ * is reported by readiness, and restarting the application would not fix it. The status is DOWN only when
+ * the load can no longer finish, i.e. it is queued or running but the ingestion threads have been shut down.
+ */
+@Component
+public class SwiftDataLoadLivenessHealthIndicator implements HealthIndicator {
+
+    private final DataLoader dataLoader;
+    private final IngestionJobService ingestionJobService;
+
+    public SwiftDataLoadLivenessHealthIndicator(DataLoader dataLoader, IngestionJobService ingestionJobService) {
+        this.dataLoader = dataLoader;
+        this.ingestionJobService = ingestionJobService;
+    }
+
+    @Override
+    public Health health() {
+        IngestionJob job = dataLoader.getStartupJob();
+        if (job == null) {
+            return Health.up().withDetail("state", "NOT_STARTED").build();
+        }
+
+        IngestionJob.State state = job.getState();
+        Health.Builder builder = !state.isFinal() && !ingestionJobService.isRunning() ? Health.down() : Health.up();
+        return builder.withDetail("jobId", job.getId())
+                .withDetail("state", state)
+                .build();
+    }
+}
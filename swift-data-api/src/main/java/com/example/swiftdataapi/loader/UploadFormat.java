@@ -0,0 +1,51 @@
+package com.example.swiftdataapi.loader;
+
+import java.util.Locale;
+
+/**
+ * The formats of the files accepted by the upload endpoint.
+ */
+public enum UploadFormat {
+
+    /**
+     * UTF-8 CSV (RFC 4180) with a header line and the 8 columns of the spreadsheet.
+     */
+    CSV,
+
+    /**
+     * Excel workbook, the SWIFT codes are read from its first sheet.
+     */
+    XLSX;
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    /**
+     * Finds the format of an upload from its content type, or from the extension of its file name
+     * when the content type is missing or generic (e.g. application/octet-stream).
+     *
+     * @param contentType The content type of the upload, may be null
+     * @param fileName The name of the uploaded file, may be null
+     * @return The format, or null if it is not supported
+     */
+    public static UploadFormat of(String contentType, String fileName) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            if (mediaType.equals("text/csv") || mediaType.equals("application/csv")) {
+                return CSV;
+            }
+            if (mediaType.equals(XLSX_CONTENT_TYPE)) {
+                return XLSX;
+            }
+        }
+        if (fileName != null) {
+            String name = fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".xlsx")) {
+                return XLSX;
+            }
+        }
+        return null;
+    }
+}
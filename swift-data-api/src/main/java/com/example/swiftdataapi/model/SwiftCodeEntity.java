@@ -10,12 +10,21 @@ import java.util.Objects;
  * The entity is used for storing and retrieving SWIFT code information in a database.
  */
 @Entity
-@Table(name = "swift_codes")
+@Table(name = "swift_codes", indexes = {
+        // Used by lookups by SWIFT code and by duplicate detection in the loader
+        @Index(name = "idx_swift_codes_swift_code", columnList = "swiftCode"),
+        // Used to find the branches of a headquarter
+        @Index(name = "idx_swift_codes_bank_prefix", columnList = "bankPrefix"),
+        // Used by the pages of the country listing, ordered by SWIFT code and id
+        @Index(name = "idx_swift_codes_country_swift_code", columnList = "countryISO2, swiftCode, id")
+})
 public class SwiftCodeEntity {
 
-    // The primary key for the SwiftCodeEntity, auto-generated by the database
+    // The primary key for the SwiftCodeEntity, taken from the "swift_codes_seq" sequence.
+    // Identifiers are allocated in blocks of 50 (pooled optimizer), which lets Hibernate batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "swift_codes_seq")
+    @SequenceGenerator(name = "swift_codes_seq", sequenceName = "swift_codes_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -27,6 +36,11 @@ public class SwiftCodeEntity {
     @Column(name = "swiftCode")
     private String swiftCode;
 
+    // The first 8 characters of the SWIFT code, shared by a headquarter and all of its branches.
+    // Derived from the SWIFT code whenever it is set, so it never has to be provided explicitly.
+    @Column(name = "bankPrefix", length = 8)
+    private String bankPrefix;
+
     // The name of the bank to which the SWIFT code belongs
     @Column(name = "bankName")
     private String bankName;
@@ -62,7 +76,7 @@ public class SwiftCodeEntity {
                            String address, String countryName, boolean isHeadquarter) {
         this.id = id;
         this.countryISO2 = countryISO2;
-        this.swiftCode = swiftCode;
+        setSwiftCode(swiftCode);
         this.bankName = bankName;
         this.address = address;
         this.countryName = countryName;
@@ -93,6 +107,25 @@ public class SwiftCodeEntity {
 
     public void setSwiftCode(String swiftCode) {
         this.swiftCode = swiftCode;
+        this.bankPrefix = bankPrefixOf(swiftCode);
+    }
+
+    public String getBankPrefix() {
+        return bankPrefix;
+    }
+
+    /**
+     * Returns the institution prefix of a SWIFT code: its first 8 characters,
+     * or the whole code if it is shorter.
+     *
+     * @param swiftCode The SWIFT code
+     * @return The prefix shared by the headquarter and its branches, or null if the code is null
+     */
+    public static String bankPrefixOf(String swiftCode) {
+        if (swiftCode == null) {
+            return null;
+        }
+        return swiftCode.length() > 8 ? swiftCode.substring(0, 8) : swiftCode;
     }
 
     public String getBankName() {
@@ -1,9 +1,19 @@
 package com.example.swiftdataapi.repository;
 
+import com.example.swiftdataapi.dto.BranchListDTO;
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
 import com.example.swiftdataapi.model.SwiftCodeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,4 +53,119 @@ public interface SwiftCodeRepository extends JpaRepository<SwiftCodeEntity, Long
      */
     List<SwiftCodeEntity> findAllByCountryISO2(String countryISO2);
 
+    /**
+     * Finds the details of a SWIFT code, projected directly into a {@link BranchSwiftCodeDTO}.
+     * No entity is created, so nothing is tracked by the persistence context.
+     * If the SWIFT code is used by more than one record, the oldest one is returned.
+     *
+     * @param swiftCode The SWIFT code to search for.
+     * @return The details of the SWIFT code, or empty if not found.
+     */
+    @Query("select new com.example.swiftdataapi.dto.BranchSwiftCodeDTO(s.address, s.bankName, s.countryISO2, " +
+            "s.countryName, s.isHeadquarter, s.swiftCode) from SwiftCodeEntity s where s.swiftCode = :swiftCode order by s.id")
+    List<BranchSwiftCodeDTO> findDetailsBySwiftCode(@Param("swiftCode") String swiftCode, Limit limit);
+
+    /**
+     * Finds the records sharing the given institution prefix, except the given SWIFT code,
+     * projected directly into {@link BranchListDTO} objects. Used to list the branches of a headquarter.
+     *
+     * @param bankPrefix The 8-character institution prefix.
+     * @param swiftCode The SWIFT code to exclude, usually the one of the headquarter.
+     * @return The branches, ordered by id.
+     */
+    @Query("select new com.example.swiftdataapi.dto.BranchListDTO(s.address, s.bankName, s.countryISO2, " +
+            "s.isHeadquarter, s.swiftCode) from SwiftCodeEntity s " +
+            "where s.bankPrefix = :bankPrefix and s.swiftCode <> :swiftCode order by s.id")
+    List<BranchListDTO> findBranchList(@Param("bankPrefix") String bankPrefix, @Param("swiftCode") String swiftCode);
+
+    /**
+     * Finds all records of a country, projected directly into {@link BranchSwiftCodeDTO} objects.
+     *
+     * @param countryISO2 The 2-letter ISO country code.
+     * @return The records of the country, ordered by id.
+     */
+    @Query("select new com.example.swiftdataapi.dto.BranchSwiftCodeDTO(s.address, s.bankName, s.countryISO2, " +
+            "s.countryName, s.isHeadquarter, s.swiftCode) from SwiftCodeEntity s where s.countryISO2 = :countryISO2 order by s.id")
+    List<BranchSwiftCodeDTO> findDetailsByCountryISO2(@Param("countryISO2") String countryISO2);
+
+    /**
+     * Finds the first page of the SWIFT codes of a country, ordered by SWIFT code and id.
+     *
+     * @param countryISO2 The 2-letter ISO country code.
+     * @param limit The maximum number of records to return.
+     * @return The first records of the country.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM swift_codes WHERE countryiso2 = :countryISO2 " +
+            "ORDER BY swift_code, id LIMIT :limit", nativeQuery = true)
+    List<SwiftCodeEntity> findCountryPage(@Param("countryISO2") String countryISO2, @Param("limit") int limit);
+
+    /**
+     * Finds the page of the SWIFT codes of a country following the given position, ordered by SWIFT code and id.
+     * The row comparison is answered from the (countryiso2, swift_code, id) index, so every page costs
+     * the same whatever its depth.
+     *
+     * @param countryISO2 The 2-letter ISO country code.
+     * @param swiftCode The SWIFT code of the last record of the previous page.
+     * @param id The id of the last record of the previous page.
+     * @param limit The maximum number of records to return.
+     * @return The records of the country following the given position.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM swift_codes WHERE countryiso2 = :countryISO2 AND (swift_code, id) > (:swiftCode, :id) " +
+            "ORDER BY swift_code, id LIMIT :limit", nativeQuery = true)
+    List<SwiftCodeEntity> findCountryPageAfter(@Param("countryISO2") String countryISO2, @Param("swiftCode") String swiftCode,
+                                               @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Checks whether any record other than the given SWIFT code shares the given institution prefix.
+     * Used to check through the prefix index whether a headquarter still has branches.
+     *
+     * @param bankPrefix The 8-character institution prefix.
+     * @param swiftCode The SWIFT code to exclude, usually the one of the headquarter.
+     * @return true if at least one other record has the given prefix.
+     */
+    boolean existsByBankPrefixAndSwiftCodeNot(String bankPrefix, String swiftCode);
+
+    /**
+     * Finds all {@link SwiftCodeEntity} objects having one of the given SWIFT codes.
+     * Used to look up many SWIFT codes with a single query.
+     *
+     * @param swiftCodes The SWIFT codes to search for.
+     * @param sort The order of the returned records.
+     * @return A list of the matching {@link SwiftCodeEntity} objects.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<SwiftCodeEntity> findAllBySwiftCodeIn(Collection<String> swiftCodes, Sort sort);
+
+    /**
+     * Finds all {@link SwiftCodeEntity} objects having one of the given institution prefixes.
+     * Used to find the branches of many headquarters with a single query.
+     *
+     * @param bankPrefixes The 8-character institution prefixes.
+     * @return A list of {@link SwiftCodeEntity} objects with one of the given prefixes.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<SwiftCodeEntity> findAllByBankPrefixIn(Collection<String> bankPrefixes);
+
+    /**
+     * Finds the natural keys (SWIFT code, bank name and country ISO2 code) of all records
+     * having one of the given SWIFT codes. Used by the loader to detect duplicates for a whole
+     * chunk of rows with a single query instead of one query per row.
+     *
+     * @param swiftCodes The SWIFT codes to search for.
+     * @return For every matching record an array of {swiftCode, bankName, countryISO2}.
+     */
+    @Query("select s.swiftCode, s.bankName, s.countryISO2 from SwiftCodeEntity s where s.swiftCode in :swiftCodes")
+    List<Object[]> findNaturalKeysBySwiftCodeIn(@Param("swiftCodes") Collection<String> swiftCodes);
+
+    /**
+     * Checks whether the table contains at least one record.
+     * Unlike {@code count()}, this does not scan the whole table.
+     *
+     * @return true if there is at least one SWIFT code in the database.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM swift_codes)", nativeQuery = true)
+    boolean existsAnyRecord();
+
 }
@@ -0,0 +1,249 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.RowReject;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+/**
+ * A data load submitted to {@link IngestionJobService}, with its progress.
+ *
+ * The job is updated by the ingestion thread running it and read by any number of request threads,
+ * so every field written after submission is volatile. The public getters are the JSON view of the job endpoints.
+ */
+public class IngestionJob {
+
+    /**
+     * The life cycle of a job: QUEUED, then RUNNING, then one of the final states.
+     */
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinal() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+
+    // The file loaded by the job, only one job per source runs at a time
+    private final String source;
+
+    private final LoadEngine engine;
+    private final boolean fullReload;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    // Rows parsed so far, only incremented by the ingestion thread
+    private volatile long rowsParsed;
+
+    // Statistics of the load, set when it succeeded
+    private volatile LoadReport report;
+
+    // Why the job failed
+    private volatile String error;
+
+    private volatile boolean cancelRequested;
+
+    // The task running the job, used to cancel a job which has not started yet
+    private volatile Future<?> future;
+
+    // Released once the job has reached a final state
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    public IngestionJob(String id, String source, LoadEngine engine, boolean fullReload) {
+        this.id = id;
+        this.source = source;
+        this.engine = engine;
+        this.fullReload = fullReload;
+    }
+
+    /**
+     * Counts a parsed row, and stops the load if the job has been cancelled.
+     *
+     * @throws CancellationException If the job has been cancelled
+     */
+    void rowParsed() {
+        if (cancelRequested) {
+            throw new CancellationException("Ingestion job " + id + " was cancelled.");
+        }
+        rowsParsed++;
+    }
+
+    /**
+     * Marks the job as running, unless it has been cancelled while queued.
+     *
+     * @return False if the job must not run
+     */
+    synchronized boolean start() {
+        if (cancelRequested) {
+            return false;
+        }
+        startedAt = Instant.now();
+        state = State.RUNNING;
+        return true;
+    }
+
+    void succeed(LoadReport report) {
+        this.report = report;
+        finish(State.SUCCEEDED);
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finish(State.FAILED);
+    }
+
+    void cancelled() {
+        finish(State.CANCELLED);
+    }
+
+    // A job is finished once, by the ingestion thread or by the cancellation of a job which has not started
+    private synchronized void finish(State finalState) {
+        if (state.isFinal()) {
+            return;
+        }
+        finishedAt = Instant.now();
+        state = finalState;
+        finished.countDown();
+    }
+
+    /**
+     * Requests the cancellation of the job. A queued job is cancelled at once, a running job at its next parsed row.
+     *
+     * @return True if the job was queued and is now cancelled
+     */
+    synchronized boolean cancel() {
+        cancelRequested = true;
+        if (state == State.QUEUED) {
+            finish(State.CANCELLED);
+            return true;
+        }
+        return false;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    Future<?> getFuture() {
+        return future;
+    }
+
+    /**
+     * Waits until the job has reached a final state.
+     *
+     * @return This job
+     * @throws InterruptedException If the waiting thread is interrupted
+     */
+    public IngestionJob await() throws InterruptedException {
+        finished.await();
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public LoadEngine getEngine() {
+        return engine;
+    }
+
+    public boolean isFullReload() {
+        return fullReload;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    /**
+     * Rows parsed per second since the job started, until it finished.
+     *
+     * @return The rate, 0 if the job has not started
+     */
+    public double getRowsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return rowsParsed * 1000.0 / millis;
+    }
+
+    public Long getRowsInserted() {
+        return report != null ? report.getRowsInserted() : null;
+    }
+
+    public Long getDuplicatesSkipped() {
+        return report != null ? report.getDuplicatesSkipped() : null;
+    }
+
+    public Long getRowsUpdated() {
+        return report != null ? report.getRowsUpdated() : null;
+    }
+
+    public Long getRowsDeleted() {
+        return report != null ? report.getRowsDeleted() : null;
+    }
+
+    public Long getRowsRejected() {
+        return report != null ? report.getRowsRejected() : null;
+    }
+
+    /**
+     * The first invalid rows of an uploaded file, which were not loaded.
+     *
+     * @return The rejected rows, null until the job has succeeded
+     */
+    public List<RowReject> getRejects() {
+        return report != null ? report.getRejects() : null;
+    }
+
+    /**
+     * Whether an incremental load skipped the file because it has not changed since its last load.
+     *
+     * @return The flag, null until the job has succeeded
+     */
+    public Boolean getSourceUnchanged() {
+        return report != null ? report.isSourceUnchanged() : null;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadProgress;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.UploadFormat;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs data loads as background jobs.
+ *
+ * Jobs run on a dedicated pool of "swift.ingestion.threads" threads with a queue of "swift.ingestion.queue-capacity"
+ * jobs, so loads never occupy request threads and a burst of submissions cannot pile up without limit.
+ * Only one job per source is queued or running at a time: submitting the same source again is rejected
+ * until the job has finished. Jobs are cancelled cooperatively, between two parsed rows, and the load is rolled back.
+ * The last {@link #MAX_FINISHED_JOBS} finished jobs are kept for status queries.
+ */
+@Service
+public class IngestionJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionJobService.class);
+
+    // Number of finished jobs kept for status queries
+    static final int MAX_FINISHED_JOBS = 100;
+
+    private final SwiftTableManager swiftTableManager;
+    private final ThreadPoolExecutor executor;
+
+    // All known jobs by id, in order of submission
+    private final Map<String, IngestionJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    // The queued or running job of every source
+    private final Map<String, IngestionJob> activeJobsBySource = new ConcurrentHashMap<>();
+
+    public IngestionJobService(SwiftTableManager swiftTableManager,
+                               @Value("${swift.ingestion.threads:1}") int threads,
+                               @Value("${swift.ingestion.queue-capacity:10}") int queueCapacity) {
+        this.swiftTableManager = swiftTableManager;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("swift-ingestion-"));
+    }
+
+    /**
+     * Submits a load of an Excel file.
+     *
+     * @param filePath Path to the Excel file
+     * @param engine Engine used to write the rows
+     * @param fullReload If true, all existing records are replaced by the content of the file
+     * @return The queued job
+     * @throws LoadInProgressException If a job for the same file is queued or running
+     * @throws java.util.concurrent.RejectedExecutionException If the queue of jobs is full
+     */
+    public IngestionJob submit(String filePath, LoadEngine engine, boolean fullReload) {
+        String source = new File(filePath).getAbsoluteFile().toPath().normalize().toString();
+        return submit(source, engine, fullReload,
+                progress -> swiftTableManager.loadSwiftDataFromExcel(filePath, engine, fullReload, progress));
+    }
+
+    /**
+     * Submits a load of an uploaded CSV or .xlsx stream.
+     * The stream is read by the ingestion thread, it must stay open until the job has finished.
+     *
+     * @param name Name of the upload, e.g. the name of the uploaded file
+     * @param inputStream The uploaded content
+     * @param format The format of the content
+     * @param engine Engine used to write the rows, {@link LoadEngine#INCREMENTAL} is not supported
+     * @param fullReload If true, all existing records are replaced by the content of the upload
+     * @return The queued job
+     * @throws LoadInProgressException If a job for an upload of the same name is queued or running
+     * @throws java.util.concurrent.RejectedExecutionException If the queue of jobs is full
+     */
+    public IngestionJob submitUpload(String name, InputStream inputStream, UploadFormat format,
+                                     LoadEngine engine, boolean fullReload) {
+        return submit("upload:" + name, engine, fullReload, progress -> swiftTableManager.loadSwiftDataFromUpload(
+                name, inputStream, format, engine, fullReload, progress));
+    }
+
+    private IngestionJob submit(String source, LoadEngine engine, boolean fullReload,
+                                Function<LoadProgress, LoadReport> load) {
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), source, engine, fullReload);
+
+        IngestionJob activeJob = activeJobsBySource.putIfAbsent(source, job);
+        if (activeJob != null) {
+            throw new LoadInProgressException(activeJob);
+        }
+        try {
+            register(job);
+            job.setFuture(executor.submit(() -> run(job, load)));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            activeJobsBySource.remove(source, job);
+            throw e;
+        }
+        log.info("Ingestion job {} submitted for {}", job.getId(), source);
+        return job;
+    }
+
+    /**
+     * Finds a job.
+     *
+     * @param id Id of the job
+     * @return The job, or empty if it is unknown or was finished too long ago
+     */
+    public Optional<IngestionJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Lists the known jobs.
+     *
+     * @return The jobs, the most recently submitted first
+     */
+    public List<IngestionJob> getJobs() {
+        List<IngestionJob> result;
+        synchronized (jobs) {
+            result = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Whether the ingestion threads still run the submitted jobs.
+     *
+     * @return False once the service has been shut down
+     */
+    public boolean isRunning() {
+        return !executor.isShutdown();
+    }
+
+    /**
+     * Cancels a job. A queued job never starts, a running job stops at the next parsed row.
+     *
+     * @param id Id of the job
+     * @return The job, or empty if it is unknown
+     * @throws IllegalStateException If the job has already finished
+     */
+    public Optional<IngestionJob> cancel(String id) {
+        IngestionJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.getState().isFinal()) {
+            throw new IllegalStateException("Ingestion job " + id + " has already finished.");
+        }
+        // A job which has not started is finished here and removed from the queue
+        if (job.cancel()) {
+            executor.remove((Runnable) job.getFuture());
+            activeJobsBySource.remove(job.getSource(), job);
+        }
+        log.info("Ingestion job {} cancelled", id);
+        return Optional.of(job);
+    }
+
+    private void run(IngestionJob job, Function<LoadProgress, LoadReport> load) {
+        if (!job.start()) {
+            return;
+        }
+        Runnable finish;
+        Error error = null;
+        try {
+            LoadReport report = load.apply(job::rowParsed);
+            finish = () -> job.succeed(report);
+        } catch (CancellationException e) {
+            finish = job::cancelled;
+        } catch (RuntimeException e) {
+            finish = () -> job.fail(e.getMessage());
+        } catch (Error e) {
+            // E.g. an OutOfMemoryError: the job fails like any other load before the error is rethrown
+            error = e;
+            finish = () -> job.fail(e.toString());
+        } finally {
+            activeJobsBySource.remove(job.getSource(), job);
+        }
+        // The source is released first, so that a caller waiting for the job can submit it again at once
+        finish.run();
+        log.info("Ingestion job {} finished: {}", job.getId(), job.getState());
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // Adds a job and forgets the oldest finished jobs beyond MAX_FINISHED_JOBS
+    private void register(IngestionJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            long finished = jobs.values().stream().filter(known -> known.getState().isFinal()).count();
+            Iterator<IngestionJob> iterator = jobs.values().iterator();
+            while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+                if (iterator.next().getState().isFinal()) {
+                    iterator.remove();
+                    finished--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the ingestion threads. Running loads are cancelled and rolled back.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        getJobs().stream().filter(job -> !job.getState().isFinal()).forEach(IngestionJob::cancel);
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Thrown when a source is submitted while a job for it is queued or running.
+     */
+    public static class LoadInProgressException extends IllegalStateException {
+
+        private final transient IngestionJob activeJob;
+
+        public LoadInProgressException(IngestionJob activeJob) {
+            super("A load of " + activeJob.getSource() + " is already in progress: job " + activeJob.getId() + ".");
+            this.activeJob = activeJob;
+        }
+
+        public IngestionJob getActiveJob() {
+            return activeJob;
+        }
+    }
+}
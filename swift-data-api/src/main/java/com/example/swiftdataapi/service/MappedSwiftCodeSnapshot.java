@@ -0,0 +1,443 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot of the swift_codes table stored in a file and mapped read-only, see {@link SwiftCodeReadModel}.
+ *
+ * The file is written by {@link #write} and mapped by {@link #open}, which only verifies its header and checksum:
+ * every lookup reads the records it needs from the mapping, so opening the file takes milliseconds and
+ * the heap holds no copy of the table. Layout, integers big-endian:
+ * <pre>
+ * header              48 bytes: "SWSN", version, numbers of records, strings, countries and prefixes,
+ *                     creation time, length and CRC32C checksum of the rest of the file
+ * records             per record, in id order: SWIFT code (11 ASCII bytes, zero-padded), headquarter flag,
+ *                     ids of the country ISO2 code, country name, bank name and address in the string table
+ * code index          record numbers sorted by SWIFT code, records with the same code in id order
+ * countries           sorted by ISO2 code: the code (2 bytes and 2 zero bytes), first posting, number of postings
+ * country postings    record numbers of every country, in id order
+ * prefixes            sorted by institution prefix: the prefix (8 ASCII bytes, zero-padded), first posting,
+ *                     number of postings
+ * prefix postings     record numbers of every prefix, in id order
+ * string offsets      start of every string in the string data, followed by the end of the last one
+ * string data         every distinct string once, in UTF-8
+ * </pre>
+ * Lookups binary search the sorted sections and return the same records, in the same order, as a
+ * {@link SwiftCodeSnapshot} of the same table.
+ */
+public final class MappedSwiftCodeSnapshot implements SwiftCodeLookup {
+
+    static final byte[] MAGIC = {'S', 'W', 'S', 'N'};
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 48;
+    private static final int CODE_LENGTH = 11;
+    private static final int PREFIX_LENGTH = 8;
+    private static final int ISO2_LENGTH = 2;
+    private static final int RECORD_SIZE = CODE_LENGTH + 1 + 4 * Integer.BYTES;
+    // Country keys are padded to 4 bytes
+    private static final int COUNTRY_KEY_SIZE = 2 * ISO2_LENGTH;
+    private static final int COUNTRY_SIZE = COUNTRY_KEY_SIZE + 2 * Integer.BYTES;
+    private static final int PREFIX_SIZE = PREFIX_LENGTH + 2 * Integer.BYTES;
+
+    // String id of a null value
+    private static final int NO_STRING = -1;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Instant createdAt;
+
+    private final int recordCount;
+    private final int countryCount;
+    private final int prefixCount;
+
+    // Start of every section in the file
+    private final int records;
+    private final int codeIndex;
+    private final int countries;
+    private final int countryPostings;
+    private final int prefixes;
+    private final int prefixPostings;
+    private final int stringOffsets;
+    private final int stringData;
+
+    private MappedSwiftCodeSnapshot(Path path, ByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException(path + " is not a SWIFT code snapshot file.");
+            }
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException(path + " has version " + version + " instead of " + VERSION + ".");
+        }
+        recordCount = buffer.getInt(8);
+        int stringCount = buffer.getInt(12);
+        countryCount = buffer.getInt(16);
+        prefixCount = buffer.getInt(20);
+        createdAt = Instant.ofEpochMilli(buffer.getLong(24));
+        long bodyLength = buffer.getLong(32);
+        if (bodyLength != buffer.capacity() - HEADER_SIZE) {
+            throw new IOException(path + " is truncated.");
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(HEADER_SIZE, (int) bodyLength));
+        if ((int) checksum.getValue() != buffer.getInt(40)) {
+            throw new IOException(path + " is corrupted: its checksum does not match.");
+        }
+
+        long position = HEADER_SIZE;
+        records = section(position);
+        position += (long) recordCount * RECORD_SIZE;
+        codeIndex = section(position);
+        position += (long) recordCount * Integer.BYTES;
+        countries = section(position);
+        position += (long) countryCount * COUNTRY_SIZE;
+        countryPostings = section(position);
+        position += (long) recordCount * Integer.BYTES;
+        prefixes = section(position);
+        position += (long) prefixCount * PREFIX_SIZE;
+        prefixPostings = section(position);
+        position += (long) recordCount * Integer.BYTES;
+        stringOffsets = section(position);
+        position += ((long) stringCount + 1) * Integer.BYTES;
+        stringData = section(position);
+        if (stringData + (long) buffer.getInt(stringOffsets + stringCount * Integer.BYTES) != buffer.capacity()) {
+            throw new IOException(path + " has an invalid layout.");
+        }
+    }
+
+    // Checks that a section starts inside the file
+    private int section(long position) throws IOException {
+        if (position > buffer.capacity()) {
+            throw new IOException(path + " has an invalid layout.");
+        }
+        return (int) position;
+    }
+
+    /**
+     * Maps a snapshot file read-only and verifies it.
+     *
+     * @param path The snapshot file
+     * @return The snapshot answering from the file
+     * @throws IOException If the file cannot be read, has another version, is truncated or corrupted
+     */
+    public static MappedSwiftCodeSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is not a SWIFT code snapshot file.");
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedSwiftCodeSnapshot(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Writes a snapshot file of the given records.
+     * The file is written next to its final path and then moved over it, so a snapshot file is always complete
+     * and instances which have mapped the previous file keep reading it.
+     *
+     * @param entities The records of the table, in the order of their ids
+     * @param path The snapshot file to create or replace
+     * @return Size of the file in bytes
+     * @throws IllegalArgumentException If a SWIFT code or country ISO2 code is longer than in any valid record
+     */
+    public static long write(Collection<SwiftCodeEntity> entities, Path path) throws IOException {
+        List<SwiftCodeEntity> records = new ArrayList<>(entities);
+
+        // Interned strings and the string ids of every record
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] recordStrings = new int[records.size() * 4];
+        TreeMap<String, List<Integer>> countryRecords = new TreeMap<>();
+        TreeMap<String, List<Integer>> prefixRecords = new TreeMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            SwiftCodeEntity entity = records.get(i);
+            checkKey(entity.getSwiftCode(), CODE_LENGTH, "SWIFT code");
+            checkKey(entity.getCountryISO2(), ISO2_LENGTH, "country ISO2 code");
+            String[] values = {entity.getCountryISO2(), entity.getCountryName(), entity.getBankName(), entity.getAddress()};
+            for (int j = 0; j < values.length; j++) {
+                recordStrings[i * 4 + j] = values[j] == null ? NO_STRING : stringIds.computeIfAbsent(values[j], value -> {
+                    strings.add(value.getBytes(StandardCharsets.UTF_8));
+                    return strings.size() - 1;
+                });
+            }
+            countryRecords.computeIfAbsent(entity.getCountryISO2(), key -> new ArrayList<>()).add(i);
+            prefixRecords.computeIfAbsent(SwiftCodeEntity.bankPrefixOf(entity.getSwiftCode()), key -> new ArrayList<>()).add(i);
+        }
+        // The sort is stable: records with the same code stay in id order
+        int[] codeOrder = IntStream.range(0, records.size()).boxed()
+                .sorted(Comparator.comparing(i -> records.get(i).getSwiftCode()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                CRC32C checksum = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), checksum));
+
+                for (int i = 0; i < records.size(); i++) {
+                    SwiftCodeEntity entity = records.get(i);
+                    writeKey(out, entity.getSwiftCode(), CODE_LENGTH);
+                    out.writeByte(entity.getHeadquarter() ? 1 : 0);
+                    for (int j = 0; j < 4; j++) {
+                        out.writeInt(recordStrings[i * 4 + j]);
+                    }
+                }
+                for (int record : codeOrder) {
+                    out.writeInt(record);
+                }
+                writeIndex(out, countryRecords, COUNTRY_KEY_SIZE);
+                writeIndex(out, prefixRecords, PREFIX_LENGTH);
+                long stringOffset = 0;
+                for (byte[] string : strings) {
+                    out.writeInt((int) stringOffset);
+                    stringOffset += string.length;
+                }
+                if (stringOffset > Integer.MAX_VALUE) {
+                    throw new IOException("The strings of " + records.size() + " records do not fit in a snapshot file.");
+                }
+                out.writeInt((int) stringOffset);
+                for (byte[] string : strings) {
+                    out.write(string);
+                }
+                out.flush();
+
+                long bodyLength = channel.position() - HEADER_SIZE;
+                if (channel.position() > Integer.MAX_VALUE) {
+                    throw new IOException(records.size() + " records do not fit in a snapshot file.");
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                        .put(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(records.size())
+                        .putInt(strings.size())
+                        .putInt(countryRecords.size())
+                        .putInt(prefixRecords.size())
+                        .putLong(System.currentTimeMillis())
+                        .putLong(bodyLength)
+                        .putInt((int) checksum.getValue());
+                header.rewind();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(false);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return Files.size(path);
+    }
+
+    // Writes the keys of an index with the first posting and number of postings of each, followed by the postings
+    private static void writeIndex(DataOutputStream out, TreeMap<String, List<Integer>> index, int keySize) throws IOException {
+        int posting = 0;
+        for (Map.Entry<String, List<Integer>> entry : index.entrySet()) {
+            writeKey(out, entry.getKey(), keySize);
+            out.writeInt(posting);
+            out.writeInt(entry.getValue().size());
+            posting += entry.getValue().size();
+        }
+        for (List<Integer> postings : index.values()) {
+            for (int record : postings) {
+                out.writeInt(record);
+            }
+        }
+    }
+
+    // Keys are stored as fixed-length ASCII, zero-padded, so they are compared in place
+    private static void checkKey(String value, int length, String name) {
+        if (value == null || value.length() > length || !value.chars().allMatch(c -> c > 0 && c < 0x80)) {
+            throw new IllegalArgumentException("The " + name + " '" + value + "' cannot be stored in a snapshot file.");
+        }
+    }
+
+    private static void writeKey(DataOutputStream out, String key, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            out.writeByte(i < key.length() ? key.charAt(i) : 0);
+        }
+    }
+
+    /**
+     * Returns the file the snapshot is read from.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns when the snapshot file was written.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public Optional<BranchSwiftCodeDTO> findBySwiftCode(String swiftCode) {
+        if (swiftCode == null) {
+            return Optional.empty();
+        }
+        int index = lowerBound(recordCount, i -> compareKey(recordAt(codeIndex, i), CODE_LENGTH, swiftCode));
+        if (index == recordCount || compareKey(recordAt(codeIndex, index), CODE_LENGTH, swiftCode) != 0) {
+            return Optional.empty();
+        }
+        return Optional.of(record(buffer.getInt(codeIndex + index * Integer.BYTES)));
+    }
+
+    @Override
+    public List<BranchSwiftCodeDTO> findAllByCountryISO2(String countryISO2) {
+        int entry = findEntry(countries, countryCount, COUNTRY_SIZE, ISO2_LENGTH, countryISO2);
+        if (entry < 0) {
+            return List.of();
+        }
+        List<BranchSwiftCodeDTO> result = new ArrayList<>(postingCount(entry, COUNTRY_KEY_SIZE));
+        forEachPosting(countryPostings, entry, COUNTRY_KEY_SIZE, record -> result.add(record(record)));
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public List<BranchSwiftCodeDTO> findBranches(String headquarterSwiftCode) {
+        int entry = findEntry(prefixes, prefixCount, PREFIX_SIZE, PREFIX_LENGTH, SwiftCodeEntity.bankPrefixOf(headquarterSwiftCode));
+        if (entry < 0) {
+            return new ArrayList<>();
+        }
+        List<BranchSwiftCodeDTO> branches = new ArrayList<>(postingCount(entry, PREFIX_LENGTH));
+        forEachPosting(prefixPostings, entry, PREFIX_LENGTH, record -> {
+            if (compareKey(records + record * RECORD_SIZE, CODE_LENGTH, headquarterSwiftCode) != 0) {
+                branches.add(record(record));
+            }
+        });
+        return branches;
+    }
+
+    @Override
+    public int size() {
+        return recordCount;
+    }
+
+    // Offset of the entry of an index section having the key, or -1 if there is none
+    private int findEntry(int section, int count, int entrySize, int keyLength, String key) {
+        if (key == null) {
+            return -1;
+        }
+        int index = lowerBound(count, i -> compareKey(section + i * entrySize, keyLength, key));
+        if (index == count || compareKey(section + index * entrySize, keyLength, key) != 0) {
+            return -1;
+        }
+        return section + index * entrySize;
+    }
+
+    private int postingCount(int entry, int keySize) {
+        return buffer.getInt(entry + keySize + Integer.BYTES);
+    }
+
+    // Passes the record numbers of an index entry to the action
+    private void forEachPosting(int postings, int entry, int keySize, IntConsumer action) {
+        int first = buffer.getInt(entry + keySize);
+        int count = postingCount(entry, keySize);
+        for (int i = first; i < first + count; i++) {
+            action.accept(buffer.getInt(postings + i * Integer.BYTES));
+        }
+    }
+
+    // Offset of the record at the given position of a list of record numbers
+    private int recordAt(int list, int index) {
+        return records + buffer.getInt(list + index * Integer.BYTES) * RECORD_SIZE;
+    }
+
+    // Number of entries before the first one for which compare is not negative
+    private static int lowerBound(int count, IntUnaryOperator compare) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare.applyAsInt(middle) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Compares a stored key with a string, in the order of String.compareTo
+    private int compareKey(int offset, int length, String key) {
+        for (int i = 0; i < length; i++) {
+            int stored = buffer.get(offset + i) & 0xFF;
+            int wanted = i < key.length() ? key.charAt(i) : 0;
+            if (stored != wanted) {
+                return stored - wanted;
+            }
+        }
+        return key.length() > length ? -1 : 0;
+    }
+
+    private BranchSwiftCodeDTO record(int record) {
+        int offset = records + record * RECORD_SIZE;
+        int codeLength = 0;
+        while (codeLength < CODE_LENGTH && buffer.get(offset + codeLength) != 0) {
+            codeLength++;
+        }
+        byte[] code = new byte[codeLength];
+        buffer.get(offset, code);
+        int strings = offset + CODE_LENGTH + 1;
+        return new BranchSwiftCodeDTO(
+                string(buffer.getInt(strings + 3 * Integer.BYTES)),
+                string(buffer.getInt(strings + 2 * Integer.BYTES)),
+                string(buffer.getInt(strings)),
+                string(buffer.getInt(strings + Integer.BYTES)),
+                buffer.get(offset + CODE_LENGTH) != 0,
+                new String(code, StandardCharsets.US_ASCII)
+        );
+    }
+
+    private String string(int id) {
+        if (id == NO_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsets + id * Integer.BYTES);
+        int end = buffer.getInt(stringOffsets + (id + 1) * Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringData + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.config.CacheConfig;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the caches of the read endpoints consistent with the database.
+ *
+ * Adding or deleting a record evicts only the entries which may contain it: its own details,
+ * the details of its headquarter (which list the branches) and the listing of its country.
+ * Loads and clearing the table flush all caches, and so does the read model when it stops serving its
+ * snapshot file, which may be older than the table.
+ * The same keys are evicted from the caches of objects and from the caches of serialized responses.
+ */
+@Component
+public class SwiftCodeCacheInvalidator {
+
+    private static final List<String> DETAILS_CACHES = List.of(
+            CacheConfig.SWIFT_CODE_DETAILS_CACHE, CacheConfig.SWIFT_CODE_DETAILS_JSON_CACHE);
+
+    private static final List<String> COUNTRY_CACHES = List.of(
+            CacheConfig.COUNTRY_SWIFT_CODES_CACHE, CacheConfig.COUNTRY_SWIFT_CODES_JSON_CACHE);
+
+    private final CacheManager cacheManager;
+
+    public SwiftCodeCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evicts the cache entries affected by a change of the swift_codes table.
+     *
+     * @param event The change published by {@link SwiftTableManager}
+     */
+    @EventListener
+    public void onSwiftCodesChanged(SwiftCodesChangedEvent event) {
+        if (event.getType() == SwiftCodesChangedEvent.Type.RELOADED) {
+            clearAll();
+            return;
+        }
+
+        SwiftCodeEntity entity = event.getEntity();
+        for (String name : DETAILS_CACHES) {
+            Cache detailsCache = cacheManager.getCache(name);
+            evict(detailsCache, entity.getSwiftCode());
+            evict(detailsCache, SwiftCodeEntity.bankPrefixOf(entity.getSwiftCode()) + "XXX");
+        }
+        for (String name : COUNTRY_CACHES) {
+            evict(cacheManager.getCache(name), entity.getCountryISO2().toUpperCase());
+        }
+    }
+
+    /**
+     * Flushes all caches once the responses are no longer read from the snapshot file.
+     *
+     * @param event The replacement published by {@link SwiftCodeReadModel}
+     */
+    @EventListener
+    public void onSnapshotFileReplaced(SwiftCodeSnapshotFileReplacedEvent event) {
+        clearAll();
+    }
+
+    private void clearAll() {
+        DETAILS_CACHES.forEach(name -> clear(cacheManager.getCache(name)));
+        COUNTRY_CACHES.forEach(name -> clear(cacheManager.getCache(name)));
+    }
+
+    private static void evict(Cache cache, String key) {
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static void clear(Cache cache) {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
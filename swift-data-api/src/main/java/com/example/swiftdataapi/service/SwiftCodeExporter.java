@@ -0,0 +1,94 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole swift_codes table as NDJSON: one JSON object per line, with the fields of
+ * the SWIFT code details of a branch.
+ *
+ * Records are read through a database cursor, "swift.export.fetch-size" rows at a time, and every
+ * entity is detached as soon as it is written. The heap used by an export therefore does not depend
+ * on the size of the table, and the first records are sent before the last ones are read.
+ */
+@Component
+public class SwiftCodeExporter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter writer;
+    private final int fetchSize;
+
+    public SwiftCodeExporter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, @Value("${swift.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // PostgreSQL only uses a cursor inside a transaction, read-only as nothing is written
+        this.transactionTemplate.setReadOnly(true);
+        // The output is flushed by the servlet container when its buffer is full, not after every record
+        this.writer = objectMapper.writerFor(BranchSwiftCodeDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes all records, ordered by id, to the given stream. The stream is not closed.
+     *
+     * @param out The stream to write to
+     * @return Number of records written
+     */
+    public long export(OutputStream out) throws IOException {
+        try {
+            Long count = transactionTemplate.execute(status -> {
+                try (JsonGenerator generator = writer.createGenerator(out)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                     Stream<SwiftCodeEntity> entities = entityManager
+                             .createQuery("select s from SwiftCodeEntity s order by s.id", SwiftCodeEntity.class)
+                             .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                             .setHint(HibernateHints.HINT_READ_ONLY, true)
+                             .getResultStream()) {
+                    long written = 0;
+                    for (SwiftCodeEntity entity : (Iterable<SwiftCodeEntity>) entities::iterator) {
+                        writer.writeValue(generator, toRecord(entity));
+                        generator.writeRaw('\n');
+                        // Keeps the persistence context empty however many rows are read
+                        entityManager.detach(entity);
+                        written++;
+                    }
+                    return written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return count != null ? count : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static BranchSwiftCodeDTO toRecord(SwiftCodeEntity entity) {
+        return new BranchSwiftCodeDTO(
+                entity.getAddress(),
+                entity.getBankName(),
+                entity.getCountryISO2(),
+                entity.getCountryName(),
+                entity.getHeadquarter(),
+                entity.getSwiftCode()
+        );
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.config.CacheConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the read endpoint responses, already serialized to JSON.
+ *
+ * A cached response is served without mapping entities to DTOs and without running Jackson:
+ * the stored bytes are written to the response as they are. Responses of at least
+ * "swift.json-cache.gzip-min-bytes" bytes also keep a gzip-compressed copy, which is sent
+ * to clients accepting gzip. Entries use the same keys as the caches of {@link SwiftTableManager}
+ * and are evicted together with them by {@link SwiftCodeCacheInvalidator}.
+ */
+@Component
+public class SwiftCodeJsonCache {
+
+    private final SwiftTableManager swiftTableManager;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    public SwiftCodeJsonCache(SwiftTableManager swiftTableManager, ObjectMapper objectMapper, CacheManager cacheManager,
+                              @Value("${swift.json-cache.gzip-enabled:true}") boolean gzipEnabled,
+                              @Value("${swift.json-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.swiftTableManager = swiftTableManager;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Returns the serialized details of a SWIFT code.
+     *
+     * @param swiftCode The SWIFT code to fetch details for
+     * @return The serialized response
+     * @throws IllegalArgumentException if the SWIFT code is not found
+     */
+    public SerializedResponse getSwiftCodeDetails(String swiftCode) {
+        return get(CacheConfig.SWIFT_CODE_DETAILS_JSON_CACHE, swiftCode,
+                () -> swiftTableManager.getSwiftCodeDetails(swiftCode));
+    }
+
+    /**
+     * Returns the serialized list of SWIFT codes of a country.
+     *
+     * @param countryISO2code The 2-letter ISO country code
+     * @return The serialized response
+     * @throws IllegalArgumentException if the country has no SWIFT codes
+     */
+    public SerializedResponse getSwiftCodesForCountry(String countryISO2code) {
+        return get(CacheConfig.COUNTRY_SWIFT_CODES_JSON_CACHE, countryISO2code.toUpperCase(),
+                () -> swiftTableManager.getSwiftCodesForCountry(countryISO2code));
+    }
+
+    private SerializedResponse get(String cacheName, String key, Supplier<Object> response) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return serialize(response.get());
+        }
+        try {
+            // The value is computed under the entry lock, so an eviction cannot be overtaken by a stale value
+            return cache.get(key, () -> serialize(response.get()));
+        } catch (Cache.ValueRetrievalException e) {
+            // Not found errors are not cached and reach the caller unchanged
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SerializedResponse serialize(Object response) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+            return new SerializedResponse(json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize response: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A response serialized to JSON, with an optional gzip-compressed copy.
+     * The arrays are shared by all requests and must not be modified.
+     */
+    public static final class SerializedResponse {
+
+        private final byte[] json;
+        private final byte[] gzip;
+
+        public SerializedResponse(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * Returns the gzip-compressed JSON, or null if the response was too small to be compressed.
+         */
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
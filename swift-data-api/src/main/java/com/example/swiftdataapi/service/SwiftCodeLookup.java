@@ -0,0 +1,44 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only view of the swift_codes table used by the read endpoints of the read model.
+ *
+ * Implemented by the in-memory {@link SwiftCodeSnapshot} and by {@link MappedSwiftCodeSnapshot},
+ * which answers from a snapshot file mapped at startup. Records are returned in the order of their ids.
+ */
+public interface SwiftCodeLookup {
+
+    /**
+     * Finds a record by its SWIFT code.
+     *
+     * @param swiftCode The SWIFT code to search for
+     * @return The record, or empty if not found
+     */
+    Optional<BranchSwiftCodeDTO> findBySwiftCode(String swiftCode);
+
+    /**
+     * Finds all records of a country.
+     *
+     * @param countryISO2 The 2-letter ISO country code
+     * @return The records of the country, empty if there are none
+     */
+    List<BranchSwiftCodeDTO> findAllByCountryISO2(String countryISO2);
+
+    /**
+     * Finds the branches of a headquarter: all records sharing its institution prefix, except itself.
+     *
+     * @param headquarterSwiftCode The SWIFT code of the headquarter
+     * @return The branches of the headquarter
+     */
+    List<BranchSwiftCodeDTO> findBranches(String headquarterSwiftCode);
+
+    /**
+     * Returns the number of records.
+     */
+    int size();
+}
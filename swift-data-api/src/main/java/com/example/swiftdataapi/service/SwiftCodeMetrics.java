@@ -0,0 +1,132 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer meters of the SWIFT code data, exported with the other application metrics through Actuator.
+ *
+ * Data loads are counted per engine: "swift.loader.rows.parsed", "swift.loader.rows.inserted",
+ * "swift.loader.rows.updated", "swift.loader.rows.deleted", "swift.loader.rows.duplicates" and
+ * "swift.loader.rows.rejected" (invalid rows of uploaded files), with the time of
+ * every load in "swift.loader.duration" and the rows parsed per second by the last load in
+ * "swift.loader.rows.per.second". Incremental loads of an unchanged file are timed with the outcome "unchanged". The gauges "swift.codes.records" and
+ * "swift.read-model.records" give the size of the table and of the read model snapshot.
+ *
+ * The table is counted at startup and after every load, in between the count follows the added and deleted
+ * records, so that scraping the metrics never queries the database.
+ * Latencies of the endpoints ("http.server.requests") and of the repository methods
+ * ("spring.data.repository.invocations") are recorded by Spring Boot.
+ */
+@Component
+public class SwiftCodeMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final SwiftCodeRepository swiftCodeRepository;
+
+    // Number of records of the swift_codes table
+    private final AtomicLong records = new AtomicLong();
+
+    // Rows parsed per second by the last successful load
+    private volatile double lastLoadRowsPerSecond;
+
+    public SwiftCodeMetrics(MeterRegistry meterRegistry, SwiftCodeRepository swiftCodeRepository,
+                            SwiftCodeReadModel swiftCodeReadModel) {
+        this.meterRegistry = meterRegistry;
+        this.swiftCodeRepository = swiftCodeRepository;
+
+        Gauge.builder("swift.codes.records", records, AtomicLong::get)
+                .description("Number of records of the swift_codes table")
+                .register(meterRegistry);
+        Gauge.builder("swift.loader.rows.per.second", this, metrics -> metrics.lastLoadRowsPerSecond)
+                .description("Rows parsed per second by the last data load")
+                .register(meterRegistry);
+        Gauge.builder("swift.read-model.records", swiftCodeReadModel, readModel ->
+                        readModel.currentSnapshot() != null ? readModel.currentSnapshot().size() : 0)
+                .description("Number of records of the read model snapshot, 0 if the read model is disabled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a finished data load.
+     *
+     * @param engine The engine which wrote the rows, COPY, JPA or INCREMENTAL
+     * @param report Statistics of the load
+     * @param nanos Duration of the load
+     */
+    public void recordLoad(LoadEngine engine, LoadReport report, long nanos) {
+        counter("swift.loader.rows.parsed", "Rows read from the data files", engine).increment(report.getRowsChecked());
+        counter("swift.loader.rows.inserted", "Rows inserted into the swift_codes table", engine).increment(report.getRowsInserted());
+        counter("swift.loader.rows.updated", "Records updated by incremental loads", engine).increment(report.getRowsUpdated());
+        counter("swift.loader.rows.deleted", "Records deleted by incremental loads", engine).increment(report.getRowsDeleted());
+        counter("swift.loader.rows.duplicates", "Rows skipped because the record already exists", engine)
+                .increment(report.getDuplicatesSkipped());
+        counter("swift.loader.rows.rejected", "Invalid rows of uploaded files which were not loaded", engine)
+                .increment(report.getRowsRejected());
+        if (report.isSourceUnchanged()) {
+            // Nothing was parsed, the speed of the last real load is kept
+            loadTimer(engine, "unchanged").record(nanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        loadTimer(engine, "success").record(nanos, TimeUnit.NANOSECONDS);
+        lastLoadRowsPerSecond = nanos > 0 ? report.getRowsChecked() * 1e9 / nanos : 0;
+    }
+
+    /**
+     * Records a data load which failed, and so changed nothing.
+     *
+     * @param engine The engine which wrote the rows, COPY, JPA or INCREMENTAL
+     * @param nanos Time until the load failed
+     */
+    public void recordFailedLoad(LoadEngine engine, long nanos) {
+        loadTimer(engine, "failure").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts the records once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        records.set(swiftCodeRepository.count());
+    }
+
+    /**
+     * Follows a change of the swift_codes table.
+     *
+     * @param event The change published by {@link SwiftTableManager}
+     */
+    @EventListener
+    public void onSwiftCodesChanged(SwiftCodesChangedEvent event) {
+        switch (event.getType()) {
+            case ADDED -> records.incrementAndGet();
+            case DELETED -> records.decrementAndGet();
+            case RELOADED -> records.set(swiftCodeRepository.count());
+        }
+    }
+
+    private Counter counter(String name, String description, LoadEngine engine) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("engine", engine.name())
+                .register(meterRegistry);
+    }
+
+    private Timer loadTimer(LoadEngine engine, String outcome) {
+        return Timer.builder("swift.loader.duration")
+                .description("Duration of the data loads")
+                .tag("engine", engine.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional in-memory read model serving the read endpoints from a {@link SwiftCodeSnapshot}.
+ *
+ * When enabled (property "swift.read-model.enabled"), the full table is loaded into an immutable snapshot
+ * at startup. After every change published by {@link SwiftTableManager} a new snapshot is created:
+ * single additions and deletions patch the current snapshot, loads rebuild it from the database.
+ * The current snapshot is swapped atomically, so readers never block and never see a half-applied write.
+ * Until the first snapshot is built, {@link #currentSnapshot()} returns null and reads go to the database.
+ *
+ * With a snapshot file (property "swift.read-model.snapshot-file"), every rebuild also writes the table to
+ * the file, see {@link MappedSwiftCodeSnapshot}. At the next start the file is mapped before the application
+ * starts serving, and reads are answered from it while the snapshot is rebuilt from the database in the background.
+ * The file is only as recent as the last rebuild: additions and deletions made since are served once the
+ * rebuild has caught up. A change made while the file is served rebuilds the snapshot from the database.
+ * Once the file is replaced, a {@link SwiftCodeSnapshotFileReplacedEvent} flushes the responses cached from it.
+ */
+@Component
+public class SwiftCodeReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(SwiftCodeReadModel.class);
+
+    private final SwiftCodeRepository swiftCodeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    // File written after every rebuild and mapped at startup, null if there is none
+    private final Path snapshotFile;
+
+    // Serializes writers, readers only read the volatile reference
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile SwiftCodeLookup snapshot;
+
+    public SwiftCodeReadModel(SwiftCodeRepository swiftCodeRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${swift.read-model.enabled:false}") boolean enabled,
+                              @Value("${swift.read-model.snapshot-file:}") String snapshotFile) {
+        this.swiftCodeRepository = swiftCodeRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        if (enabled && this.snapshotFile != null) {
+            snapshot = openSnapshotFile(this.snapshotFile);
+        }
+    }
+
+    // Maps the snapshot file if it exists, a file which cannot be used is ignored
+    private static SwiftCodeLookup openSnapshotFile(Path file) {
+        if (!Files.exists(file)) {
+            log.info("No SWIFT code snapshot file at {}, the read model is built from the database.", file);
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            MappedSwiftCodeSnapshot mapped = MappedSwiftCodeSnapshot.open(file);
+            log.info("SWIFT code read model mapped from {} with {} records written at {} in {} ms.", file,
+                    mapped.size(), mapped.getCreatedAt(), (System.nanoTime() - start) / 1_000_000);
+            return mapped;
+        } catch (IOException e) {
+            log.warn("Ignoring the SWIFT code snapshot file: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the snapshot to serve reads from.
+     *
+     * @return The current snapshot, the mapped snapshot file until the first rebuild,
+     * or null if the read model is disabled or not built yet
+     */
+    public SwiftCodeLookup currentSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot from the database.
+     * If the snapshot file was served until then, a {@link SwiftCodeSnapshotFileReplacedEvent} is published.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        SwiftCodeLookup replaced;
+        SwiftCodeLookup rebuilt;
+        writeLock.lock();
+        try {
+            List<SwiftCodeEntity> entities = swiftCodeRepository.findAll(Sort.by("id"));
+            replaced = snapshot;
+            rebuilt = SwiftCodeSnapshot.of(entities);
+            snapshot = rebuilt;
+            log.info("SWIFT code read model rebuilt with {} records.", rebuilt.size());
+            if (snapshotFile != null) {
+                writeSnapshotFile(entities);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        // Published once the database snapshot is served, so that no stale response is cached again
+        if (replaced instanceof MappedSwiftCodeSnapshot) {
+            eventPublisher.publishEvent(new SwiftCodeSnapshotFileReplacedEvent(rebuilt.size()));
+        }
+    }
+
+    // A snapshot file which cannot be written only costs the next start its warm snapshot
+    private void writeSnapshotFile(List<SwiftCodeEntity> entities) {
+        long start = System.nanoTime();
+        try {
+            long size = MappedSwiftCodeSnapshot.write(entities, snapshotFile);
+            log.info("SWIFT code snapshot file {} written ({} bytes) in {} ms.", snapshotFile, size,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not write the SWIFT code snapshot file {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the first snapshot once the application has started, unless a data load already did.
+     * If the snapshot file was mapped, the application keeps serving it while the snapshot is rebuilt in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        SwiftCodeLookup current = snapshot;
+        if (current == null) {
+            rebuild();
+        } else if (current instanceof MappedSwiftCodeSnapshot) {
+            Thread thread = new Thread(this::catchUp, "swift-read-model-catch-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    // Replaces the mapped snapshot file with a snapshot of the database, unless a load already did
+    private void catchUp() {
+        try {
+            if (snapshot instanceof MappedSwiftCodeSnapshot) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild the SWIFT code read model, reads are served from the snapshot file: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a change of the swift_codes table to the snapshot.
+     *
+     * @param event The change published by {@link SwiftTableManager}
+     */
+    @EventListener
+    public void onSwiftCodesChanged(SwiftCodesChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getType() == SwiftCodesChangedEvent.Type.RELOADED) {
+            rebuild();
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            // Without a snapshot there is nothing to patch, the first build will include the change
+            if (snapshot instanceof SwiftCodeSnapshot current) {
+                snapshot = event.getType() == SwiftCodesChangedEvent.Type.ADDED
+                        ? current.withAdded(event.getEntity())
+                        : current.withRemoved(event.getEntity());
+            } else if (snapshot != null) {
+                // The mapped snapshot file cannot be patched
+                rebuild();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory copy of the swift_codes table, indexed for the read endpoints.
+ *
+ * Records are indexed by SWIFT code, by country ISO2 code and by institution prefix (the first
+ * 8 characters of the code, shared by a headquarter and its branches). A snapshot is never modified:
+ * {@link #withAdded} and {@link #withRemoved} return a new snapshot, copying only the maps and lists
+ * affected by the change, so readers holding a snapshot always see a consistent state.
+ */
+public final class SwiftCodeSnapshot implements SwiftCodeLookup {
+
+    private static final SwiftCodeSnapshot EMPTY = new SwiftCodeSnapshot(new HashMap<>(), new HashMap<>(), new HashMap<>(), 0);
+
+    // SWIFT code -> record
+    private final Map<String, BranchSwiftCodeDTO> byCode;
+
+    // Country ISO2 code -> records of the country
+    private final Map<String, List<BranchSwiftCodeDTO>> byCountry;
+
+    // Institution prefix -> records sharing the prefix (headquarter and branches)
+    private final Map<String, List<BranchSwiftCodeDTO>> byPrefix;
+
+    // Number of records in the snapshot
+    private final int size;
+
+    private SwiftCodeSnapshot(Map<String, BranchSwiftCodeDTO> byCode,
+                              Map<String, List<BranchSwiftCodeDTO>> byCountry,
+                              Map<String, List<BranchSwiftCodeDTO>> byPrefix,
+                              int size) {
+        this.byCode = byCode;
+        this.byCountry = byCountry;
+        this.byPrefix = byPrefix;
+        this.size = size;
+    }
+
+    /**
+     * Returns a snapshot without any records.
+     */
+    public static SwiftCodeSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot containing the given entities.
+     *
+     * @param entities The records of the table, in the order in which they should be listed
+     * @return The new snapshot
+     */
+    public static SwiftCodeSnapshot of(Collection<SwiftCodeEntity> entities) {
+        Map<String, BranchSwiftCodeDTO> byCode = new HashMap<>();
+        Map<String, List<BranchSwiftCodeDTO>> byCountry = new HashMap<>();
+        Map<String, List<BranchSwiftCodeDTO>> byPrefix = new HashMap<>();
+
+        for (SwiftCodeEntity entity : entities) {
+            BranchSwiftCodeDTO record = toRecord(entity);
+            byCode.putIfAbsent(record.getSwiftCode(), record);
+            byCountry.computeIfAbsent(record.getCountryISO2(), key -> new ArrayList<>()).add(record);
+            byPrefix.computeIfAbsent(SwiftCodeEntity.bankPrefixOf(record.getSwiftCode()), key -> new ArrayList<>()).add(record);
+        }
+        byCountry.replaceAll((key, records) -> Collections.unmodifiableList(records));
+        byPrefix.replaceAll((key, records) -> Collections.unmodifiableList(records));
+
+        return new SwiftCodeSnapshot(byCode, byCountry, byPrefix, entities.size());
+    }
+
+    /**
+     * Finds a record by its SWIFT code.
+     *
+     * @param swiftCode The SWIFT code to search for
+     * @return The record, or empty if not found
+     */
+    @Override
+    public Optional<BranchSwiftCodeDTO> findBySwiftCode(String swiftCode) {
+        return Optional.ofNullable(byCode.get(swiftCode));
+    }
+
+    /**
+     * Finds all records of a country.
+     *
+     * @param countryISO2 The 2-letter ISO country code
+     * @return The records of the country, empty if there are none
+     */
+    @Override
+    public List<BranchSwiftCodeDTO> findAllByCountryISO2(String countryISO2) {
+        return byCountry.getOrDefault(countryISO2, List.of());
+    }
+
+    /**
+     * Finds the branches of a headquarter: all records sharing its institution prefix, except itself.
+     *
+     * @param headquarterSwiftCode The SWIFT code of the headquarter
+     * @return The branches of the headquarter
+     */
+    @Override
+    public List<BranchSwiftCodeDTO> findBranches(String headquarterSwiftCode) {
+        List<BranchSwiftCodeDTO> records = byPrefix.getOrDefault(SwiftCodeEntity.bankPrefixOf(headquarterSwiftCode), List.of());
+        List<BranchSwiftCodeDTO> branches = new ArrayList<>(records.size());
+        for (BranchSwiftCodeDTO record : records) {
+            if (!record.getSwiftCode().equals(headquarterSwiftCode)) {
+                branches.add(record);
+            }
+        }
+        return branches;
+    }
+
+    /**
+     * Returns the number of records in the snapshot.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new snapshot containing the given entity in addition to the records of this one.
+     * If a record with the same SWIFT code, bank name and country is already present, it is replaced.
+     *
+     * @param entity The added entity
+     * @return The new snapshot
+     */
+    public SwiftCodeSnapshot withAdded(SwiftCodeEntity entity) {
+        SwiftCodeSnapshot base = withRemoved(entity);
+        BranchSwiftCodeDTO record = toRecord(entity);
+
+        Map<String, BranchSwiftCodeDTO> byCode = new HashMap<>(base.byCode);
+        byCode.putIfAbsent(record.getSwiftCode(), record);
+
+        return new SwiftCodeSnapshot(
+                byCode,
+                withListChanged(base.byCountry, record.getCountryISO2(), records -> append(records, record)),
+                withListChanged(base.byPrefix, SwiftCodeEntity.bankPrefixOf(record.getSwiftCode()), records -> append(records, record)),
+                base.size + 1);
+    }
+
+    /**
+     * Returns a new snapshot without the record having the SWIFT code, bank name and country of the given entity.
+     * Returns this snapshot if there is no such record.
+     *
+     * @param entity The deleted entity
+     * @return The new snapshot
+     */
+    public SwiftCodeSnapshot withRemoved(SwiftCodeEntity entity) {
+        BranchSwiftCodeDTO removed = findAllByCountryISO2(entity.getCountryISO2()).stream()
+                .filter(record -> hasSameKey(record, entity))
+                .findFirst()
+                .orElse(null);
+        if (removed == null) {
+            return this;
+        }
+
+        String prefix = SwiftCodeEntity.bankPrefixOf(removed.getSwiftCode());
+        Map<String, List<BranchSwiftCodeDTO>> byPrefix = withListChanged(this.byPrefix, prefix, records -> without(records, removed));
+
+        Map<String, BranchSwiftCodeDTO> byCode = this.byCode;
+        if (byCode.get(removed.getSwiftCode()) == removed) {
+            byCode = new HashMap<>(byCode);
+            byCode.remove(removed.getSwiftCode());
+            // Another record may use the same SWIFT code with a different bank name or country
+            for (BranchSwiftCodeDTO record : byPrefix.getOrDefault(prefix, List.of())) {
+                if (record.getSwiftCode().equals(removed.getSwiftCode())) {
+                    byCode.put(record.getSwiftCode(), record);
+                    break;
+                }
+            }
+        }
+
+        return new SwiftCodeSnapshot(
+                byCode,
+                withListChanged(this.byCountry, removed.getCountryISO2(), records -> without(records, removed)),
+                byPrefix,
+                size - 1);
+    }
+
+    // Copies the map and replaces the list stored under the key, removing the key when the new list is empty
+    private static Map<String, List<BranchSwiftCodeDTO>> withListChanged(
+            Map<String, List<BranchSwiftCodeDTO>> map, String key,
+            Function<List<BranchSwiftCodeDTO>, List<BranchSwiftCodeDTO>> change) {
+        Map<String, List<BranchSwiftCodeDTO>> copy = new HashMap<>(map);
+        List<BranchSwiftCodeDTO> records = change.apply(map.getOrDefault(key, List.of()));
+        if (records.isEmpty()) {
+            copy.remove(key);
+        } else {
+            copy.put(key, records);
+        }
+        return copy;
+    }
+
+    private static List<BranchSwiftCodeDTO> append(List<BranchSwiftCodeDTO> records, BranchSwiftCodeDTO record) {
+        List<BranchSwiftCodeDTO> copy = new ArrayList<>(records.size() + 1);
+        copy.addAll(records);
+        copy.add(record);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static List<BranchSwiftCodeDTO> without(List<BranchSwiftCodeDTO> records, BranchSwiftCodeDTO removed) {
+        List<BranchSwiftCodeDTO> copy = new ArrayList<>(records);
+        copy.remove(removed);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private static boolean hasSameKey(BranchSwiftCodeDTO record, SwiftCodeEntity entity) {
+        return record.getSwiftCode().equals(entity.getSwiftCode()) &&
+                Objects.equals(record.getBankName(), entity.getBankName()) &&
+                Objects.equals(record.getCountryISO2(), entity.getCountryISO2());
+    }
+
+    private static BranchSwiftCodeDTO toRecord(SwiftCodeEntity entity) {
+        return new BranchSwiftCodeDTO(
+                entity.getAddress(),
+                entity.getBankName(),
+                entity.getCountryISO2(),
+                entity.getCountryName(),
+                entity.getHeadquarter(),
+                entity.getSwiftCode()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.swiftdataapi.service;
+
+/**
+ * Event published by {@link SwiftCodeReadModel} when the snapshot file it served is replaced by a snapshot
+ * of the database. The file may be older than the table, so responses cached while it was served may be stale.
+ * The table itself has not changed, the read model does not rebuild again on this event.
+ */
+public class SwiftCodeSnapshotFileReplacedEvent {
+
+    // Number of records of the snapshot replacing the file
+    private final int size;
+
+    public SwiftCodeSnapshotFileReplacedEvent(int size) {
+        this.size = size;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "SwiftCodeSnapshotFileReplacedEvent{" +
+                "size=" + size +
+                '}';
+    }
+}
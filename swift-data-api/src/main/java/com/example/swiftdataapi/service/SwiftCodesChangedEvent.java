@@ -0,0 +1,60 @@
+package com.example.swiftdataapi.service;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+
+/**
+ * Event published by {@link SwiftTableManager} after the content of the swift_codes table has changed.
+ * Components keeping derived data (read model, caches) listen to it to stay consistent with the database.
+ */
+public class SwiftCodesChangedEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        // A single record was added
+        ADDED,
+        // A single record was deleted
+        DELETED,
+        // Any number of records may have changed (data load, table cleared)
+        RELOADED
+    }
+
+    private final Type type;
+
+    // The added or deleted record, null for RELOADED events
+    private final SwiftCodeEntity entity;
+
+    private SwiftCodesChangedEvent(Type type, SwiftCodeEntity entity) {
+        this.type = type;
+        this.entity = entity;
+    }
+
+    public static SwiftCodesChangedEvent added(SwiftCodeEntity entity) {
+        return new SwiftCodesChangedEvent(Type.ADDED, entity);
+    }
+
+    public static SwiftCodesChangedEvent deleted(SwiftCodeEntity entity) {
+        return new SwiftCodesChangedEvent(Type.DELETED, entity);
+    }
+
+    public static SwiftCodesChangedEvent reloaded() {
+        return new SwiftCodesChangedEvent(Type.RELOADED, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public SwiftCodeEntity getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return "SwiftCodesChangedEvent{" +
+                "type=" + type +
+                ", entity=" + entity +
+                '}';
+    }
+}
@@ -1,92 +1,338 @@
 package com.example.swiftdataapi.service;
 
+import com.example.swiftdataapi.config.CacheConfig;
 import com.example.swiftdataapi.dto.BranchListDTO;
 import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
 import com.example.swiftdataapi.dto.SwiftCodeResponseDTO;
 import com.example.swiftdataapi.dto.endpoint2.CountrySwiftCodesResponseDTO;
+import com.example.swiftdataapi.loader.IncrementalSwiftCodeLoader;
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadProgress;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.PostgresCopyLoader;
+import com.example.swiftdataapi.loader.RowRejects;
+import com.example.swiftdataapi.loader.SwiftCodeFileReader;
+import com.example.swiftdataapi.loader.SwiftCodeRowSource;
+import com.example.swiftdataapi.loader.SwiftCodeUploadReader;
+import com.example.swiftdataapi.loader.UploadFormat;
 import com.example.swiftdataapi.model.SwiftCodeEntity;
 import com.example.swiftdataapi.repository.SwiftCodeRepository;
-import org.apache.poi.ss.usermodel.*;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class SwiftTableManager {
 
-    private final SwiftCodeRepository swiftCodeRepository;
+    private static final Logger log = LoggerFactory.getLogger(SwiftTableManager.class);
 
-    public SwiftTableManager(SwiftCodeRepository swiftCodeRepository) {
+    private final SwiftCodeRepository swiftCodeRepository;
+    private final PostgresCopyLoader postgresCopyLoader;
+    private final SwiftCodeReadModel swiftCodeReadModel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SwiftCodeMetrics swiftCodeMetrics;
+    private final IncrementalSwiftCodeLoader incrementalSwiftCodeLoader;
+
+    // Transaction of a whole JPA load and the persistence context cleared after every chunk,
+    // both null outside of Spring (benchmarks), where the rows are saved without a transaction
+    private final TransactionTemplate loadTransaction;
+    private final EntityManager entityManager;
+
+    // Read-only transaction of the database reads of the read endpoints, null outside of Spring.
+    // Reads answered by the read model run outside of it, so they never take a database connection.
+    private final TransactionTemplate readTransaction;
+
+    public SwiftTableManager(SwiftCodeRepository swiftCodeRepository, PostgresCopyLoader postgresCopyLoader,
+                             SwiftCodeReadModel swiftCodeReadModel, ApplicationEventPublisher eventPublisher,
+                             SwiftCodeMetrics swiftCodeMetrics, IncrementalSwiftCodeLoader incrementalSwiftCodeLoader,
+                             PlatformTransactionManager transactionManager, EntityManager entityManager) {
         this.swiftCodeRepository = swiftCodeRepository;
+        this.postgresCopyLoader = postgresCopyLoader;
+        this.incrementalSwiftCodeLoader = incrementalSwiftCodeLoader;
+        this.swiftCodeReadModel = swiftCodeReadModel;
+        this.eventPublisher = eventPublisher;
+        this.swiftCodeMetrics = swiftCodeMetrics;
+        this.loadTransaction = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+        this.entityManager = entityManager;
+        if (transactionManager != null) {
+            this.readTransaction = new TransactionTemplate(transactionManager);
+            this.readTransaction.setReadOnly(true);
+        } else {
+            this.readTransaction = null;
+        }
     }
 
+    // Number of parsed rows collected before they are written to the database
+    private static final int LOADER_CHUNK_SIZE = 1000;
+
+    // Maximum number of SWIFT codes in a page of the country listing
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Maximum number of distinct SWIFT codes accepted by a single lookup
+    private static final int MAX_LOOKUP_CODES = 1000;
+
     /**
-     * Loads SWIFT data from an Excel file and stores it in the database.
+     * Loads SWIFT data from an Excel file and stores it in the database using the JPA engine.
      * @param filePath Path to the Excel file
      */
     public void loadSwiftDataFromExcel(String filePath) {
-        List<SwiftCodeEntity> swiftCodeEntities = new ArrayList<>();
-
-        try (FileInputStream fileInputStream = new FileInputStream(new File(filePath))) {
-            Workbook workbook = WorkbookFactory.create(fileInputStream);
-            Sheet sheet = workbook.getSheetAt(0);
-
-            Iterator<Row> rowIterator = sheet.iterator();
-            rowIterator.next();  // Skip header row
-
-            while (rowIterator.hasNext()) {
-                Row row = rowIterator.next();
-
-                // Extract values from each row
-                String countryISO2 = getCellValue(row, 0).toUpperCase();
-                String swiftCode = getCellValue(row, 1);
-                String bankName = getCellValue(row, 3);
-                String address = getCellValue(row, 4);
-                String countryName = getCellValue(row, 6).toUpperCase();
-
-                // Check if this is a headquarter
-                boolean isHeadquarter = swiftCode.endsWith("XXX");
-
-                // Check if the record already exists
-                boolean exists = swiftCodeRepository.findBySwiftCodeAndBankNameAndCountryISO2(swiftCode, bankName, countryISO2).isPresent();
-
-                if (!exists) {
-                    SwiftCodeEntity entity = new SwiftCodeEntity(
-                            null,  // ID is generated automatically
-                            countryISO2,
-                            swiftCode,
-                            bankName,
-                            address,
-                            countryName,
-                            isHeadquarter
-                    );
-                    swiftCodeEntities.add(entity);
+        loadSwiftDataFromExcel(filePath, LoadEngine.JPA, false);
+    }
+
+    /**
+     * Loads SWIFT data from an Excel file and stores it in the database.
+     * .xlsx files are read in streaming mode, so rows are written while the file is being parsed
+     * and the workbook is never fully loaded into memory. CSV files and binary files generated by
+     * {@link com.example.swiftdataapi.loader.SwiftCodeBinaryWriter} are read the same way, memory-mapped
+     * (see {@link SwiftCodeFileReader}). Invalid rows are rejected and listed in the report, whatever the format.
+     * With {@link LoadEngine#INCREMENTAL}, a file which has not changed since its last load is not read at all.
+     * @param filePath Path to the Excel file
+     * @param engine Engine used to write the rows, {@link LoadEngine#AUTO} picks COPY for empty tables and full reloads
+     * @param fullReload If true, all existing records are replaced by the content of the file
+     * @return Statistics of the load
+     */
+    public LoadReport loadSwiftDataFromExcel(String filePath, LoadEngine engine, boolean fullReload) {
+        return loadSwiftDataFromExcel(filePath, engine, fullReload, LoadProgress.NONE);
+    }
+
+    /**
+     * Loads SWIFT data from an Excel file and stores it in the database, reporting the parsed rows to a listener.
+     * If the listener throws, the load stops and is rolled back, whatever the engine.
+     * @param filePath Path to the Excel file
+     * @param engine Engine used to write the rows, {@link LoadEngine#AUTO} picks COPY for empty tables and full reloads
+     * @param fullReload If true, all existing records are replaced by the content of the file
+     * @param progress Listener called for every parsed row
+     * @return Statistics of the load
+     */
+    public LoadReport loadSwiftDataFromExcel(String filePath, LoadEngine engine, boolean fullReload, LoadProgress progress) {
+        File file = new File(filePath);
+        RowRejects rejects = new RowRejects();
+        SwiftCodeRowSource source = rowConsumer ->
+                new SwiftCodeFileReader().read(file, rejects.filter(withProgress(rowConsumer, progress)));
+        return load(filePath, file, source, rejects, engine, fullReload);
+    }
+
+    /**
+     * Loads SWIFT data from an uploaded CSV or .xlsx stream and stores it in the database.
+     * Rows are written while the stream is being read, invalid rows are rejected and listed in the report
+     * instead of failing the load.
+     * @param name Name of the upload, used in logs
+     * @param inputStream The uploaded content, not closed by this method
+     * @param format The format of the content
+     * @param engine Engine used to write the rows, {@link LoadEngine#INCREMENTAL} is not supported for uploads
+     * @param fullReload If true, all existing records are replaced by the content of the upload
+     * @param progress Listener called for every valid parsed row
+     * @return Statistics of the load, with the rejected rows
+     */
+    public LoadReport loadSwiftDataFromUpload(String name, InputStream inputStream, UploadFormat format,
+                                              LoadEngine engine, boolean fullReload, LoadProgress progress) {
+        if (engine == LoadEngine.INCREMENTAL) {
+            throw new IllegalArgumentException("Uploads cannot be loaded incrementally, use AUTO, JPA or COPY.");
+        }
+        SwiftCodeUploadReader reader = new SwiftCodeUploadReader(inputStream, format);
+        SwiftCodeRowSource source = rowConsumer -> reader.readRows(withProgress(rowConsumer, progress));
+        return load(name, null, source, reader.getRejects(), engine, fullReload);
+    }
+
+    private static Consumer<SwiftCodeEntity> withProgress(Consumer<SwiftCodeEntity> rowConsumer, LoadProgress progress) {
+        return entity -> {
+            progress.rowParsed();
+            rowConsumer.accept(entity);
+        };
+    }
+
+    /**
+     * Writes the rows of a source with the given engine and publishes the change.
+     * @param sourceName Name of the source, used in logs
+     * @param file The file read by the source, required by {@link LoadEngine#INCREMENTAL}
+     * @param rejects The rows rejected by the source, added to the report, may be null
+     */
+    private LoadReport load(String sourceName, File file, SwiftCodeRowSource source, RowRejects rejects,
+                            LoadEngine engine, boolean fullReload) {
+        LoadEngine resolvedEngine = engine;
+        long start = System.nanoTime();
+
+        try {
+            resolvedEngine = resolveEngine(engine, fullReload);
+            LoadReport report;
+            if (resolvedEngine == LoadEngine.INCREMENTAL) {
+                report = incrementalSwiftCodeLoader.load(file, source, fullReload);
+            } else {
+                if (fullReload) {
+                    // The recorded files no longer match the table, the next incremental load reads them again
+                    incrementalSwiftCodeLoader.forgetSources();
                 }
+                if (resolvedEngine == LoadEngine.COPY) {
+                    report = postgresCopyLoader.load(source, fullReload);
+                } else {
+                    // The records are deleted in the transaction of the load, a failed reload keeps them
+                    report = inLoadTransaction(() -> {
+                        if (fullReload) {
+                            swiftCodeRepository.deleteAllInBatch();
+                        }
+                        return loadWithRepository(source);
+                    });
+                }
+            }
+            if (rejects != null) {
+                report.addRejects(rejects);
             }
+            swiftCodeMetrics.recordLoad(resolvedEngine, report, System.nanoTime() - start);
 
-            // Save new records to the database
-            if (!swiftCodeEntities.isEmpty()) {
-                swiftCodeRepository.saveAll(swiftCodeEntities);
-                System.out.println("New SWIFT data has been successfully loaded into the database.");
+            if (report.isSourceUnchanged()) {
+                log.info("{} has not changed since its last load, it was not read.", sourceName);
+            } else if (report.hasChanges()) {
+                log.info("New SWIFT data has been successfully loaded into the database.");
             } else {
-                System.out.println("No new data to load.");
+                log.info("No new data to load.");
+            }
+            log.info("SWIFT data load of {} with {} finished: {}", sourceName, resolvedEngine, report);
+
+            if (report.hasChanges() || fullReload) {
+                eventPublisher.publishEvent(SwiftCodesChangedEvent.reloaded());
             }
+            return report;
 
+        } catch (CancellationException e) {
+            swiftCodeMetrics.recordFailedLoad(resolvedEngine, System.nanoTime() - start);
+            log.info("SWIFT data load of {} cancelled", sourceName);
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            swiftCodeMetrics.recordFailedLoad(resolvedEngine, System.nanoTime() - start);
+            log.error("SWIFT data load of {} failed", sourceName, e);
             throw new RuntimeException("Error while loading SWIFT data: " + e.getMessage(), e);
         }
     }
 
-    private String getCellValue(Row row, int cellIndex) {
-        Cell cell = row.getCell(cellIndex);
-        return cell != null ? cell.toString().trim() : "";
+    // Resolves AUTO to the engine matching the current state of the table
+    private LoadEngine resolveEngine(LoadEngine engine, boolean fullReload) {
+        if (engine != LoadEngine.AUTO) {
+            return engine;
+        }
+        return fullReload || !swiftCodeRepository.existsAnyRecord() ? LoadEngine.COPY : LoadEngine.JPA;
+    }
+
+    /**
+     * Runs the work in a single transaction, so a JPA load is committed as a whole or not at all.
+     * Checked exceptions of the work are rethrown unchanged after the rollback.
+     */
+    private <T> T inLoadTransaction(Callable<T> work) throws Exception {
+        if (loadTransaction == null) {
+            return work.call();
+        }
+        try {
+            return loadTransaction.execute(status -> {
+                try {
+                    return work.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CheckedLoadException(e);
+                }
+            });
+        } catch (CheckedLoadException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    // Runs the database reads of a read endpoint in one read-only transaction
+    private <T> T inReadTransaction(Supplier<T> reads) {
+        return readTransaction != null ? readTransaction.execute(status -> reads.get()) : reads.get();
+    }
+
+    // Carries a checked exception of a load out of its transaction callback
+    private static final class CheckedLoadException extends RuntimeException {
+        CheckedLoadException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    // Saves the rows of the source through the repository, in chunks written while the source is read
+    private LoadReport loadWithRepository(SwiftCodeRowSource source) throws Exception {
+        List<SwiftCodeEntity> chunk = new ArrayList<>(LOADER_CHUNK_SIZE);
+        LoadReport report = new LoadReport();
+
+        source.readRows(entity -> {
+            chunk.add(entity);
+            if (chunk.size() >= LOADER_CHUNK_SIZE) {
+                saveChunk(chunk, report);
+            }
+        });
+        saveChunk(chunk, report);
+        return report;
+    }
+
+    /**
+     * Saves the new records of the pending chunk and clears it.
+     * Existing records are found with a single query for the whole chunk, rows already present
+     * in the database or earlier in the same chunk are skipped.
+     * The chunk is flushed and detached, so the heap used by a load does not grow with the file
+     * although the whole load is a single transaction.
+     */
+    private void saveChunk(List<SwiftCodeEntity> chunk, LoadReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        long dedupStart = System.nanoTime();
+        Set<String> swiftCodes = new HashSet<>();
+        for (SwiftCodeEntity entity : chunk) {
+            swiftCodes.add(entity.getSwiftCode());
+        }
+
+        Set<String> knownKeys = new HashSet<>();
+        for (Object[] key : swiftCodeRepository.findNaturalKeysBySwiftCodeIn(swiftCodes)) {
+            knownKeys.add(naturalKey((String) key[0], (String) key[1], (String) key[2]));
+        }
+
+        List<SwiftCodeEntity> newEntities = new ArrayList<>(chunk.size());
+        for (SwiftCodeEntity entity : chunk) {
+            if (knownKeys.add(naturalKey(entity.getSwiftCode(), entity.getBankName(), entity.getCountryISO2()))) {
+                newEntities.add(entity);
+            }
+        }
+        report.addDedupResult(chunk.size(), chunk.size() - newEntities.size(), System.nanoTime() - dedupStart);
+
+        // Save new records to the database
+        if (!newEntities.isEmpty()) {
+            swiftCodeRepository.saveAll(newEntities);
+            report.addInserted(newEntities.size());
+            if (entityManager != null) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        chunk.clear();
+    }
+
+    // Builds the key identifying a record: SWIFT code, bank name and country ISO2 code
+    private static String naturalKey(String swiftCode, String bankName, String countryISO2) {
+        return swiftCode + '\u0000' + bankName + '\u0000' + countryISO2;
     }
 
     /**
@@ -102,20 +348,41 @@ public class SwiftTableManager {
      * @param swiftCode The SWIFT code to retrieve
      * @return SwiftCodeResponseDTO for headquarter or BranchSwiftCodeDTO for a branch
      */
+    @Cacheable(cacheNames = CacheConfig.SWIFT_CODE_DETAILS_CACHE, sync = true)
     public Object getSwiftCodeDetails(String swiftCode) {
-        Optional<SwiftCodeEntity> mainEntityOpt = swiftCodeRepository.findBySwiftCode(swiftCode);
+        SwiftCodeLookup snapshot = swiftCodeReadModel.currentSnapshot();
+        if (snapshot != null) {
+            return getSwiftCodeDetails(snapshot, swiftCode);
+        }
+        return inReadTransaction(() -> findSwiftCodeDetails(swiftCode));
+    }
+
+    // Same as getSwiftCodeDetails, read from the database
+    private Object findSwiftCodeDetails(String swiftCode) {
+        // Records are projected directly into DTOs, no entity is created or tracked
+        List<BranchSwiftCodeDTO> mainRecords = swiftCodeRepository.findDetailsBySwiftCode(swiftCode, Limit.of(1));
 
-        if (mainEntityOpt.isEmpty()) {
+        if (mainRecords.isEmpty()) {
             throw new IllegalArgumentException("SWIFT code not found: " + swiftCode);
         }
 
-        SwiftCodeEntity mainEntity = mainEntityOpt.get();
+        BranchSwiftCodeDTO mainRecord = mainRecords.get(0);
+
+        if (!mainRecord.getHeadquarter()) {
+            // Return branch information if it's not a headquarter
+            return mainRecord;
+        }
 
+        // Get branches for headquarter, excluding the main record
+        List<BranchListDTO> branches = swiftCodeRepository.findBranchList(
+                SwiftCodeEntity.bankPrefixOf(mainRecord.getSwiftCode()), mainRecord.getSwiftCode());
+        return toHeadquarterDetails(mainRecord, branches);
+    }
+
+    // Builds the details response: SwiftCodeResponseDTO with the given branches for a headquarter, BranchSwiftCodeDTO otherwise
+    private static Object toSwiftCodeDetails(SwiftCodeEntity mainEntity, List<SwiftCodeEntity> branchEntities) {
         if (mainEntity.getHeadquarter()) {
-            // Get branches for headquarter
-            List<BranchListDTO> branches = swiftCodeRepository.findAll().stream()
-                    .filter(entity -> entity.getSwiftCode().startsWith(mainEntity.getSwiftCode().substring(0, 8)) &&
-                            !entity.getSwiftCode().equals(mainEntity.getSwiftCode()))  // Exclude the main entity
+            List<BranchListDTO> branches = branchEntities.stream()
                     .map(entity -> new BranchListDTO(
                             entity.getAddress(),
                             entity.getBankName(),
@@ -147,20 +414,167 @@ public class SwiftTableManager {
         }
     }
 
+    // Same as getSwiftCodeDetails, answered from the in-memory snapshot
+    private Object getSwiftCodeDetails(SwiftCodeLookup snapshot, String swiftCode) {
+        BranchSwiftCodeDTO mainRecord = snapshot.findBySwiftCode(swiftCode)
+                .orElseThrow(() -> new IllegalArgumentException("SWIFT code not found: " + swiftCode));
+
+        if (!mainRecord.getHeadquarter()) {
+            return mainRecord;
+        }
+
+        List<BranchListDTO> branches = snapshot.findBranches(mainRecord.getSwiftCode()).stream()
+                .map(SwiftTableManager::toBranchListDTO)
+                .collect(Collectors.toList());
+
+        return toHeadquarterDetails(mainRecord, branches);
+    }
+
+    private static SwiftCodeResponseDTO toHeadquarterDetails(BranchSwiftCodeDTO mainRecord, List<BranchListDTO> branches) {
+        return new SwiftCodeResponseDTO(
+                mainRecord.getAddress(),
+                mainRecord.getBankName(),
+                mainRecord.getCountryISO2(),
+                mainRecord.getCountryName(),
+                mainRecord.getHeadquarter(),
+                mainRecord.getSwiftCode(),
+                branches
+        );
+    }
+
+    /**
+     * Retrieves the details of many SWIFT codes at once.
+     * Uses two queries whatever the number of codes: one for the requested codes and one for
+     * the branches of all requested headquarters.
+     * @param swiftCodes The SWIFT codes to retrieve
+     * @return For every distinct requested code, in request order, the same details as returned by
+     *         getSwiftCodeDetails, or a map with a "message" entry if the code is not found
+     */
+    public Map<String, Object> lookupSwiftCodes(List<String> swiftCodes) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String swiftCode : swiftCodes) {
+            if (swiftCode != null) {
+                requested.add(swiftCode);
+            }
+        }
+        if (requested.size() > MAX_LOOKUP_CODES) {
+            throw new IllegalArgumentException("At most " + MAX_LOOKUP_CODES + " SWIFT codes can be looked up at once.");
+        }
+
+        SwiftCodeLookup snapshot = swiftCodeReadModel.currentSnapshot();
+        if (snapshot != null) {
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (String swiftCode : requested) {
+                results.put(swiftCode, snapshot.findBySwiftCode(swiftCode).isPresent()
+                        ? getSwiftCodeDetails(snapshot, swiftCode)
+                        : notFound(swiftCode));
+            }
+            return results;
+        }
+        if (requested.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return inReadTransaction(() -> findSwiftCodes(requested));
+    }
+
+    // Same as lookupSwiftCodes, read from the database
+    private Map<String, Object> findSwiftCodes(Set<String> requested) {
+        // Like findBySwiftCode, a single record per code, the oldest one if the code is used more than once
+        Map<String, SwiftCodeEntity> mainEntities = new HashMap<>();
+        for (SwiftCodeEntity entity : swiftCodeRepository.findAllBySwiftCodeIn(requested, Sort.by("id"))) {
+            mainEntities.putIfAbsent(entity.getSwiftCode(), entity);
+        }
+
+        Set<String> headquarterPrefixes = mainEntities.values().stream()
+                .filter(SwiftCodeEntity::getHeadquarter)
+                .map(SwiftCodeEntity::getBankPrefix)
+                .collect(Collectors.toSet());
+        Map<String, List<SwiftCodeEntity>> entitiesByPrefix = headquarterPrefixes.isEmpty()
+                ? Map.of()
+                : swiftCodeRepository.findAllByBankPrefixIn(headquarterPrefixes).stream()
+                        .collect(Collectors.groupingBy(SwiftCodeEntity::getBankPrefix));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String swiftCode : requested) {
+            SwiftCodeEntity mainEntity = mainEntities.get(swiftCode);
+            if (mainEntity == null) {
+                results.put(swiftCode, notFound(swiftCode));
+                continue;
+            }
+            List<SwiftCodeEntity> branches = List.of();
+            if (mainEntity.getHeadquarter()) {
+                branches = entitiesByPrefix.getOrDefault(mainEntity.getBankPrefix(), List.of()).stream()
+                        .filter(entity -> !entity.getSwiftCode().equals(swiftCode))
+                        .collect(Collectors.toList());
+            }
+            results.put(swiftCode, toSwiftCodeDetails(mainEntity, branches));
+        }
+        return results;
+    }
+
+    private static Map<String, String> notFound(String swiftCode) {
+        return Map.of("message", "SWIFT code not found: " + swiftCode);
+    }
+
     /**
      * Retrieves SWIFT codes for a specific country.
      * @param countryISO2code Country ISO2 code
      * @return CountrySwiftCodesResponseDTO containing the country's SWIFT codes
      */
+    @Cacheable(cacheNames = CacheConfig.COUNTRY_SWIFT_CODES_CACHE, key = "#countryISO2code.toUpperCase()", sync = true)
     public CountrySwiftCodesResponseDTO getSwiftCodesForCountry(String countryISO2code) {
-        List<SwiftCodeEntity> entities = swiftCodeRepository.findAllByCountryISO2(countryISO2code.toUpperCase());
+        SwiftCodeLookup snapshot = swiftCodeReadModel.currentSnapshot();
+        if (snapshot != null) {
+            return toCountryResponse(countryISO2code, snapshot.findAllByCountryISO2(countryISO2code.toUpperCase()));
+        }
 
-        if (entities.isEmpty()) {
-            throw new IllegalArgumentException("No SWIFT codes found for country ISO2 code: " + countryISO2code);
+        // Records are projected directly into DTOs, no entity is created or tracked
+        return toCountryResponse(countryISO2code, inReadTransaction(
+                () -> swiftCodeRepository.findDetailsByCountryISO2(countryISO2code.toUpperCase())));
+    }
+
+    /**
+     * Retrieves one page of the SWIFT codes of a country, ordered by SWIFT code.
+     * Pages are read through the (countryiso2, swift_code, id) index starting after the cursor,
+     * so a deep page costs the same as the first one and at most limit records are loaded.
+     * @param countryISO2code Country ISO2 code
+     * @param cursor The nextCursor of the previous page, or null for the first page
+     * @param limit The maximum number of SWIFT codes in the page (1 to 1000)
+     * @return CountrySwiftCodesResponseDTO containing the page and the cursor of the next page, if any
+     * @throws IllegalArgumentException If the country has no SWIFT codes
+     */
+    public CountrySwiftCodesResponseDTO getSwiftCodesForCountry(String countryISO2code, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return inReadTransaction(() -> findCountryPage(countryISO2code, cursor, limit));
+    }
+
+    // Same as the paged getSwiftCodesForCountry, read from the database
+    private CountrySwiftCodesResponseDTO findCountryPage(String countryISO2code, String cursor, int limit) {
+        String countryISO2 = countryISO2code.toUpperCase();
+
+        // One more record than requested tells whether there is a next page
+        List<SwiftCodeEntity> entities;
+        if (cursor == null || cursor.isEmpty()) {
+            entities = swiftCodeRepository.findCountryPage(countryISO2, limit + 1);
+            if (entities.isEmpty()) {
+                // Same error as the listing without pages, a later page may be empty after deletions
+                throw new IllegalArgumentException("No SWIFT codes found for country ISO2 code: " + countryISO2code);
+            }
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            entities = swiftCodeRepository.findCountryPageAfter(countryISO2, position.swiftCode(), position.id(), limit + 1);
         }
 
-        String countryName = entities.get(0).getCountryName(); // Get country name from the first entity
+        String nextCursor = null;
+        if (entities.size() > limit) {
+            entities = entities.subList(0, limit);
+            SwiftCodeEntity last = entities.get(limit - 1);
+            nextCursor = new PageCursor(last.getSwiftCode(), last.getId()).encode();
+        }
 
+        String countryName = entities.isEmpty() ? null : entities.get(0).getCountryName();
         List<BranchListDTO> swiftCodes = entities.stream()
                 .map(entity -> new BranchListDTO(
                         entity.getAddress(),
@@ -171,7 +585,52 @@ public class SwiftTableManager {
                 ))
                 .collect(Collectors.toList());
 
-        return new CountrySwiftCodesResponseDTO(countryISO2code.toUpperCase(), countryName, swiftCodes);
+        return new CountrySwiftCodesResponseDTO(countryISO2, countryName, swiftCodes, nextCursor);
+    }
+
+    /**
+     * Position in the country listing: the SWIFT code and id of the last record of a page.
+     * Sent to clients as an opaque URL-safe Base64 string.
+     */
+    private record PageCursor(String swiftCode, long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((id + ":" + swiftCode).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = position.indexOf(':');
+                return new PageCursor(position.substring(separator + 1), Long.parseLong(position.substring(0, separator)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+            }
+        }
+    }
+
+    // Builds the response of getSwiftCodesForCountry from the records of the country
+    private static CountrySwiftCodesResponseDTO toCountryResponse(String countryISO2code, List<BranchSwiftCodeDTO> records) {
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("No SWIFT codes found for country ISO2 code: " + countryISO2code);
+        }
+
+        List<BranchListDTO> swiftCodes = records.stream()
+                .map(SwiftTableManager::toBranchListDTO)
+                .collect(Collectors.toList());
+
+        return new CountrySwiftCodesResponseDTO(countryISO2code.toUpperCase(), records.get(0).getCountryName(), swiftCodes);
+    }
+
+    private static BranchListDTO toBranchListDTO(BranchSwiftCodeDTO record) {
+        return new BranchListDTO(
+                record.getAddress(),
+                record.getBankName(),
+                record.getCountryISO2(),
+                record.getHeadquarter(),
+                record.getSwiftCode()
+        );
     }
 
     /**
@@ -224,7 +683,9 @@ public class SwiftTableManager {
                 requestDTO.getHeadquarter()
         );
 
-        return swiftCodeRepository.save(newEntry);
+        SwiftCodeEntity savedEntry = swiftCodeRepository.save(newEntry);
+        eventPublisher.publishEvent(SwiftCodesChangedEvent.added(savedEntry));
+        return savedEntry;
     }
 
     /**
@@ -241,9 +702,8 @@ public class SwiftTableManager {
 
         if (swiftCodeEntity.getHeadquarter()) {
             // Check if there are any associated branches
-            boolean hasBranches = swiftCodeRepository.findAll().stream()
-                    .anyMatch(entity -> entity.getSwiftCode().startsWith(swiftCode.substring(0, 8)) &&
-                            !entity.getSwiftCode().equals(swiftCode));
+            boolean hasBranches = swiftCodeRepository.existsByBankPrefixAndSwiftCodeNot(
+                    SwiftCodeEntity.bankPrefixOf(swiftCode), swiftCode);
 
             if (hasBranches) {
                 throw new IllegalArgumentException("Cannot delete headquarter SWIFT code as it has associated branches.");
@@ -252,6 +712,7 @@ public class SwiftTableManager {
 
         // Delete the record
         swiftCodeRepository.delete(swiftCodeEntity);
+        eventPublisher.publishEvent(SwiftCodesChangedEvent.deleted(swiftCodeEntity));
 
         return "SWIFT code successfully deleted.";
     }
@@ -261,6 +722,8 @@ public class SwiftTableManager {
      */
     public void clearSwiftCodesTable() {
         swiftCodeRepository.deleteAll();
-        System.out.println("All records from swift_codes table have been cleared.");
+        incrementalSwiftCodeLoader.forgetSources();
+        eventPublisher.publishEvent(SwiftCodesChangedEvent.reloaded());
+        log.info("All records from swift_codes table have been cleared.");
     }
 }
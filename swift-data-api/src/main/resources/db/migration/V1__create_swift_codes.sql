@@ -0,0 +1,13 @@
+-- Initial schema, as previously created by Hibernate (spring.jpa.hibernate.ddl-auto=update).
+-- Databases created before migrations were introduced are baselined at this version.
+CREATE TABLE IF NOT EXISTS swift_codes (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    address        VARCHAR(255),
+    bank_name      VARCHAR(255),
+    countryiso2    VARCHAR(255),
+    country_name   VARCHAR(255),
+    is_headquarter BOOLEAN,
+    swift_code     VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_swift_codes_swift_code ON swift_codes (swift_code);
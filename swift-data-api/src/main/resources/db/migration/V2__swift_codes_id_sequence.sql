@@ -0,0 +1,10 @@
+-- Replace the identity column with a sequence so that Hibernate can batch inserts.
+-- The sequence is used with the pooled optimizer and an allocation size of 50,
+-- so it must be incremented by 50 as well.
+ALTER TABLE swift_codes ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS swift_codes_seq INCREMENT BY 50 OWNED BY swift_codes.id;
+
+-- The pooled optimizer uses the block ending at the value returned by the sequence,
+-- so the next value must be at least MAX(id) + 50 to keep existing identifiers unique.
+SELECT setval('swift_codes_seq', COALESCE((SELECT MAX(id) FROM swift_codes), 0) + 50, false);
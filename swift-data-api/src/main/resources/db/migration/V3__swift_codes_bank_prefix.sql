@@ -0,0 +1,7 @@
+-- Store the institution prefix (first 8 characters of the SWIFT code) in an indexed column,
+-- so that the branches of a headquarter can be found without scanning the whole table.
+ALTER TABLE swift_codes ADD COLUMN IF NOT EXISTS bank_prefix VARCHAR(8);
+
+UPDATE swift_codes SET bank_prefix = LEFT(swift_code, 8) WHERE bank_prefix IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_swift_codes_bank_prefix ON swift_codes (bank_prefix);
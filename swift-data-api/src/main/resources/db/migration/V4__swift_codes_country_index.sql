@@ -0,0 +1,3 @@
+-- Index the country listing in the order of its pages, so that a page after a cursor
+-- (swift_code, id) is read directly from the index whatever its depth.
+CREATE INDEX IF NOT EXISTS idx_swift_codes_country_swift_code ON swift_codes (countryiso2, swift_code, id);
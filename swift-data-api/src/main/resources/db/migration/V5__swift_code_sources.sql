@@ -0,0 +1,21 @@
+-- Fingerprints of the loaded data files: a file whose size and modification time, or content hash,
+-- are unchanged since its last load is not read again by the incremental loader.
+CREATE TABLE IF NOT EXISTS swift_code_sources (
+    source        VARCHAR(1024) PRIMARY KEY,
+    file_size     BIGINT       NOT NULL,
+    last_modified BIGINT       NOT NULL,
+    content_hash  VARCHAR(64)  NOT NULL,
+    row_count     BIGINT       NOT NULL,
+    loaded_at     TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- The records loaded from every file, with a hash of their values, so that a changed file is applied
+-- as a delta: new and changed rows are written, rows no longer in the file are deleted.
+CREATE TABLE IF NOT EXISTS swift_code_source_rows (
+    source      VARCHAR(1024) NOT NULL REFERENCES swift_code_sources (source) ON DELETE CASCADE,
+    swift_code  VARCHAR(255)  NOT NULL,
+    bank_name   VARCHAR(255)  NOT NULL,
+    countryiso2 VARCHAR(255)  NOT NULL,
+    row_hash    VARCHAR(32)   NOT NULL,
+    PRIMARY KEY (source, swift_code, bank_name, countryiso2)
+);
@@ -0,0 +1,3 @@
+-- Index of the lookups by SWIFT code. V1 creates it for new databases, but databases created before
+-- migrations were introduced are baselined at version 1 and skip V1, so it is created here for them.
+CREATE INDEX IF NOT EXISTS idx_swift_codes_swift_code ON swift_codes (swift_code);
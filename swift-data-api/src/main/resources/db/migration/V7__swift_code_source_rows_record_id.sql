@@ -0,0 +1,9 @@
+-- Id of the record inserted by the incremental loader for a row of a file. A row matching a record which
+-- already existed, e.g. added through the API, has none: the loader never updates or deletes that record.
+ALTER TABLE swift_code_source_rows ADD COLUMN IF NOT EXISTS record_id BIGINT;
+
+-- Rows recorded before this column existed own the record with their key, as the loader assumed until now
+UPDATE swift_code_source_rows r SET record_id = (
+    SELECT min(t.id) FROM swift_codes t
+    WHERE t.swift_code = r.swift_code AND t.bank_name = r.bank_name AND t.countryiso2 = r.countryiso2)
+WHERE r.record_id IS NULL;
@@ -0,0 +1,224 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.IncrementalSwiftCodeLoader;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.SwiftCodeRowSource;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the IncrementalSwiftCodeLoader class.
+ * These tests load a file, then load it again unchanged, touched and modified, and verify that
+ * only the differences are written to the database.
+ */
+@SpringBootTest
+class IncrementalSwiftCodeLoaderTest {
+
+    @Autowired
+    private IncrementalSwiftCodeLoader incrementalSwiftCodeLoader;
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    // Number of times the rows of a file were read
+    private final AtomicInteger reads = new AtomicInteger();
+
+    /**
+     * Clears the repository and the fingerprints before each test to ensure the database is clean.
+     */
+    @BeforeEach
+    void setUp() {
+        swiftCodeRepository.deleteAll();
+        incrementalSwiftCodeLoader.forgetSources();
+    }
+
+    /**
+     * Test that an unchanged file is not read again, even when its modification time changes.
+     */
+    @Test
+    void testLoad_SkipsUnchangedFile() throws Exception {
+        // Given: A file loaded once
+        File file = writeFile("version 1");
+        SwiftCodeRowSource rows = rows(
+                entity("TESTPLPWXXX", "Address", true),
+                entity("TESTPLPW123", "Branch address", false));
+        LoadReport first = incrementalSwiftCodeLoader.load(file, rows, false);
+        assertEquals(2, first.getRowsInserted());
+
+        // When: The same file is loaded again
+        LoadReport second = incrementalSwiftCodeLoader.load(file, rows, false);
+
+        // Then: It is skipped without being read
+        assertTrue(second.isSourceUnchanged());
+        assertEquals(1, reads.get());
+
+        // When: The file is touched, its content stays the same
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified() + 60_000));
+        LoadReport third = incrementalSwiftCodeLoader.load(file, rows, false);
+
+        // Then: The content hash shows it has not changed
+        assertTrue(third.isSourceUnchanged());
+        assertEquals(1, reads.get());
+        assertEquals(2, swiftCodeRepository.count());
+    }
+
+    /**
+     * Test that a changed file is applied as a delta of inserted, changed and removed rows.
+     */
+    @Test
+    void testLoad_AppliesDelta() throws Exception {
+        // Given: A file loaded once, and a record added through the API
+        File file = writeFile("version 1");
+        incrementalSwiftCodeLoader.load(file, rows(
+                entity("TESTPLPWXXX", "Address", true),
+                entity("TESTPLPW123", "Branch address", false),
+                entity("TESTPLPW456", "Removed branch", false)), false);
+        SwiftCodeEntity unchangedRecord = swiftCodeRepository.findBySwiftCode("TESTPLPWXXX").orElseThrow();
+        swiftCodeRepository.save(entity("TESTPLPW789", "Added through the API", false));
+
+        // When: The file changes: one row is modified, one is removed, one is added and one appears twice
+        Files.writeString(file.toPath(), "version 2");
+        LoadReport report = incrementalSwiftCodeLoader.load(file, rows(
+                entity("TESTPLPWXXX", "Address", true),
+                entity("TESTPLPW123", "New branch address", false),
+                entity("TESTPLPWABC", "New branch", false),
+                entity("TESTPLPWABC", "Second copy", false)), false);
+
+        // Then: Only the differences are written
+        assertFalse(report.isSourceUnchanged());
+        assertEquals(4, report.getRowsChecked());
+        assertEquals(1, report.getDuplicatesSkipped());
+        assertEquals(1, report.getRowsInserted());
+        assertEquals(1, report.getRowsUpdated());
+        assertEquals(1, report.getRowsDeleted());
+
+        assertEquals("New branch address", swiftCodeRepository.findBySwiftCode("TESTPLPW123").orElseThrow().getAddress());
+        assertEquals("New branch", swiftCodeRepository.findBySwiftCode("TESTPLPWABC").orElseThrow().getAddress());
+        assertTrue(swiftCodeRepository.findBySwiftCode("TESTPLPW456").isEmpty());
+
+        // Then: The unchanged record is kept as it was and the record added through the API is not deleted
+        assertEquals(unchangedRecord.getId(), swiftCodeRepository.findBySwiftCode("TESTPLPWXXX").orElseThrow().getId());
+        assertTrue(swiftCodeRepository.findBySwiftCode("TESTPLPW789").isPresent());
+    }
+
+    /**
+     * Test that a record added through the API is neither overwritten nor deleted by a file with the same key.
+     */
+    @Test
+    void testLoad_KeepsApiRecordWithSameKey() throws Exception {
+        // Given: A file loaded once, and a record added through the API
+        File file = writeFile("version 1");
+        incrementalSwiftCodeLoader.load(file, rows(entity("TESTPLPWXXX", "Address", true)), false);
+        SwiftCodeEntity apiRecord = swiftCodeRepository.save(entity("TESTPLPW789", "Added through the API", false));
+
+        // When: The record appears in the file with other values
+        Files.writeString(file.toPath(), "version 2");
+        LoadReport added = incrementalSwiftCodeLoader.load(file, rows(
+                entity("TESTPLPWXXX", "Address", true),
+                entity("TESTPLPW789", "Address in the file", false)), false);
+
+        // Then: The record keeps the values of the API
+        assertEquals(0, added.getRowsInserted());
+        assertEquals(0, added.getRowsUpdated());
+        assertEquals("Added through the API", swiftCodeRepository.findById(apiRecord.getId()).orElseThrow().getAddress());
+
+        // When: The row is removed from the file again
+        Files.writeString(file.toPath(), "version 3");
+        LoadReport removed = incrementalSwiftCodeLoader.load(file, rows(entity("TESTPLPWXXX", "Address", true)), false);
+
+        // Then: The record of the API is not deleted
+        assertEquals(0, removed.getRowsDeleted());
+        assertTrue(swiftCodeRepository.findById(apiRecord.getId()).isPresent());
+    }
+
+    /**
+     * Test that a headquarter removed from the file is kept while it has branches, like a deletion through the API.
+     */
+    @Test
+    void testLoad_KeepsHeadquarterWithBranches() throws Exception {
+        // Given: A headquarter loaded from the file, and one of its branches added through the API
+        File file = writeFile("version 1");
+        incrementalSwiftCodeLoader.load(file, rows(
+                entity("TESTPLPWXXX", "Address", true),
+                entity("OTHRPLPWXXX", "Other address", true)), false);
+        SwiftCodeEntity branch = swiftCodeRepository.save(entity("TESTPLPW789", "Added through the API", false));
+
+        // When: The headquarter is removed from the file
+        Files.writeString(file.toPath(), "version 2");
+        LoadReport kept = incrementalSwiftCodeLoader.load(file, rows(entity("OTHRPLPWXXX", "Other address", true)), false);
+
+        // Then: It is kept for its branch
+        assertEquals(0, kept.getRowsDeleted());
+        assertTrue(swiftCodeRepository.findBySwiftCode("TESTPLPWXXX").isPresent());
+
+        // When: The branch is deleted and the file changes again
+        swiftCodeRepository.delete(branch);
+        Files.writeString(file.toPath(), "version 3");
+        LoadReport deleted = incrementalSwiftCodeLoader.load(file, rows(entity("OTHRPLPWXXX", "New address", true)), false);
+
+        // Then: The headquarter is deleted
+        assertEquals(1, deleted.getRowsDeleted());
+        assertEquals(1, deleted.getRowsUpdated());
+        assertTrue(swiftCodeRepository.findBySwiftCode("TESTPLPWXXX").isEmpty());
+    }
+
+    /**
+     * Test that an unchanged file is loaded again when the table has been emptied.
+     */
+    @Test
+    void testLoad_ReloadsEmptiedTable() throws Exception {
+        // Given: A file loaded once, then the table is emptied
+        File file = writeFile("version 1");
+        SwiftCodeRowSource rows = rows(entity("TESTPLPWXXX", "Address", true));
+        incrementalSwiftCodeLoader.load(file, rows, false);
+        swiftCodeRepository.deleteAll();
+
+        // When: The unchanged file is loaded again
+        LoadReport report = incrementalSwiftCodeLoader.load(file, rows, false);
+
+        // Then: Its rows are read and inserted again
+        assertFalse(report.isSourceUnchanged());
+        assertEquals(1, report.getRowsInserted());
+        assertEquals(List.of("TESTPLPWXXX"),
+                swiftCodeRepository.findAll().stream().map(SwiftCodeEntity::getSwiftCode).toList());
+    }
+
+    private File writeFile(String content) throws Exception {
+        Path path = tempDir.resolve("swift-codes.xlsx");
+        Files.writeString(path, content);
+        return path.toFile();
+    }
+
+    // A source of the given rows which counts how many times it is read
+    private SwiftCodeRowSource rows(SwiftCodeEntity... entities) {
+        return rowConsumer -> {
+            reads.incrementAndGet();
+            for (SwiftCodeEntity entity : entities) {
+                rowConsumer.accept(entity);
+            }
+        };
+    }
+
+    private static SwiftCodeEntity entity(String swiftCode, String address, boolean headquarter) {
+        return new SwiftCodeEntity(null, "PL", swiftCode, "Test Bank", address, "POLAND", headquarter);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadProgress;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import com.example.swiftdataapi.service.SwiftTableManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the IngestionJobService class.
+ * The loads of a mocked SwiftTableManager run on a single ingestion thread.
+ */
+class IngestionJobServiceTest {
+
+    private SwiftTableManager swiftTableManager;
+    private IngestionJobService ingestionJobService;
+
+    // Released to let a blocked load parse its rows
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // Released once a blocked load has started
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    /**
+     * Creates the service with one ingestion thread.
+     */
+    @BeforeEach
+    void setUp() {
+        swiftTableManager = mock(SwiftTableManager.class);
+        ingestionJobService = new IngestionJobService(swiftTableManager, 1, 10);
+    }
+
+    /**
+     * Stops the ingestion thread after each test.
+     */
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        ingestionJobService.shutdown();
+    }
+
+    /**
+     * Test that a job runs the load and reports its progress and statistics.
+     */
+    @Test
+    void testSubmit_Succeeds() throws InterruptedException {
+        // Given: A load which parses 3 rows and inserts 2 of them
+        when(swiftTableManager.loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any())).thenAnswer(invocation -> {
+            LoadProgress progress = invocation.getArgument(3);
+            for (int i = 0; i < 3; i++) {
+                progress.rowParsed();
+            }
+            LoadReport report = new LoadReport();
+            report.addDedupResult(3, 1, 0);
+            report.addInserted(2);
+            return report;
+        });
+
+        // When: The load is submitted and has finished
+        IngestionJob job = ingestionJobService.submit("data.xlsx", LoadEngine.COPY, true).await();
+
+        // Then: The job succeeded with the statistics of the load
+        assertEquals(IngestionJob.State.SUCCEEDED, job.getState());
+        assertEquals(3, job.getRowsParsed());
+        assertEquals(2L, job.getRowsInserted());
+        assertEquals(1L, job.getDuplicatesSkipped());
+        assertNull(job.getError());
+        verify(swiftTableManager).loadSwiftDataFromExcel(eq("data.xlsx"), eq(LoadEngine.COPY), eq(true), any());
+        assertEquals(job, ingestionJobService.getJob(job.getId()).orElseThrow());
+    }
+
+    /**
+     * Test that a failed load is reported with its error.
+     */
+    @Test
+    void testSubmit_Fails() throws InterruptedException {
+        // Given: A load which fails
+        when(swiftTableManager.loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any()))
+                .thenThrow(new RuntimeException("Error loading Excel data"));
+
+        // When: The load is submitted and has finished
+        IngestionJob job = ingestionJobService.submit("data.xlsx", LoadEngine.AUTO, false).await();
+
+        // Then: The job failed with the error of the load
+        assertEquals(IngestionJob.State.FAILED, job.getState());
+        assertEquals("Error loading Excel data", job.getError());
+        assertNull(job.getRowsInserted());
+    }
+
+    /**
+     * Test that a load failing with an Error fails the job and releases its file.
+     */
+    @Test
+    void testSubmit_FailsWithError() throws InterruptedException {
+        // Given: A load which fails with an Error
+        when(swiftTableManager.loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any()))
+                .thenThrow(new NoClassDefFoundError("org/apache/poi/ss/usermodel/Workbook"));
+
+        // When: The load is submitted and has finished
+        IngestionJob job = ingestionJobService.submit("data.xlsx", LoadEngine.AUTO, false).await();
+
+        // Then: The job failed with the error
+        assertEquals(IngestionJob.State.FAILED, job.getState());
+        assertEquals("java.lang.NoClassDefFoundError: org/apache/poi/ss/usermodel/Workbook", job.getError());
+
+        // Then: The file can be loaded again
+        doReturn(new LoadReport()).when(swiftTableManager).loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any());
+        assertEquals(IngestionJob.State.SUCCEEDED,
+                ingestionJobService.submit("data.xlsx", LoadEngine.AUTO, false).await().getState());
+    }
+
+    /**
+     * Test that a file is not loaded twice at the same time, and can be loaded again once the first load is done.
+     */
+    @Test
+    void testSubmit_SingleFlightPerSource() throws InterruptedException {
+        // Given: A load of the file is running
+        blockLoads();
+        IngestionJob running = ingestionJobService.submit("data.xlsx", LoadEngine.AUTO, false);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When: The same file is submitted again, through another path
+        IngestionJobService.LoadInProgressException exception = assertThrows(IngestionJobService.LoadInProgressException.class,
+                () -> ingestionJobService.submit("./data.xlsx", LoadEngine.AUTO, false));
+
+        // Then: The submission is rejected and points to the running job
+        assertEquals(running, exception.getActiveJob());
+
+        // When: The first load has finished
+        release.countDown();
+        running.await();
+
+        // Then: The file can be loaded again
+        IngestionJob second = ingestionJobService.submit("data.xlsx", LoadEngine.AUTO, false).await();
+        assertEquals(IngestionJob.State.SUCCEEDED, second.getState());
+        assertEquals(second, ingestionJobService.getJobs().get(0));
+    }
+
+    /**
+     * Test that a running job stops at its next row and a queued job never starts once cancelled.
+     */
+    @Test
+    void testCancel() throws InterruptedException {
+        // Given: A running load and a queued load of another file
+        blockLoads();
+        IngestionJob running = ingestionJobService.submit("first.xlsx", LoadEngine.AUTO, false);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        IngestionJob queued = ingestionJobService.submit("second.xlsx", LoadEngine.AUTO, false);
+
+        // When: Both jobs are cancelled
+        ingestionJobService.cancel(queued.getId());
+        ingestionJobService.cancel(running.getId());
+        release.countDown();
+
+        // Then: Both jobs are cancelled and only the first load was started
+        assertEquals(IngestionJob.State.CANCELLED, running.await().getState());
+        assertEquals(IngestionJob.State.CANCELLED, queued.await().getState());
+        assertEquals(0, queued.getRowsParsed());
+        verify(swiftTableManager, times(1)).loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any());
+        verify(swiftTableManager, never()).loadSwiftDataFromExcel(eq("second.xlsx"), any(), anyBoolean(), any());
+
+        // Then: A finished job cannot be cancelled, an unknown job is not found
+        assertThrows(IllegalStateException.class, () -> ingestionJobService.cancel(running.getId()));
+        assertTrue(ingestionJobService.cancel("unknown").isEmpty());
+
+        // Then: The cancelled file can be loaded again
+        assertEquals(IngestionJob.State.SUCCEEDED,
+                ingestionJobService.submit("first.xlsx", LoadEngine.AUTO, false).await().getState());
+    }
+
+    // Makes every load wait for the release latch before parsing its row
+    private void blockLoads() {
+        when(swiftTableManager.loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            LoadProgress progress = invocation.getArgument(3);
+            progress.rowParsed();
+            return new LoadReport();
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.loader.SwiftCodeRowMapper;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.MappedSwiftCodeSnapshot;
+import com.example.swiftdataapi.service.SwiftCodeLookup;
+import com.example.swiftdataapi.service.SwiftCodeReadModel;
+import com.example.swiftdataapi.service.SwiftCodeSnapshot;
+import com.example.swiftdataapi.service.SwiftCodeSnapshotFileReplacedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the MappedSwiftCodeSnapshot class and its use by the SwiftCodeReadModel.
+ * These tests verify that the snapshot file answers like the in-memory snapshot and that
+ * the read model serves it until it is rebuilt from the database.
+ */
+class MappedSwiftCodeSnapshotTest {
+
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Test that every lookup of the mapped file gives the records of the in-memory snapshot, in the same order.
+     */
+    @Test
+    void testOpen_SameLookupsAsInMemorySnapshot() throws Exception {
+        // Given: A generated table with a second record using an existing SWIFT code, and a record without address
+        List<SwiftCodeEntity> entities = new ArrayList<>();
+        new SwiftCodeDatasetGenerator(7).rows(2000).map(SwiftCodeRowMapper::toEntity).forEach(entities::add);
+        SwiftCodeEntity first = entities.get(0);
+        entities.add(new SwiftCodeEntity(null, "DE", first.getSwiftCode(), "Other Bank", "Berlin", "GERMANY", first.getHeadquarter()));
+        entities.add(new SwiftCodeEntity(null, "PL", "NOADPLPWXXX", "Bank Without Address", null, "POLAND", true));
+        Path file = tempDir.resolve("swift-codes.snapshot");
+
+        // When: The table is written to a snapshot file and mapped
+        MappedSwiftCodeSnapshot.write(entities, file);
+        MappedSwiftCodeSnapshot mapped = MappedSwiftCodeSnapshot.open(file);
+        SwiftCodeSnapshot expected = SwiftCodeSnapshot.of(entities);
+
+        // Then: Every code, country and headquarter gives the same records
+        assertEquals(expected.size(), mapped.size());
+        for (SwiftCodeEntity entity : entities) {
+            assertEquals(values(expected.findBySwiftCode(entity.getSwiftCode())), values(mapped.findBySwiftCode(entity.getSwiftCode())));
+            assertEquals(values(expected.findAllByCountryISO2(entity.getCountryISO2())), values(mapped.findAllByCountryISO2(entity.getCountryISO2())));
+            assertEquals(values(expected.findBranches(entity.getSwiftCode())), values(mapped.findBranches(entity.getSwiftCode())));
+        }
+        assertNull(mapped.findBySwiftCode("NOADPLPWXXX").orElseThrow().getAddress());
+        assertTrue(mapped.findBySwiftCode("MISSINGXXXX").isEmpty());
+        assertTrue(mapped.findBySwiftCode(first.getSwiftCode() + "X").isEmpty());
+        assertTrue(mapped.findAllByCountryISO2("XX").isEmpty());
+        assertTrue(mapped.findBranches("MISSINGXXXX").isEmpty());
+    }
+
+    /**
+     * Test that a damaged snapshot file is not used.
+     */
+    @Test
+    void testOpen_CorruptedFile() throws Exception {
+        // Given: A snapshot file with one byte changed
+        Path file = tempDir.resolve("swift-codes.snapshot");
+        MappedSwiftCodeSnapshot.write(List.of(new SwiftCodeEntity(
+                1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true)), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        // When & Then: Opening the file fails on the checksum
+        IOException exception = assertThrows(IOException.class, () -> MappedSwiftCodeSnapshot.open(file));
+        assertTrue(exception.getMessage().contains("checksum"));
+    }
+
+    /**
+     * Test that the read model writes the file when it is rebuilt, and serves it at the next start until the database has been read.
+     * Replacing the file is published, so that the responses cached from it are flushed.
+     */
+    @Test
+    void testReadModel_ServesFileUntilRebuilt() {
+        // Given: A read model rebuilt from the database with a snapshot file
+        Path file = tempDir.resolve("swift-codes.snapshot");
+        SwiftCodeRepository repository = mock(SwiftCodeRepository.class);
+        when(repository.findAll(any(Sort.class))).thenReturn(List.of(
+                new SwiftCodeEntity(1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true),
+                new SwiftCodeEntity(2L, "US", "TESTUS33ABC", "Test Bank", "1 Side St", "UNITED STATES", false)));
+        List<Object> events = new ArrayList<>();
+        new SwiftCodeReadModel(repository, events::add, true, file.toString()).rebuild();
+        assertTrue(Files.exists(file));
+        assertTrue(events.isEmpty());
+
+        // When: The next instance starts
+        SwiftCodeRepository restartedRepository = mock(SwiftCodeRepository.class);
+        SwiftCodeReadModel restarted = new SwiftCodeReadModel(restartedRepository, events::add, true, file.toString());
+
+        // Then: Reads are served from the file without querying the database
+        SwiftCodeLookup snapshot = restarted.currentSnapshot();
+        assertInstanceOf(MappedSwiftCodeSnapshot.class, snapshot);
+        assertEquals(1, snapshot.findBranches("TESTUS33XXX").size());
+        verifyNoInteractions(restartedRepository);
+
+        // When: The database has been read
+        when(restartedRepository.findAll(any(Sort.class))).thenReturn(List.of());
+        restarted.rebuild();
+
+        // Then: The database snapshot replaces the file, once
+        assertInstanceOf(SwiftCodeSnapshot.class, restarted.currentSnapshot());
+        assertEquals(0, restarted.currentSnapshot().size());
+        assertEquals(1, events.size());
+        assertEquals(0, assertInstanceOf(SwiftCodeSnapshotFileReplacedEvent.class, events.get(0)).getSize());
+
+        // When: The snapshot is rebuilt again
+        restarted.rebuild();
+
+        // Then: Nothing is published, the file was already replaced
+        assertEquals(1, events.size());
+    }
+
+    private static List<String> values(Optional<BranchSwiftCodeDTO> record) {
+        return record.map(MappedSwiftCodeSnapshotTest::values).orElse(null);
+    }
+
+    private static List<List<String>> values(List<BranchSwiftCodeDTO> records) {
+        return records.stream().map(MappedSwiftCodeSnapshotTest::values).collect(Collectors.toList());
+    }
+
+    private static List<String> values(BranchSwiftCodeDTO record) {
+        return Arrays.asList(record.getSwiftCode(), record.getBankName(), record.getAddress(),
+                record.getCountryISO2(), record.getCountryName(), String.valueOf(record.getHeadquarter()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.controller.MultipartFileStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the MultipartFileStream class.
+ * These tests read multipart bodies delivered in small pieces, so that boundaries are split across reads.
+ */
+class MultipartFileStreamTest {
+
+    private static final String CONTENT_TYPE = "multipart/form-data; boundary=\"XyZ\"";
+
+    /**
+     * Test that the content of the file part is returned up to its boundary.
+     */
+    @Test
+    void testFirstFile_ReadsFileContent() throws IOException {
+        // Given: A body with a preamble, a form field and a file whose content contains parts of the delimiter
+        String content = "a,b\r\nx--XyZ\r\n-\r\n--Xy";
+        String body = "preamble\r\n"
+                + "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"comment\"\r\n\r\n"
+                + "Not the file\r\n"
+                + "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"codes.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + content
+                + "\r\n--XyZ--\r\n";
+
+        // When: The file part is read
+        MultipartFileStream.FilePart filePart = MultipartFileStream.firstFile(trickle(body), CONTENT_TYPE);
+
+        // Then: The file name, content type and content are those of the file
+        assertNotNull(filePart);
+        assertEquals("codes.csv", filePart.fileName());
+        assertEquals("text/csv", filePart.contentType());
+        assertEquals(content, new String(filePart.content().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test that a body without a file has no file part.
+     */
+    @Test
+    void testFirstFile_NoFile() throws IOException {
+        // Given: A body with a single form field
+        String body = "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"comment\"\r\n\r\n"
+                + "Not a file\r\n"
+                + "--XyZ--\r\n";
+
+        // When & Then: No file part is found
+        assertNull(MultipartFileStream.firstFile(trickle(body), CONTENT_TYPE));
+    }
+
+    /**
+     * Test that a body cut before the closing boundary fails when the file is read.
+     */
+    @Test
+    void testFirstFile_TruncatedBody() throws IOException {
+        // Given: A file part without its closing boundary
+        String body = "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"codes.csv\"\r\n\r\n"
+                + "a,b\r\n";
+        MultipartFileStream.FilePart filePart = MultipartFileStream.firstFile(trickle(body), CONTENT_TYPE);
+
+        // When & Then: Reading the content fails instead of returning a partial file
+        assertNotNull(filePart);
+        assertThrows(IOException.class, () -> filePart.content().readAllBytes());
+    }
+
+    // A stream returning at most 3 bytes per read
+    private static InputStream trickle(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+}
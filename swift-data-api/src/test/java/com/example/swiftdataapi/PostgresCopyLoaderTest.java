@@ -0,0 +1,89 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.PostgresCopyLoader;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the PostgresCopyLoader class.
+ * These tests load rows with COPY into the database and verify that the merge
+ * applies the same duplicate rule as the JPA loader.
+ */
+@SpringBootTest
+class PostgresCopyLoaderTest {
+
+    @Autowired
+    private PostgresCopyLoader postgresCopyLoader;
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    /**
+     * Clears the repository before each test to ensure the database is clean.
+     */
+    @BeforeEach
+    void setUp() {
+        swiftCodeRepository.deleteAll();
+    }
+
+    /**
+     * Test that duplicates in the file and in the table are skipped.
+     */
+    @Test
+    void testLoad_SkipsDuplicates() throws Exception {
+        // Given: One record already exists in the table
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "PL", "TESTPLPWXXX", "Test Bank", "Old address", "POLAND", true));
+
+        // When: Load rows containing the existing record, a new record twice and a value with quotes and commas
+        LoadReport report = postgresCopyLoader.load(rowConsumer -> {
+            rowConsumer.accept(new SwiftCodeEntity(null, "PL", "TESTPLPWXXX", "Test Bank", "New address", "POLAND", true));
+            rowConsumer.accept(new SwiftCodeEntity(null, "PL", "TESTPLPW123", "Test Bank", "\"Main\" St, 1", "POLAND", false));
+            rowConsumer.accept(new SwiftCodeEntity(null, "PL", "TESTPLPW123", "Test Bank", "Second copy", "POLAND", false));
+            rowConsumer.accept(new SwiftCodeEntity(null, "PL", "TESTPLPW456", "Test Bank", "", "POLAND", false));
+        }, false);
+
+        // Then: Only the first occurrence of each new key is inserted
+        assertEquals(4, report.getRowsChecked());
+        assertEquals(2, report.getDuplicatesSkipped());
+        assertEquals(2, report.getRowsInserted());
+
+        SwiftCodeEntity branch = swiftCodeRepository.findBySwiftCode("TESTPLPW123").orElseThrow();
+        assertEquals("\"Main\" St, 1", branch.getAddress());
+        assertEquals("", swiftCodeRepository.findBySwiftCode("TESTPLPW456").orElseThrow().getAddress());
+        assertEquals("Old address", swiftCodeRepository.findBySwiftCode("TESTPLPWXXX").orElseThrow().getAddress());
+    }
+
+    /**
+     * Test that a full reload replaces the content of the table.
+     */
+    @Test
+    void testLoad_FullReload() throws Exception {
+        // Given: One record already exists in the table
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "PL", "TESTPLPWXXX", "Test Bank", "Old address", "POLAND", true));
+
+        // When: Reload the table with a different record
+        postgresCopyLoader.load(rowConsumer -> rowConsumer.accept(
+                new SwiftCodeEntity(null, "DE", "TESTDEFFXXX", "Other Bank", "Address", "GERMANY", true)), true);
+
+        // Then: Only the new record is present and new records can still be saved through JPA
+        List<SwiftCodeEntity> entities = swiftCodeRepository.findAll();
+        assertEquals(1, entities.size());
+        assertEquals("TESTDEFFXXX", entities.get(0).getSwiftCode());
+
+        SwiftCodeEntity saved = swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "DE", "TESTDEFF123", "Other Bank", "Address", "GERMANY", false));
+        assertTrue(saved.getId() > 0);
+    }
+}
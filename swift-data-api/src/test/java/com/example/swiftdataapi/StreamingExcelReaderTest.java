@@ -0,0 +1,107 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.StreamingExcelReader;
+import com.example.swiftdataapi.loader.SwiftCodeRowMapper;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Unit tests for the StreamingExcelReader class.
+ * The streaming reader must produce exactly the same entities as reading
+ * the workbook cell by cell with the POI usermodel API.
+ */
+class StreamingExcelReaderTest {
+
+    private static final File SWIFT_CODES_FILE = new File("src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that the bundled SWIFT codes file is read identically by both readers.
+     */
+    @Test
+    void testRead_MatchesWorkbookReader() throws Exception {
+        // When: Read the file with the streaming reader
+        List<SwiftCodeEntity> streamed = new ArrayList<>();
+        long rowCount = new StreamingExcelReader().read(SWIFT_CODES_FILE, streamed::add);
+
+        // Then: Every row matches the entity created from the in-memory workbook
+        List<SwiftCodeEntity> expected = readWithWorkbook(SWIFT_CODES_FILE);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), rowCount);
+        assertEquals(expected, streamed);
+    }
+
+    /**
+     * Test that numeric, boolean and missing cells are converted like Cell.toString() does.
+     */
+    @Test
+    void testRead_NonStringCells() throws Exception {
+        // Given: A workbook with a header row and rows containing non-string and missing cells
+        File file = tempDir.resolve("cells.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("COUNTRY ISO2 CODE");
+
+            Row numeric = sheet.createRow(1);
+            numeric.createCell(0).setCellValue(" pl ");
+            numeric.createCell(1).setCellValue("TESTPLPWXXX");
+            numeric.createCell(3).setCellValue(12345);
+            numeric.createCell(4).setCellValue(true);
+            numeric.createCell(6).setCellValue("poland");
+
+            // Row 2 is left out on purpose, row 3 only has a SWIFT code
+            sheet.createRow(3).createCell(1).setCellValue("TESTPLPW123");
+            workbook.write(out);
+        }
+
+        // When: Read the file with the streaming reader
+        List<SwiftCodeEntity> streamed = new ArrayList<>();
+        new StreamingExcelReader().read(file, streamed::add);
+
+        // Then: The values match the ones created from the in-memory workbook
+        assertEquals(readWithWorkbook(file), streamed);
+        assertEquals("12345.0", streamed.get(0).getBankName());
+        assertEquals("TRUE", streamed.get(0).getAddress());
+        assertEquals("PL", streamed.get(0).getCountryISO2());
+        assertEquals("", streamed.get(1).getBankName());
+    }
+
+    // Reads the file through the usermodel API, converting cells with Cell.toString()
+    private List<SwiftCodeEntity> readWithWorkbook(File file) throws Exception {
+        List<SwiftCodeEntity> entities = new ArrayList<>();
+        try (FileInputStream in = new FileInputStream(file); Workbook workbook = WorkbookFactory.create(in)) {
+            Iterator<Row> rows = workbook.getSheetAt(0).iterator();
+            rows.next(); // Skip header row
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                String[] cells = new String[SwiftCodeRowMapper.COLUMN_COUNT];
+                for (int i = 0; i < cells.length; i++) {
+                    Cell cell = row.getCell(i);
+                    cells[i] = cell != null ? cell.toString().trim() : "";
+                }
+                entities.add(SwiftCodeRowMapper.toEntity(cells));
+            }
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.config.CacheConfig;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.SwiftCodeCacheInvalidator;
+import com.example.swiftdataapi.service.SwiftCodeSnapshotFileReplacedEvent;
+import com.example.swiftdataapi.service.SwiftCodesChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the SwiftCodeCacheInvalidator class.
+ * These tests verify that changes evict exactly the cache entries which may contain the changed record.
+ */
+class SwiftCodeCacheInvalidatorTest {
+
+    private Cache detailsCache;
+    private Cache countryCache;
+    private SwiftCodeCacheInvalidator invalidator;
+
+    /**
+     * Creates the caches and fills them with entries for two banks in two countries.
+     */
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                CacheConfig.SWIFT_CODE_DETAILS_CACHE, CacheConfig.COUNTRY_SWIFT_CODES_CACHE);
+        detailsCache = cacheManager.getCache(CacheConfig.SWIFT_CODE_DETAILS_CACHE);
+        countryCache = cacheManager.getCache(CacheConfig.COUNTRY_SWIFT_CODES_CACHE);
+        invalidator = new SwiftCodeCacheInvalidator(cacheManager);
+
+        detailsCache.put("TESTUS33XXX", "headquarter");
+        detailsCache.put("TESTUS33ABC", "branch");
+        detailsCache.put("OTHRPLPWXXX", "other headquarter");
+        countryCache.put("US", "united states");
+        countryCache.put("PL", "poland");
+    }
+
+    /**
+     * Test that adding a branch evicts its headquarter and country but nothing else.
+     */
+    @Test
+    void testBranchAdded_EvictsHeadquarterAndCountry() {
+        // When: A new branch of the US bank is added
+        invalidator.onSwiftCodesChanged(SwiftCodesChangedEvent.added(new SwiftCodeEntity(
+                null, "US", "TESTUS33DEF", "Test Bank", "2 Side St", "UNITED STATES", false)));
+
+        // Then: The headquarter details and the country listing are evicted
+        assertNull(detailsCache.get("TESTUS33XXX"));
+        assertNull(countryCache.get("US"));
+
+        // Then: Entries of other records are kept
+        assertNotNull(detailsCache.get("TESTUS33ABC"));
+        assertNotNull(detailsCache.get("OTHRPLPWXXX"));
+        assertNotNull(countryCache.get("PL"));
+    }
+
+    /**
+     * Test that deleting a branch evicts its own details as well.
+     */
+    @Test
+    void testBranchDeleted_EvictsBranch() {
+        // When: The branch of the US bank is deleted
+        invalidator.onSwiftCodesChanged(SwiftCodesChangedEvent.deleted(new SwiftCodeEntity(
+                2L, "US", "TESTUS33ABC", "Test Bank", "1 Side St", "UNITED STATES", false)));
+
+        // Then: The branch, its headquarter and its country are evicted
+        assertNull(detailsCache.get("TESTUS33ABC"));
+        assertNull(detailsCache.get("TESTUS33XXX"));
+        assertNull(countryCache.get("US"));
+        assertNotNull(countryCache.get("PL"));
+    }
+
+    /**
+     * Test that a reload flushes both caches.
+     */
+    @Test
+    void testReloaded_FlushesEverything() {
+        // When: The table is reloaded
+        invalidator.onSwiftCodesChanged(SwiftCodesChangedEvent.reloaded());
+
+        // Then: No entry is left
+        assertNull(detailsCache.get("OTHRPLPWXXX"));
+        assertNull(countryCache.get("PL"));
+    }
+
+    /**
+     * Test that replacing the snapshot file of the read model flushes both caches.
+     */
+    @Test
+    void testSnapshotFileReplaced_FlushesEverything() {
+        // When: The read model stops serving its snapshot file
+        invalidator.onSnapshotFileReplaced(new SwiftCodeSnapshotFileReplacedEvent(2));
+
+        // Then: No entry cached from the file is left
+        assertNull(detailsCache.get("TESTUS33XXX"));
+        assertNull(countryCache.get("US"));
+    }
+}
@@ -9,10 +9,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -32,12 +35,17 @@ class SwiftCodeControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper; // ObjectMapper is used to convert Java objects to JSON and vice versa
 
+    @Autowired
+    private CacheManager cacheManager; // Caches of the read endpoints
+
     /**
      * Clears the repository before each test to ensure the database is clean.
      */
     @BeforeEach
     void setUp() {
         swiftCodeRepository.deleteAll(); // Clears all records from the database before each test
+        // The repository is modified directly, so cached responses of earlier tests are cleared as well
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     /**
@@ -90,4 +98,126 @@ class SwiftCodeControllerIntegrationTest {
                 .andExpect(status().isOk()) // Expect status code 200 OK
                 .andExpect(jsonPath("$.message").value("SWIFT code successfully deleted.")); // Verify the response message
     }
+
+    /**
+     * Test that a cached headquarter response is invalidated when a branch is added.
+     */
+    @Test
+    void testGetSwiftCodeDetails_CacheInvalidatedByAddedBranch() throws Exception {
+        // Given: A headquarter whose details are cached by a first request
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "United States", true));
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/TESTUS33XXX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.branches.length()").value(0));
+
+        // When: A branch of the headquarter is added through the API
+        BranchSwiftCodeDTO branchDTO = new BranchSwiftCodeDTO(
+                "1 Side St", "Test Bank", "US", "United States", false, "TESTUS33ABC");
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/swift-codes/")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(branchDTO)))
+                .andExpect(status().isOk());
+
+        // Then: The headquarter details include the new branch
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/TESTUS33XXX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.branches[0].swiftCode").value("TESTUS33ABC"));
+
+        // Then: Cache statistics are exposed
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics/cache.gets"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test for looking up several SWIFT codes in one request.
+     */
+    @Test
+    void testLookupSwiftCodes() throws Exception {
+        // Given: A headquarter with one branch
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "United States", true));
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "TESTUS33ABC", "Test Bank", "1 Side St", "United States", false));
+
+        // When & Then: The headquarter, the branch and an unknown code are resolved in one request
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/swift-codes/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"TESTUS33XXX\", \"TESTUS33ABC\", \"MISSINGXXXX\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.TESTUS33XXX.branches[0].swiftCode").value("TESTUS33ABC"))
+                .andExpect(jsonPath("$.TESTUS33ABC.headquarter").value(false))
+                .andExpect(jsonPath("$.MISSINGXXXX.message").value("SWIFT code not found: MISSINGXXXX"));
+    }
+
+    /**
+     * Test for retrieving the SWIFT codes of a country page by page.
+     */
+    @Test
+    void testGetSwiftCodesForCountry_Paged() throws Exception {
+        // Given: Three SWIFT codes in the US, saved out of order, and one in Poland
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "United States", true));
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "TESTUS33ABC", "Test Bank", "1 Side St", "United States", false));
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "AAAAUS33XXX", "First Bank", "2 Side St", "United States", true));
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "PL", "TESTPLPWXXX", "Test Bank", "1 Rynek", "Poland", true));
+
+        // When: The first page of two SWIFT codes is requested
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/country/us").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.swiftCodes.length()").value(2))
+                .andExpect(jsonPath("$.swiftCodes[0].swiftCode").value("AAAAUS33XXX"))
+                .andExpect(jsonPath("$.swiftCodes[1].swiftCode").value("TESTUS33ABC"))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        // Then: The next page holds the remaining SWIFT code and no cursor
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/country/US").param("cursor", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.swiftCodes.length()").value(1))
+                .andExpect(jsonPath("$.swiftCodes[0].swiftCode").value("TESTUS33XXX"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        // Then: Invalid cursors and page sizes are rejected
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/country/US").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/country/US").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        // Then: A country without SWIFT codes is an error, not an empty page
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/country/ZZ").param("limit", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("No SWIFT codes found for country ISO2 code: ZZ"));
+    }
+
+    /**
+     * Test for exporting all SWIFT codes as NDJSON.
+     */
+    @Test
+    void testExportSwiftCodes() throws Exception {
+        // Given: Two SWIFT codes in the database
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "United States", true));
+        swiftCodeRepository.save(new SwiftCodeEntity(
+                null, "PL", "TESTPLPWXXX", "Test Bank", "1 Rynek", "Poland", true));
+
+        // When: The export is requested, the body is streamed asynchronously
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/v1/swift-codes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        // Then: Every record is written on its own line
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("TESTUS33XXX", objectMapper.readTree(lines[0]).get("swiftCode").asText());
+        assertEquals("Poland", objectMapper.readTree(lines[1]).get("countryName").asText());
+    }
 }
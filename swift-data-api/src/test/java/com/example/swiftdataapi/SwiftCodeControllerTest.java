@@ -2,18 +2,30 @@ package com.example.swiftdataapi;
 
 import com.example.swiftdataapi.controller.SwiftCodeController;
 import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.loader.DataLoader;
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.service.IngestionJobService;
+import com.example.swiftdataapi.service.SwiftCodeExporter;
+import com.example.swiftdataapi.service.SwiftCodeJsonCache;
 import com.example.swiftdataapi.service.SwiftTableManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -21,14 +33,21 @@ import static org.mockito.Mockito.*;
  * Unit tests for SwiftCodeController.
  * These tests validate the correct behavior of the controller's endpoints
  * by mocking the service layer (SwiftTableManager).
+ * Read endpoints go through a real SwiftCodeJsonCache backed by in-memory caches.
  */
 class SwiftCodeControllerTest {
 
     @Mock
     private SwiftTableManager swiftTableManager; // Mocking the service that handles the logic for SWIFT codes.
 
-    @InjectMocks
-    private SwiftCodeController swiftCodeController; // The controller being tested. Mocks will be injected into this class.
+    @Mock
+    private SwiftCodeExporter swiftCodeExporter; // Mocking the exporter of the whole table.
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IngestionJobService ingestionJobService; // Runs the loads of the mocked service on its own thread.
+
+    private SwiftCodeController swiftCodeController; // The controller being tested, created with the mocked service.
 
     /**
      * Sets up the mocks before each test to initialize the mock objects.
@@ -36,42 +55,95 @@ class SwiftCodeControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this); // Initializes mocks before each test method runs.
+        // Responses of at least 64 bytes also get a gzip copy
+        SwiftCodeJsonCache jsonCache = new SwiftCodeJsonCache(swiftTableManager, objectMapper, new ConcurrentMapCacheManager(), true, 64);
+        ingestionJobService = new IngestionJobService(swiftTableManager, 1, 10);
+        swiftCodeController = new SwiftCodeController(swiftTableManager, jsonCache, swiftCodeExporter, ingestionJobService,
+                DataLoader.SWIFT_CODES_FILE);
+    }
+
+    /**
+     * Stops the ingestion thread after each test.
+     */
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ingestionJobService.shutdown();
     }
 
     /**
      * Test for successfully loading SWIFT data from Excel.
      */
     @Test
-    void testLoadExcel() {
-        // Given: Mock the loadSwiftDataFromExcel method to do nothing when invoked
-        doNothing().when(swiftTableManager).loadSwiftDataFromExcel(anyString());
+    void testLoadExcel() throws InterruptedException {
+        // Given: Mock the loadSwiftDataFromExcel method to return an empty report when invoked
+        when(swiftTableManager.loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any())).thenReturn(new LoadReport());
 
         // When: Invoke the controller's method to load Excel data
-        ResponseEntity<String> response = swiftCodeController.loadExcel();
+        ResponseEntity<String> response = swiftCodeController.loadExcel(LoadEngine.AUTO, false);
 
         // Then: Validate that the response is OK and the correct message is returned
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Data has been loaded.", response.getBody());
 
         // Verify that the service's method was called exactly once
-        verify(swiftTableManager, times(1)).loadSwiftDataFromExcel(anyString());
+        verify(swiftTableManager, times(1)).loadSwiftDataFromExcel(anyString(), eq(LoadEngine.AUTO), eq(false), any());
+    }
+
+    /**
+     * Test that a failed load is reported with its error.
+     */
+    @Test
+    void testLoadExcel_Failure() throws InterruptedException {
+        // Given: Mock the loadSwiftDataFromExcel method to fail
+        when(swiftTableManager.loadSwiftDataFromExcel(anyString(), any(), anyBoolean(), any()))
+                .thenThrow(new RuntimeException("Error loading Excel data"));
+
+        // When: Invoke the controller's method to load Excel data
+        ResponseEntity<String> response = swiftCodeController.loadExcel(LoadEngine.AUTO, false);
+
+        // Then: Validate that the error is returned
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals("Data load failed: Error loading Excel data", response.getBody());
     }
 
     /**
      * Test for successfully retrieving SWIFT code details.
      */
     @Test
-    void testGetSwiftCodeDetails_Success() {
+    void testGetSwiftCodeDetails_Success() throws Exception {
         // Given: Mock the getSwiftCodeDetails method to return a map with the correct swift code
         String swiftCode = "TESTUS33XXX";
         when(swiftTableManager.getSwiftCodeDetails(swiftCode)).thenReturn(Map.of("swiftCode", swiftCode));
 
         // When: Invoke the controller's method to get SWIFT code details
-        ResponseEntity<Object> response = swiftCodeController.getSwiftCodeDetails(swiftCode);
+        ResponseEntity<Object> response = swiftCodeController.getSwiftCodeDetails(swiftCode, null);
 
-        // Then: Validate the response status and that the correct SWIFT code is in the response body
+        // Then: Validate the response status and that the correct SWIFT code is in the serialized response body
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(swiftCode, ((Map<?, ?>) response.getBody()).get("swiftCode"));
+        assertEquals(swiftCode, objectMapper.readValue((byte[]) response.getBody(), Map.class).get("swiftCode"));
+    }
+
+    /**
+     * Test that repeated requests are served from the serialized response, compressed if the client accepts gzip.
+     */
+    @Test
+    void testGetSwiftCodeDetails_ServedFromJsonCache() throws Exception {
+        // Given: Mock the getSwiftCodeDetails method to return details large enough to be compressed
+        String swiftCode = "TESTUS33XXX";
+        when(swiftTableManager.getSwiftCodeDetails(swiftCode))
+                .thenReturn(Map.of("swiftCode", swiftCode, "address", "123 Main St".repeat(10)));
+
+        // When: Request the details without and then with gzip support
+        ResponseEntity<Object> plain = swiftCodeController.getSwiftCodeDetails(swiftCode, null);
+        ResponseEntity<Object> compressed = swiftCodeController.getSwiftCodeDetails(swiftCode, "deflate, gzip;q=0.8");
+
+        // Then: The service is called once, the second response is the gzip copy of the first one
+        verify(swiftTableManager, times(1)).getSwiftCodeDetails(swiftCode);
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) compressed.getBody()))) {
+            assertEquals(new String((byte[]) plain.getBody()), new String(in.readAllBytes()));
+        }
     }
 
     /**
@@ -84,7 +156,7 @@ class SwiftCodeControllerTest {
         when(swiftTableManager.getSwiftCodeDetails(swiftCode)).thenThrow(new IllegalArgumentException("SWIFT code not found"));
 
         // When: Invoke the controller's method to get details for an invalid SWIFT code
-        ResponseEntity<Object> response = swiftCodeController.getSwiftCodeDetails(swiftCode);
+        ResponseEntity<Object> response = swiftCodeController.getSwiftCodeDetails(swiftCode, null);
 
         // Then: Validate that the response status is NOT_FOUND and the correct error message is returned
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -0,0 +1,327 @@
+package com.example.swiftdataapi;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates synthetic SWIFT code datasets of any size, for load and scaling tests and for the benchmarks.
+ *
+ * Rows have the 8-column layout of the provided SWIFT codes spreadsheet (ISO2 code, SWIFT code, code type,
+ * bank name, address, town name, country name, time zone), so generated files can be loaded like the real one.
+ * The proportions follow the provided file:
+ * - about 90% of the headquarters have no branch, the others have a heavy-tailed number of branches
+ *   (half of them a single one, a few dozens at most),
+ * - about 1% of the banks have branches but no headquarter record,
+ * - a few countries hold most of the records (Zipf distribution over {@link #COUNTRIES}).
+ *
+ * Every SWIFT code is unique. The same seed always gives the same rows, and rows are generated one by one,
+ * so datasets of millions of rows never have to fit in memory.
+ *
+ * Command line: SwiftCodeDatasetGenerator &lt;rows&gt; &lt;file.xlsx|file.csv&gt; [seed]
+ */
+public final class SwiftCodeDatasetGenerator {
+
+    // Header row of the provided spreadsheet
+    public static final String[] HEADER = {
+            "COUNTRY ISO2 CODE", "SWIFT CODE", "CODE TYPE", "NAME", "ADDRESS", "TOWN NAME", "COUNTRY NAME", "TIME ZONE"
+    };
+
+    // Largest number of data rows of a single .xlsx sheet
+    public static final int MAX_XLSX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    // ISO2 code, name, town, region and time zone of the generated countries, most frequent first
+    static final String[][] COUNTRIES = {
+            {"PL", "POLAND", "WARSZAWA", "MAZOWIECKIE", "Europe/Warsaw"},
+            {"BG", "BULGARIA", "SOFIA", "SOFIA", "Europe/Sofia"},
+            {"MT", "MALTA", "VALLETTA", "VALLETTA", "Europe/Malta"},
+            {"CL", "CHILE", "SANTIAGO", "SANTIAGO", "Pacific/Easter"},
+            {"LV", "LATVIA", "RIGA", "RIGA", "Europe/Riga"},
+            {"MC", "MONACO", "MONACO", "MONACO", "Europe/Monaco"},
+            {"UY", "URUGUAY", "MONTEVIDEO", "MONTEVIDEO", "America/Montevideo"},
+            {"AL", "ALBANIA", "TIRANA", "TIRANA", "Europe/Tirane"},
+            {"DE", "GERMANY", "FRANKFURT AM MAIN", "HESSEN", "Europe/Berlin"},
+            {"FR", "FRANCE", "PARIS", "ILE-DE-FRANCE", "Europe/Paris"},
+            {"GB", "UNITED KINGDOM", "LONDON", "LONDON", "Europe/London"},
+            {"US", "UNITED STATES", "NEW YORK", "NEW YORK", "America/New_York"},
+            {"ES", "SPAIN", "MADRID", "MADRID", "Europe/Madrid"},
+            {"IT", "ITALY", "MILANO", "LOMBARDIA", "Europe/Rome"},
+            {"NL", "NETHERLANDS", "AMSTERDAM", "NOORD-HOLLAND", "Europe/Amsterdam"},
+            {"CH", "SWITZERLAND", "ZURICH", "ZURICH", "Europe/Zurich"},
+            {"AT", "AUSTRIA", "WIEN", "WIEN", "Europe/Vienna"},
+            {"CZ", "CZECHIA", "PRAHA", "PRAHA", "Europe/Prague"},
+            {"SE", "SWEDEN", "STOCKHOLM", "STOCKHOLM", "Europe/Stockholm"},
+            {"JP", "JAPAN", "TOKYO", "TOKYO", "Asia/Tokyo"},
+            {"AW", "ARUBA", "ORANJESTAD", "ORANJESTAD", "America/Aruba"}
+    };
+
+    // Probability that a headquarter has at least one branch
+    private static final double BRANCHING_PROBABILITY = 0.10;
+
+    // Probability that a bank has branches but no headquarter record
+    private static final double MISSING_HEADQUARTER_PROBABILITY = 0.01;
+
+    // Largest number of branches of a bank
+    private static final int MAX_BRANCHES = 100;
+
+    // Exponent of the Zipf distribution of the countries
+    private static final double COUNTRY_SKEW = 1.5;
+
+    private static final String[] BANK_WORDS = {
+            "FIRST", "NATIONAL", "CENTRAL", "COMMERCIAL", "COOPERATIVE", "INVESTMENT", "SAVINGS", "UNITED",
+            "INTERNATIONAL", "MERCHANT", "CAPITAL", "TRUST", "AGRICULTURAL", "MUNICIPAL", "PRIVATE", "EXPORT"
+    };
+
+    private static final String[] BANK_SUFFIXES = {"BANK S.A.", "BANK PLC", "BANK AG", "BANK LIMITED", "FINANCE S.A."};
+
+    private static final String[] STREETS = {
+            "MAIN STREET", "MARKET SQUARE", "BANK STREET", "CATHEDRAL ROAD", "FREEDOM AVENUE", "RIVER STREET",
+            "KING STREET", "STATION ROAD", "HARBOUR ROAD", "OLD TOWN SQUARE"
+    };
+
+    private final long seed;
+
+    // Cumulative probabilities of the countries
+    private final double[] countryDistribution = new double[COUNTRIES.length];
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed Seed of the random values, the same seed always gives the same rows
+     */
+    public SwiftCodeDatasetGenerator(long seed) {
+        this.seed = seed;
+        double total = 0;
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            total += 1 / Math.pow(i + 1, COUNTRY_SKEW);
+            countryDistribution[i] = total;
+        }
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            countryDistribution[i] /= total;
+        }
+    }
+
+    /**
+     * Generates the rows of a dataset. Rows are created while the stream is consumed.
+     *
+     * @param rowCount Number of rows
+     * @return The rows, without the header, each one with the 8 columns of the spreadsheet
+     */
+    public Stream<String[]> rows(long rowCount) {
+        return StreamSupport.stream(Spliterators.spliterator(
+                new RowIterator(rowCount), rowCount, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Writes a dataset to an .xlsx file, in streaming mode.
+     *
+     * @param rowCount Number of rows, at most {@link #MAX_XLSX_ROWS}
+     * @param file The file to create
+     */
+    public void writeXlsx(long rowCount, File file) throws IOException {
+        if (rowCount > MAX_XLSX_ROWS) {
+            throw new IllegalArgumentException("An .xlsx sheet holds at most " + MAX_XLSX_ROWS + " rows, use CSV for " + rowCount + " rows.");
+        }
+        // Only the last 1000 rows are kept in memory, the others are flushed to a temporary file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+        workbook.setCompressTempFiles(true);
+        try (OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("SWIFT CODES");
+            writeRow(sheet.createRow(0), HEADER);
+            Iterator<String[]> rows = rows(rowCount).iterator();
+            for (int rowIndex = 1; rows.hasNext(); rowIndex++) {
+                writeRow(sheet.createRow(rowIndex), rows.next());
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Writes a dataset to a UTF-8 CSV file (RFC 4180) with a header line.
+     *
+     * @param rowCount Number of rows
+     * @param file The file to create
+     */
+    public void writeCsv(long rowCount, File file) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+            writeCsvLine(writer, HEADER);
+            Iterator<String[]> rows = rows(rowCount).iterator();
+            while (rows.hasNext()) {
+                writeCsvLine(writer, rows.next());
+            }
+        }
+    }
+
+    private static void writeRow(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Generates the rows bank by bank: the headquarter first, then its branches.
+     */
+    private class RowIterator implements Iterator<String[]> {
+
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private final long rowCount;
+        private long rowsGenerated;
+
+        // State of the current bank
+        private int bankIndex = -1;
+        private String[] country;
+        private String prefix;
+        private String bankName;
+        private boolean headquarterPending;
+        private int branchesPending;
+        private int branchNumber;
+
+        RowIterator(long rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rowsGenerated < rowCount;
+        }
+
+        @Override
+        public String[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (!headquarterPending && branchesPending == 0) {
+                nextBank();
+            }
+            rowsGenerated++;
+            if (headquarterPending) {
+                headquarterPending = false;
+                return row(prefix + "XXX");
+            }
+            branchesPending--;
+            return row(prefix + code(++branchNumber, 3));
+        }
+
+        private void nextBank() {
+            bankIndex++;
+            country = COUNTRIES[country(random.nextDouble())];
+            // 4-letter bank code, then a 2-character location code starting at "AA", together unique for 423 million banks
+            prefix = letters(bankIndex % 456_976, 4) + country[0] + code(bankIndex / 456_976 + 370, 2);
+            bankName = BANK_WORDS[random.nextInt(BANK_WORDS.length)] + " "
+                    + BANK_WORDS[random.nextInt(BANK_WORDS.length)] + " "
+                    + BANK_SUFFIXES[random.nextInt(BANK_SUFFIXES.length)] + " " + prefix.substring(0, 4);
+            branchNumber = 0;
+
+            if (random.nextDouble() < MISSING_HEADQUARTER_PROBABILITY) {
+                headquarterPending = false;
+                branchesPending = branchCount();
+            } else {
+                headquarterPending = true;
+                branchesPending = random.nextDouble() < BRANCHING_PROBABILITY ? branchCount() : 0;
+            }
+        }
+
+        // Heavy-tailed number of branches: P(n >= k) = 1/k, so half of the banks have a single one
+        private int branchCount() {
+            double uniform = 1 - random.nextDouble();
+            return (int) Math.min(MAX_BRANCHES, Math.floor(1 / uniform));
+        }
+
+        private String[] row(String swiftCode) {
+            String town = country[2];
+            String address = (1 + random.nextInt(200)) + " " + STREETS[random.nextInt(STREETS.length)] + " "
+                    + town + ", " + country[3] + ", " + (10_000 + random.nextInt(90_000));
+            return new String[]{country[0], swiftCode, "BIC11", bankName, address, town, country[1], country[4]};
+        }
+    }
+
+    private int country(double uniform) {
+        for (int i = 0; i < countryDistribution.length - 1; i++) {
+            if (uniform < countryDistribution[i]) {
+                return i;
+            }
+        }
+        return countryDistribution.length - 1;
+    }
+
+    // Encodes a number as the given count of letters, A to Z
+    private static String letters(int value, int length) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ('A' + value % 26);
+            value /= 26;
+        }
+        return new String(chars);
+    }
+
+    // Encodes a number as the given count of digits and letters, 0 to Z
+    private static String code(int value, int length) {
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = Character.toUpperCase(Character.forDigit(value % 36, 36));
+            value /= 36;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Writes a dataset file, the format is chosen by the file extension (.xlsx or .csv).
+     *
+     * @param args Number of rows, file and optional seed
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SwiftCodeDatasetGenerator <rows> <file.xlsx|file.csv> [seed]");
+            System.exit(1);
+        }
+        long rowCount = Long.parseLong(args[0].replace("_", ""));
+        File file = new File(args[1]);
+        SwiftCodeDatasetGenerator generator = new SwiftCodeDatasetGenerator(args.length > 2 ? Long.parseLong(args[2]) : 1);
+
+        long start = System.nanoTime();
+        if (file.getName().endsWith(".csv")) {
+            generator.writeCsv(rowCount, file);
+        } else {
+            generator.writeXlsx(rowCount, file);
+        }
+        System.out.printf("Wrote %,d rows to %s (%,d bytes) in %.1f s%n",
+                rowCount, file, file.length(), (System.nanoTime() - start) / 1e9);
+    }
+}
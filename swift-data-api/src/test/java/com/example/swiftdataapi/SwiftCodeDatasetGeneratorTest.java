@@ -0,0 +1,141 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.StreamingExcelReader;
+import com.example.swiftdataapi.loader.SwiftCodeRowMapper;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SwiftCodeDatasetGenerator.
+ * These tests check that generated datasets are reproducible, have the proportions of the
+ * provided file and are read by the loader like the provided file.
+ */
+class SwiftCodeDatasetGeneratorTest {
+
+    @TempDir
+    Path tempDir; // Directory of the generated files
+
+    /**
+     * Test that the same seed always gives the same rows.
+     */
+    @Test
+    void testRowsAreReproducible() {
+        // When: generate the same dataset twice
+        List<String[]> first = new SwiftCodeDatasetGenerator(42).rows(1000).collect(Collectors.toList());
+        List<String[]> second = new SwiftCodeDatasetGenerator(42).rows(1000).collect(Collectors.toList());
+
+        // Then: the rows are identical
+        assertEquals(1000, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i), second.get(i));
+        }
+    }
+
+    /**
+     * Test the proportions of a large dataset: unique codes, headquarters and branches, country skew.
+     */
+    @Test
+    void testDatasetProportions() {
+        // Given: a dataset of 100,000 rows
+        List<SwiftCodeEntity> entities = new SwiftCodeDatasetGenerator(1).rows(100_000)
+                .map(SwiftCodeRowMapper::toEntity)
+                .collect(Collectors.toList());
+
+        // Then: every SWIFT code is unique and well-formed
+        Set<String> swiftCodes = new HashSet<>();
+        Set<String> headquarterPrefixes = new HashSet<>();
+        Map<String, Integer> rowsByCountry = new HashMap<>();
+        for (SwiftCodeEntity entity : entities) {
+            assertTrue(swiftCodes.add(entity.getSwiftCode()), "Duplicate SWIFT code " + entity.getSwiftCode());
+            assertEquals(11, entity.getSwiftCode().length());
+            assertEquals(entity.getCountryISO2(), entity.getSwiftCode().substring(4, 6));
+            if (entity.getHeadquarter()) {
+                headquarterPrefixes.add(entity.getBankPrefix());
+            }
+            rowsByCountry.merge(entity.getCountryISO2(), 1, Integer::sum);
+        }
+
+        // Then: most records are headquarters, and almost every branch has one
+        long headquarters = entities.stream().filter(SwiftCodeEntity::getHeadquarter).count();
+        assertTrue(headquarters > 55_000 && headquarters < 80_000, "Headquarters: " + headquarters);
+        long branchesWithoutHeadquarter = entities.stream()
+                .filter(entity -> !entity.getHeadquarter() && !headquarterPrefixes.contains(entity.getBankPrefix()))
+                .count();
+        assertTrue(branchesWithoutHeadquarter > 0 && branchesWithoutHeadquarter < 10_000,
+                "Branches without headquarter: " + branchesWithoutHeadquarter);
+
+        // Then: the first country holds most records, the last one only a few
+        assertTrue(rowsByCountry.get("PL") > 30_000, "Rows in PL: " + rowsByCountry.get("PL"));
+        assertTrue(rowsByCountry.get("PL") > 2 * rowsByCountry.get("BG"));
+        assertTrue(rowsByCountry.get("AW") < 2_000, "Rows in AW: " + rowsByCountry.get("AW"));
+    }
+
+    /**
+     * Test that a generated .xlsx file is read by the loader's reader with the generated values.
+     */
+    @Test
+    void testXlsxIsReadByLoader() throws Exception {
+        // Given: an .xlsx file of 5,000 rows
+        File file = tempDir.resolve("swift-codes.xlsx").toFile();
+        SwiftCodeDatasetGenerator generator = new SwiftCodeDatasetGenerator(7);
+        generator.writeXlsx(5000, file);
+
+        // When: read the file like the loader does
+        List<SwiftCodeEntity> entities = new ArrayList<>();
+        long rowsRead = new StreamingExcelReader().read(file, entities::add);
+
+        // Then: all rows are read, with the generated values
+        assertEquals(5000, rowsRead);
+        List<SwiftCodeEntity> expected = generator.rows(5000).map(SwiftCodeRowMapper::toEntity).collect(Collectors.toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getSwiftCode(), entities.get(i).getSwiftCode());
+            assertEquals(expected.get(i).getAddress(), entities.get(i).getAddress());
+            assertEquals(expected.get(i).getHeadquarter(), entities.get(i).getHeadquarter());
+        }
+    }
+
+    /**
+     * Test the layout of a generated CSV file.
+     */
+    @Test
+    void testCsvLayout() throws Exception {
+        // Given: a CSV file of 1,000 rows
+        File file = tempDir.resolve("swift-codes.csv").toFile();
+        new SwiftCodeDatasetGenerator(7).writeCsv(1000, file);
+
+        // Then: a header line and one line per row, addresses containing commas are quoted
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(1001, lines.size());
+        assertEquals(String.join(",", SwiftCodeDatasetGenerator.HEADER), lines.get(0));
+        assertTrue(lines.get(1).matches("[A-Z]{2},[A-Z0-9]{11},BIC11,[^,]+,\"[^\"]+\",.+"), lines.get(1));
+    }
+
+    /**
+     * Test that datasets larger than an .xlsx sheet are rejected.
+     */
+    @Test
+    void testXlsxRowLimit() {
+        // When & Then: more rows than a sheet holds
+        File file = tempDir.resolve("too-large.xlsx").toFile();
+        assertThrows(IllegalArgumentException.class,
+                () -> new SwiftCodeDatasetGenerator(1).writeXlsx(SwiftCodeDatasetGenerator.MAX_XLSX_ROWS + 1L, file));
+    }
+}
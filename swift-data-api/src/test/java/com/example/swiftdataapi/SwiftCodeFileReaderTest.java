@@ -0,0 +1,135 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.MappedCsvReader;
+import com.example.swiftdataapi.loader.SwiftCodeBinaryReader;
+import com.example.swiftdataapi.loader.SwiftCodeBinaryWriter;
+import com.example.swiftdataapi.loader.SwiftCodeFileReader;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the SwiftCodeFileReader class and the CSV and binary readers behind it.
+ * These tests read the same dataset in every format and verify that the rows are identical.
+ */
+class SwiftCodeFileReaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Test that the .xlsx, CSV and binary files of a dataset give the same rows.
+     */
+    @Test
+    void testRead_SameRowsInEveryFormat() throws Exception {
+        // Given: The same dataset as .xlsx and CSV, and the .xlsx file converted to the binary format
+        SwiftCodeDatasetGenerator generator = new SwiftCodeDatasetGenerator(7);
+        File xlsx = tempDir.resolve("codes.xlsx").toFile();
+        File csv = tempDir.resolve("codes.csv").toFile();
+        File binary = tempDir.resolve("codes.bin").toFile();
+        generator.writeXlsx(2000, xlsx);
+        generator.writeCsv(2000, csv);
+        assertEquals(2000, SwiftCodeBinaryWriter.convert(xlsx, binary));
+
+        // When: The three files are read
+        List<List<Object>> xlsxRows = read(xlsx);
+        List<List<Object>> csvRows = read(csv);
+        List<List<Object>> binaryRows = read(binary);
+
+        // Then: They have the same rows
+        assertEquals(2000, xlsxRows.size());
+        assertEquals(xlsxRows, csvRows);
+        assertEquals(xlsxRows, binaryRows);
+        assertTrue(SwiftCodeBinaryReader.isBinaryFile(binary));
+    }
+
+    /**
+     * Test that quoted values, line endings and rows crossing the mapped windows are read correctly.
+     */
+    @Test
+    void testReadCsv_QuotedValuesAcrossWindows() throws Exception {
+        // Given: A CSV file with a byte order mark, quoted values, a blank line and no line break at the end
+        String row = "PL,TESTPLPW%03d,BIC11,\"Test \"\"Bank\"\"\",\"1 Main St,\nWarsaw\",WARSAW,poland,Europe/Warsaw\r\n";
+        StringBuilder content = new StringBuilder("\uFEFFCOUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE\r\n");
+        for (int i = 0; i < 100; i++) {
+            content.append(String.format(row, i));
+        }
+        content.append("\r\nUS,TESTUS33XXX,BIC11,Last Bank,,NEW YORK,United States,America/New_York");
+        File csv = tempDir.resolve("codes.csv").toFile();
+        Files.writeString(csv.toPath(), content, StandardCharsets.UTF_8);
+
+        // When: The file is read through windows shorter than two rows
+        List<SwiftCodeEntity> entities = new ArrayList<>();
+        long rowCount = new MappedCsvReader(150).read(csv, entities::add);
+
+        // Then: Every row is read with its unescaped values
+        assertEquals(101, rowCount);
+        SwiftCodeEntity first = entities.get(0);
+        assertEquals("TESTPLPW000", first.getSwiftCode());
+        assertEquals("Test \"Bank\"", first.getBankName());
+        assertEquals("1 Main St,\nWarsaw", first.getAddress());
+        assertEquals("POLAND", first.getCountryName());
+        assertEquals("TESTPLPW099", entities.get(99).getSwiftCode());
+        SwiftCodeEntity last = entities.get(100);
+        assertEquals("TESTUS33XXX", last.getSwiftCode());
+        assertEquals("", last.getAddress());
+        assertTrue(last.getHeadquarter());
+    }
+
+    /**
+     * Test that a truncated binary file is not loaded partially.
+     */
+    @Test
+    void testReadBinary_TruncatedFile() throws Exception {
+        // Given: A binary file without its last bytes
+        File csv = tempDir.resolve("codes.csv").toFile();
+        File binary = tempDir.resolve("codes.bin").toFile();
+        new SwiftCodeDatasetGenerator(7).writeCsv(100, csv);
+        SwiftCodeBinaryWriter.convert(csv, binary);
+        byte[] bytes = Files.readAllBytes(binary.toPath());
+        Files.write(binary.toPath(), Arrays.copyOf(bytes, bytes.length - 20));
+
+        // When: The file is read
+        List<SwiftCodeEntity> rows = new ArrayList<>();
+        assertThrows(IOException.class, () -> new SwiftCodeBinaryReader().read(binary, rows::add));
+
+        // Then: Reading fails before any row is passed on
+        assertTrue(rows.isEmpty());
+    }
+
+    /**
+     * Test that a failed conversion leaves no binary file behind.
+     */
+    @Test
+    void testConvert_FailureDeletesTarget() throws Exception {
+        // Given: A source file which cannot be read
+        File source = tempDir.resolve("codes.xlsx").toFile();
+        Files.writeString(source.toPath(), "not a workbook");
+        File binary = tempDir.resolve("codes.bin").toFile();
+
+        // When & Then: The conversion fails and removes the binary file
+        assertThrows(Exception.class, () -> SwiftCodeBinaryWriter.convert(source, binary));
+        assertFalse(binary.exists());
+    }
+
+    private static List<List<Object>> read(File file) throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        new SwiftCodeFileReader().read(file, entity -> rows.add(List.of(entity.getCountryISO2(), entity.getSwiftCode(),
+                entity.getBankName(), entity.getAddress(), entity.getCountryName(), entity.getHeadquarter())));
+        return rows;
+    }
+}
@@ -0,0 +1,423 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.PostgresCopyLoader;
+import com.example.swiftdataapi.loader.SwiftCodeRowMapper;
+import com.example.swiftdataapi.service.SwiftCodesChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the SwiftCodeController endpoints.
+ *
+ * The test starts an embedded PostgreSQL server (or uses the database given by "swift.load-test.jdbc-url"),
+ * starts the application on a random port and seeds the table with a dataset of SwiftCodeDatasetGenerator.
+ * Concurrent clients then send mixed traffic over HTTP: reads of single SWIFT codes, country pages and batch
+ * lookups, and writes adding a branch and deleting it again, so the size of the table does not change.
+ * Keys are picked with a Zipf distribution of the configured skew, so a few hot keys get most of the requests.
+ *
+ * By default every client sends its next request when the previous one is answered. With a target rate,
+ * requests are sent on a fixed schedule and latencies are measured from the scheduled time, so a stalled
+ * server is not hidden by clients that stop sending (coordinated omission).
+ *
+ * Throughput and latency percentiles are printed per operation. The HDR histograms are written to
+ * "swift.load-test.results-dir": one percentile distribution (.hgrm) per operation, all histograms in a
+ * histogram log (latency.hlog) and one summary line per operation in summary.csv, to compare releases.
+ *
+ * Not part of the regular build, run it with e.g.:
+ * mvn test -Dtest=SwiftCodeLoadTest -Dswift.load-test=true -Dswift.load-test.rows=1000000
+ *
+ * The seeding replaces all records of the database given by "swift.load-test.jdbc-url".
+ * The embedded server cannot be started as root, use "swift.load-test.jdbc-url" in that case.
+ * The clients run in the JVM of the application, so the results are only comparable on the same machine.
+ */
+@EnabledIfSystemProperty(named = "swift.load-test", matches = "true")
+class SwiftCodeLoadTest {
+
+    private static final long ROWS = Long.getLong("swift.load-test.rows", 100_000);
+    private static final long SEED = Long.getLong("swift.load-test.seed", 1);
+    private static final int CONCURRENCY = Integer.getInteger("swift.load-test.concurrency", 32);
+    private static final double READ_RATIO = Double.parseDouble(System.getProperty("swift.load-test.read-ratio", "0.95"));
+    private static final double HOT_KEY_SKEW = Double.parseDouble(System.getProperty("swift.load-test.hot-key-skew", "1.0"));
+    private static final double TARGET_RATE = Double.parseDouble(System.getProperty("swift.load-test.rate", "0"));
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("swift.load-test.warm-up-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("swift.load-test.seconds", 30));
+    private static final String JDBC_URL = System.getProperty("swift.load-test.jdbc-url");
+    private static final String USERNAME = System.getProperty("swift.load-test.username", "postgres");
+    private static final String PASSWORD = System.getProperty("swift.load-test.password", "password");
+    private static final Path RESULTS_DIR = Path.of(System.getProperty("swift.load-test.results-dir", "target/load-test"));
+
+    // Share of the reads going to the single SWIFT code details and to the country pages, the rest are lookups
+    private static final double DETAILS_SHARE = 0.70;
+    private static final double COUNTRY_PAGE_SHARE = 0.15;
+
+    // Number of SWIFT codes in every batch lookup
+    private static final int LOOKUP_SIZE = 20;
+
+    // Number of SWIFT codes in every country page
+    private static final int PAGE_SIZE = 100;
+
+    // Highest latency recorded by the histograms, with 3 significant digits
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * The requests sent by the clients.
+     */
+    enum Operation {
+        DETAILS, COUNTRY_PAGE, LOOKUP, ADD_BRANCH, DELETE_BRANCH
+    }
+
+    /**
+     * Seeds the database, runs the traffic and reports the results.
+     */
+    @Test
+    void runLoadTest() throws Exception {
+        EmbeddedPostgres embeddedPostgres = JDBC_URL == null ? EmbeddedPostgres.builder().start() : null;
+        try {
+            String jdbcUrl = JDBC_URL != null ? JDBC_URL : embeddedPostgres.getJdbcUrl("postgres", "postgres");
+            try (ConfigurableApplicationContext context = startApplication(jdbcUrl)) {
+                Dataset dataset = seed(context);
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1/swift-codes";
+                ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+                drive(baseUrl, dataset, objectMapper, WARM_UP);
+                Result result = drive(baseUrl, dataset, objectMapper, DURATION);
+                report(result);
+
+                assertTrue(result.histograms().get(Operation.DETAILS).getTotalCount() > 0);
+            }
+        } finally {
+            if (embeddedPostgres != null) {
+                embeddedPostgres.close();
+            }
+        }
+    }
+
+    // The settings are passed as command line arguments, so they take precedence over application.properties
+    private static ConfigurableApplicationContext startApplication(String jdbcUrl) {
+        return new SpringApplicationBuilder(SwiftDataApiApplication.class).run(
+                "--server.port=0",
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + USERNAME,
+                "--spring.datasource.password=" + PASSWORD,
+                "--spring.datasource.hikari.maximum-pool-size=" + Math.max(10, CONCURRENCY / 2),
+                "--swift.loader.engine=AUTO");
+    }
+
+    // Replaces the table with a generated dataset and reads the keys used by the clients
+    private static Dataset seed(ConfigurableApplicationContext context) throws Exception {
+        long start = System.nanoTime();
+        SwiftCodeDatasetGenerator generator = new SwiftCodeDatasetGenerator(SEED);
+        LoadReport report = context.getBean(PostgresCopyLoader.class).load(
+                rowConsumer -> generator.rows(ROWS).map(SwiftCodeRowMapper::toEntity).forEach(rowConsumer), true);
+        context.publishEvent(SwiftCodesChangedEvent.reloaded());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("ANALYZE swift_codes");
+        List<Key> keys = jdbcTemplate.query(
+                "SELECT swift_code, bank_name, countryiso2, country_name FROM swift_codes",
+                (rs, rowNum) -> new Key(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+        // The hottest keys are spread over banks and countries instead of following the table order
+        Collections.shuffle(keys, new Random(SEED));
+        List<Key> headquarters = keys.stream().filter(key -> key.swiftCode().endsWith("XXX")).collect(Collectors.toList());
+
+        System.out.printf("Seeded %,d rows in %.1f s: %s%n", report.getRowsInserted(),
+                (System.nanoTime() - start) / 1e9, report);
+        return new Dataset(keys, headquarters);
+    }
+
+    // Runs CONCURRENCY clients for the given time
+    private static Result drive(String baseUrl, Dataset dataset, ObjectMapper objectMapper, Duration duration) throws Exception {
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(Math.max(4, CONCURRENCY / 4));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(httpExecutor)
+                .build();
+        // Time between two requests of a client, 0 if every client sends as fast as it is answered
+        long intervalNanos = TARGET_RATE > 0 ? (long) (CONCURRENCY * 1e9 / TARGET_RATE) : 0;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<ClientResult>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            LoadClient loadClient = new LoadClient(i, baseUrl, dataset, client, objectMapper);
+            // Clients of a fixed-rate run start evenly spread over one interval
+            long firstRequest = start + intervalNanos * i / CONCURRENCY;
+            futures.add(clients.submit(() -> loadClient.run(firstRequest, end, intervalNanos)));
+        }
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, newHistogram());
+            errors.put(operation, 0L);
+        }
+        for (Future<ClientResult> future : futures) {
+            ClientResult result = future.get();
+            result.histograms().forEach((operation, histogram) -> histograms.get(operation).add(histogram));
+            result.errors().forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+        httpExecutor.shutdown();
+
+        long startMillis = System.currentTimeMillis() - (System.nanoTime() - start) / 1_000_000;
+        for (Operation operation : Operation.values()) {
+            histograms.get(operation).setStartTimeStamp(startMillis);
+            histograms.get(operation).setEndTimeStamp(startMillis + duration.toMillis());
+            histograms.get(operation).setTag(operation.name());
+        }
+        return new Result(histograms, errors, duration.toNanos() / 1e9);
+    }
+
+    // Prints the results and writes the histograms to RESULTS_DIR
+    private static void report(Result result) throws IOException {
+        Files.createDirectories(RESULTS_DIR);
+        Histogram total = newHistogram();
+        result.histograms().values().forEach(total::add);
+
+        List<String> summary = new ArrayList<>();
+        summary.add("operation,requests,errors,requests_per_second,p50_ms,p99_ms,p999_ms,max_ms");
+        System.out.printf("%,d rows, %d clients, read ratio %.2f, hot-key skew %.2f, %s, %.0f s%n",
+                ROWS, CONCURRENCY, READ_RATIO, HOT_KEY_SKEW,
+                TARGET_RATE > 0 ? String.format("target rate %.0f req/s", TARGET_RATE) : "closed loop", result.seconds());
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = result.histograms().get(operation);
+            summary.add(summaryLine(operation.name(), histogram, result.errors().get(operation), result.seconds()));
+            try (PrintStream out = new PrintStream(RESULTS_DIR.resolve(operation.name() + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+        long totalErrors = result.errors().values().stream().mapToLong(Long::longValue).sum();
+        summary.add(summaryLine("TOTAL", total, totalErrors, result.seconds()));
+        Files.write(RESULTS_DIR.resolve("summary.csv"), summary, StandardCharsets.UTF_8);
+
+        try (PrintStream out = new PrintStream(RESULTS_DIR.resolve("latency.hlog").toFile(), StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(total.getStartTimeStamp());
+            writer.outputLegend();
+            result.histograms().values().forEach(writer::outputIntervalHistogram);
+        }
+
+        summary.forEach(System.out::println);
+        System.out.println("Histograms written to " + RESULTS_DIR.toAbsolutePath());
+    }
+
+    private static String summaryLine(String name, Histogram histogram, long errors, double seconds) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f", name, histogram.getTotalCount(), errors,
+                histogram.getTotalCount() / seconds, millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(MAX_LATENCY_NANOS, 3);
+    }
+
+    /**
+     * One client sending requests back to back, or on a fixed schedule.
+     * Every client adds branches with its own suffix and deletes them again, so clients never write the same code.
+     */
+    private static final class LoadClient {
+
+        private final String baseUrl;
+        private final Dataset dataset;
+        private final HttpClient client;
+        private final ObjectMapper objectMapper;
+
+        // Last 3 characters of the branches added by this client; generated branches start with "0"
+        private final String branchSuffix;
+
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        // Branch added by the previous write and not deleted yet
+        private Key addedBranch;
+
+        LoadClient(int index, String baseUrl, Dataset dataset, HttpClient client, ObjectMapper objectMapper) {
+            if (index >= 36 * 36) {
+                throw new IllegalArgumentException("At most " + 36 * 36 + " clients are supported.");
+            }
+            this.baseUrl = baseUrl;
+            this.dataset = dataset;
+            this.client = client;
+            this.objectMapper = objectMapper;
+            String suffix = Integer.toString(index, 36).toUpperCase();
+            this.branchSuffix = "Z" + (suffix.length() == 1 ? "0" + suffix : suffix);
+            for (Operation operation : Operation.values()) {
+                histograms.put(operation, newHistogram());
+                errors.put(operation, 0L);
+            }
+        }
+
+        ClientResult run(long firstRequest, long end, long intervalNanos) throws Exception {
+            long scheduled = firstRequest;
+            while (true) {
+                if (intervalNanos > 0) {
+                    long wait = scheduled - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                } else {
+                    scheduled = System.nanoTime();
+                }
+                if (scheduled >= end) {
+                    break;
+                }
+
+                Operation operation = nextOperation();
+                long start = intervalNanos > 0 ? scheduled : System.nanoTime();
+                boolean success = send(operation);
+                long latency = System.nanoTime() - start;
+
+                if (success) {
+                    histograms.get(operation).recordValue(Math.min(latency, MAX_LATENCY_NANOS));
+                } else {
+                    errors.merge(operation, 1L, Long::sum);
+                }
+                scheduled += intervalNanos;
+            }
+            // Leaves the table as it was seeded
+            if (addedBranch != null) {
+                send(Operation.DELETE_BRANCH);
+            }
+            return new ClientResult(histograms, errors);
+        }
+
+        private Operation nextOperation() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() >= READ_RATIO) {
+                return addedBranch == null ? Operation.ADD_BRANCH : Operation.DELETE_BRANCH;
+            }
+            double read = random.nextDouble();
+            if (read < DETAILS_SHARE) {
+                return Operation.DETAILS;
+            }
+            return read < DETAILS_SHARE + COUNTRY_PAGE_SHARE ? Operation.COUNTRY_PAGE : Operation.LOOKUP;
+        }
+
+        // Sends one request, returns whether it succeeded
+        private boolean send(Operation operation) throws Exception {
+            HttpRequest request;
+            Key branch = null;
+            switch (operation) {
+                case DETAILS -> request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + dataset.hotKey().swiftCode())).GET().build();
+                case COUNTRY_PAGE -> request = HttpRequest.newBuilder(URI.create(
+                        baseUrl + "/country/" + dataset.hotKey().countryISO2() + "?limit=" + PAGE_SIZE)).GET().build();
+                case LOOKUP -> request = HttpRequest.newBuilder(URI.create(baseUrl + "/lookup"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                IntStream.range(0, LOOKUP_SIZE).mapToObj(i -> dataset.hotKey().swiftCode()).collect(Collectors.toList()))))
+                        .build();
+                case ADD_BRANCH -> {
+                    Key headquarter = dataset.hotHeadquarter();
+                    branch = new Key(headquarter.swiftCode().substring(0, 8) + branchSuffix, headquarter.bankName(),
+                            headquarter.countryISO2(), headquarter.countryName());
+                    BranchSwiftCodeDTO requestDTO = new BranchSwiftCodeDTO("1 LOAD TEST STREET", branch.bankName(),
+                            branch.countryISO2(), branch.countryName(), false, branch.swiftCode());
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestDTO)))
+                            .build();
+                }
+                default -> request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + addedBranch.swiftCode()
+                        + "?bankName=" + URLEncoder.encode(addedBranch.bankName(), StandardCharsets.UTF_8)
+                        + "&countryISO2=" + addedBranch.countryISO2())).DELETE().build();
+            }
+
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                boolean success = response.statusCode() == 200;
+                if (success && operation == Operation.ADD_BRANCH) {
+                    addedBranch = branch;
+                } else if (success && operation == Operation.DELETE_BRANCH) {
+                    addedBranch = null;
+                }
+                return success;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A record of the seeded table.
+     */
+    private record Key(String swiftCode, String bankName, String countryISO2, String countryName) {
+    }
+
+    /**
+     * The keys of the seeded table, in order of popularity.
+     */
+    private record Dataset(List<Key> keys, List<Key> headquarters) {
+
+        Key hotKey() {
+            return keys.get(zipfIndex(keys.size()));
+        }
+
+        Key hotHeadquarter() {
+            return headquarters.get(zipfIndex(headquarters.size()));
+        }
+
+        // Index from 0 to size - 1, where index k is picked with a probability proportional to 1 / (k + 1)^HOT_KEY_SKEW.
+        // Uses the inverse of the continuous distribution, which is close enough for traffic generation.
+        private static int zipfIndex(int size) {
+            double uniform = ThreadLocalRandom.current().nextDouble();
+            double rank = HOT_KEY_SKEW == 1.0
+                    ? Math.pow(size + 1, uniform)
+                    : Math.pow((Math.pow(size + 1, 1 - HOT_KEY_SKEW) - 1) * uniform + 1, 1 / (1 - HOT_KEY_SKEW));
+            return (int) Math.min(size - 1, Math.max(0, Math.floor(rank) - 1));
+        }
+    }
+
+    private record ClientResult(Map<Operation, Histogram> histograms, Map<Operation, Long> errors) {
+    }
+
+    private record Result(Map<Operation, Histogram> histograms, Map<Operation, Long> errors, double seconds) {
+    }
+}
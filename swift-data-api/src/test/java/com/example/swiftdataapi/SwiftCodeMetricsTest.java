@@ -0,0 +1,91 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.SwiftCodeMetrics;
+import com.example.swiftdataapi.service.SwiftCodeReadModel;
+import com.example.swiftdataapi.service.SwiftCodesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the SwiftCodeMetrics class.
+ * These tests check the meters of the data loads and the gauge of the table size.
+ */
+class SwiftCodeMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SwiftCodeRepository swiftCodeRepository;
+    private SwiftCodeMetrics metrics;
+
+    /**
+     * Creates the metrics with an in-memory registry and a mocked repository.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        swiftCodeRepository = mock(SwiftCodeRepository.class);
+        metrics = new SwiftCodeMetrics(meterRegistry, swiftCodeRepository, mock(SwiftCodeReadModel.class));
+    }
+
+    /**
+     * Test that a load increments the row counters of its engine and records its duration.
+     */
+    @Test
+    void testRecordLoad() {
+        // Given: A load which parsed 100 rows and inserted 90 of them
+        LoadReport report = new LoadReport();
+        report.addDedupResult(100, 10, 0);
+        report.addInserted(90);
+
+        // When: The load is recorded, it took 2 seconds
+        metrics.recordLoad(LoadEngine.COPY, report, TimeUnit.SECONDS.toNanos(2));
+
+        // Then: The counters of the COPY engine are incremented
+        assertEquals(100, meterRegistry.get("swift.loader.rows.parsed").tag("engine", "COPY").counter().count());
+        assertEquals(90, meterRegistry.get("swift.loader.rows.inserted").tag("engine", "COPY").counter().count());
+        assertEquals(10, meterRegistry.get("swift.loader.rows.duplicates").tag("engine", "COPY").counter().count());
+
+        // Then: The duration and the rows per second are recorded
+        assertEquals(1, meterRegistry.get("swift.loader.duration").tag("outcome", "success").timer().count());
+        assertEquals(50, meterRegistry.get("swift.loader.rows.per.second").gauge().value());
+    }
+
+    /**
+     * Test that the table size follows the changes of the table.
+     */
+    @Test
+    void testRecordsFollowChanges() {
+        // Given: The table has 10 records at startup
+        when(swiftCodeRepository.count()).thenReturn(10L);
+        metrics.onApplicationReady();
+
+        // When: A record is added twice and deleted once
+        SwiftCodeEntity entity = new SwiftCodeEntity(null, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true);
+        metrics.onSwiftCodesChanged(SwiftCodesChangedEvent.added(entity));
+        metrics.onSwiftCodesChanged(SwiftCodesChangedEvent.added(entity));
+        metrics.onSwiftCodesChanged(SwiftCodesChangedEvent.deleted(entity));
+
+        // Then: The gauge is updated without counting again
+        assertEquals(11, meterRegistry.get("swift.codes.records").gauge().value());
+        verify(swiftCodeRepository, times(1)).count();
+
+        // When: The table is reloaded
+        when(swiftCodeRepository.count()).thenReturn(500L);
+        metrics.onSwiftCodesChanged(SwiftCodesChangedEvent.reloaded());
+
+        // Then: The records are counted again
+        assertEquals(500, meterRegistry.get("swift.codes.records").gauge().value());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.service.SwiftCodeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SwiftCodeSnapshot class.
+ * These tests verify the indexes of the snapshot and that changes never modify an existing snapshot.
+ */
+class SwiftCodeSnapshotTest {
+
+    private final SwiftCodeEntity headquarter = new SwiftCodeEntity(
+            1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true);
+    private final SwiftCodeEntity branch = new SwiftCodeEntity(
+            2L, "US", "TESTUS33ABC", "Test Bank", "1 Side St", "UNITED STATES", false);
+    private final SwiftCodeEntity otherBank = new SwiftCodeEntity(
+            3L, "PL", "OTHRPLPWXXX", "Other Bank", "Senatorska 16", "POLAND", true);
+
+    /**
+     * Test lookups by SWIFT code, country and institution prefix.
+     */
+    @Test
+    void testOf_IndexesRecords() {
+        // When: Build a snapshot from three records
+        SwiftCodeSnapshot snapshot = SwiftCodeSnapshot.of(List.of(headquarter, branch, otherBank));
+
+        // Then: Records can be found by code, by country and as branches of their headquarter
+        assertEquals(3, snapshot.size());
+        assertEquals("123 Main St", snapshot.findBySwiftCode("TESTUS33XXX").orElseThrow().getAddress());
+        assertTrue(snapshot.findBySwiftCode("MISSINGXXXX").isEmpty());
+        assertEquals(2, snapshot.findAllByCountryISO2("US").size());
+        assertTrue(snapshot.findAllByCountryISO2("DE").isEmpty());
+
+        List<BranchSwiftCodeDTO> branches = snapshot.findBranches("TESTUS33XXX");
+        assertEquals(1, branches.size());
+        assertEquals("TESTUS33ABC", branches.get(0).getSwiftCode());
+    }
+
+    /**
+     * Test that adding and removing records creates new snapshots and leaves the original unchanged.
+     */
+    @Test
+    void testWithAddedAndRemoved_CopyOnWrite() {
+        // Given: A snapshot with the headquarter only
+        SwiftCodeSnapshot original = SwiftCodeSnapshot.of(List.of(headquarter));
+
+        // When: Add the branch, then remove the headquarter
+        SwiftCodeSnapshot added = original.withAdded(branch);
+        SwiftCodeSnapshot removed = added.withRemoved(headquarter);
+
+        // Then: Each snapshot keeps its own content
+        assertEquals(1, original.size());
+        assertTrue(original.findBranches("TESTUS33XXX").isEmpty());
+
+        assertEquals(2, added.size());
+        assertEquals(1, added.findBranches("TESTUS33XXX").size());
+
+        assertEquals(1, removed.size());
+        assertTrue(removed.findBySwiftCode("TESTUS33XXX").isEmpty());
+        assertEquals(List.of("TESTUS33ABC"),
+                removed.findAllByCountryISO2("US").stream().map(BranchSwiftCodeDTO::getSwiftCode).toList());
+    }
+
+    /**
+     * Test that applying the same change twice has no additional effect.
+     */
+    @Test
+    void testWithAddedAndRemoved_Idempotent() {
+        // Given: A snapshot already containing the branch
+        SwiftCodeSnapshot snapshot = SwiftCodeSnapshot.of(List.of(headquarter, branch));
+
+        // When & Then: Adding the branch again does not duplicate it
+        SwiftCodeSnapshot added = snapshot.withAdded(branch);
+        assertEquals(2, added.size());
+        assertEquals(2, added.findAllByCountryISO2("US").size());
+
+        // When & Then: Removing a record which is not present returns the same snapshot
+        assertSame(snapshot, snapshot.withRemoved(otherBank));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.model.SwiftCodeEntity;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the SwiftCodeUploadController class.
+ * These tests upload CSV and .xlsx files as raw and multipart bodies and verify the loaded records and rejected rows.
+ */
+@SpringBootTest(properties = "swift.upload.max-size=256KB")
+@AutoConfigureMockMvc
+class SwiftCodeUploadControllerTest {
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SwiftCodeRepository swiftCodeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TempDir
+    private Path tempDir;
+
+    /**
+     * Clears the repository before each test to ensure the database is clean.
+     */
+    @BeforeEach
+    void setUp() {
+        swiftCodeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    /**
+     * Test that the valid rows of a CSV body are loaded and the invalid ones are reported.
+     */
+    @Test
+    void testUploadCsv_RejectsInvalidRows() throws Exception {
+        // Given: A CSV file with a byte order mark, a quoted address, an invalid SWIFT code, a blank line and a short row
+        String csv = "\uFEFFCOUNTRY ISO2 CODE,SWIFT CODE,CODE TYPE,NAME,ADDRESS,TOWN NAME,COUNTRY NAME,TIME ZONE\r\n"
+                + "PL,TESTPLPWXXX,BIC11,Test Bank,\"1 Main St, \"\"Tower\"\"\r\nFloor 2\",WARSAW,Poland,Europe/Warsaw\r\n"
+                + "PL,TESTPLPW123,BIC11,Test Bank,2 Side St,WARSAW,Poland,Europe/Warsaw\r\n"
+                + "PL,NOT-A-CODE,BIC11,Test Bank,3 Side St,WARSAW,Poland,Europe/Warsaw\r\n"
+                + "\r\n"
+                + "PL,TESTPLPW456,Test Bank\r\n";
+
+        // When & Then: The file is uploaded as the request body, two rows are loaded and two are rejected
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/swift-codes/uploads")
+                        .param("name", "codes.csv")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.rowsInserted").value(2))
+                .andExpect(jsonPath("$.rowsRejected").value(2))
+                .andExpect(jsonPath("$.rejects[0].row").value(4))
+                .andExpect(jsonPath("$.rejects[0].swiftCode").value("NOT-A-CODE"))
+                .andExpect(jsonPath("$.rejects[0].reason").value("Invalid SWIFT code"))
+                .andExpect(jsonPath("$.rejects[1].row").value(5))
+                .andExpect(jsonPath("$.rejects[1].reason").value("Expected 8 columns, found 3"));
+
+        // Then: The quoted address is stored as written
+        assertEquals("1 Main St, \"Tower\"\r\nFloor 2",
+                swiftCodeRepository.findBySwiftCode("TESTPLPWXXX").orElseThrow().getAddress());
+    }
+
+    /**
+     * Test that the file of a multipart body is loaded.
+     */
+    @Test
+    void testUploadXlsx_Multipart() throws Exception {
+        // Given: An .xlsx file sent after a form field in a multipart body
+        File file = tempDir.resolve("codes.xlsx").toFile();
+        new SwiftCodeDatasetGenerator(42).writeXlsx(200, file);
+        String boundary = "----UploadBoundary7MA4YWxk";
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"comment\"\r\n\r\n"
+                + "Monthly update\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"codes.xlsx\"\r\n"
+                + "Content-Type: " + XLSX_CONTENT_TYPE + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(Files.readAllBytes(file.toPath()));
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        // When & Then: Every row of the file is loaded
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/swift-codes/uploads")
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.source").value("upload:codes.xlsx"))
+                .andExpect(jsonPath("$.rowsInserted").value(200))
+                .andExpect(jsonPath("$.rowsRejected").value(0));
+        assertEquals(200, swiftCodeRepository.count());
+    }
+
+    /**
+     * Test that uploads above the size limit are refused.
+     */
+    @Test
+    void testUpload_TooLarge() throws Exception {
+        // Given: A CSV file larger than the limit of 256 KB
+        File file = tempDir.resolve("codes.csv").toFile();
+        new SwiftCodeDatasetGenerator(42).writeCsv(5000, file);
+
+        // When & Then: The upload is refused and nothing is loaded
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/swift-codes/uploads")
+                        .contentType("text/csv")
+                        .content(Files.readAllBytes(file.toPath())))
+                .andExpect(status().isPayloadTooLarge());
+        assertEquals(0, swiftCodeRepository.count());
+    }
+
+    /**
+     * Test that a chunked upload exceeding the limit while it is loaded is rolled back.
+     */
+    @Test
+    void testUpload_TooLargeChunkedRolledBack() throws Exception {
+        // Given: A loaded record and a CSV file of several chunks, larger than the limit of 256 KB
+        swiftCodeRepository.save(new SwiftCodeEntity(null, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true));
+        File file = tempDir.resolve("codes.csv").toFile();
+        new SwiftCodeDatasetGenerator(42).writeCsv(5000, file);
+
+        // When & Then: The JPA reload, sent without a length, is refused once the limit is exceeded
+        byte[] content = Files.readAllBytes(file.toPath());
+        mockMvc.perform(servletContext -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "POST", "/v1/swift-codes/uploads") {
+                        @Override
+                        public long getContentLengthLong() {
+                            return -1;
+                        }
+                    };
+                    request.setContentType("text/csv");
+                    request.setContent(content);
+                    request.addParameter("engine", "JPA");
+                    request.addParameter("fullReload", "true");
+                    return request;
+                })
+                .andExpect(status().isPayloadTooLarge());
+
+        // Then: The chunks already saved are rolled back and the previous record is kept
+        assertEquals(1, swiftCodeRepository.count());
+        assertTrue(swiftCodeRepository.findBySwiftCode("TESTUS33XXX").isPresent());
+    }
+
+    /**
+     * Test that files which are neither CSV nor .xlsx are refused.
+     */
+    @Test
+    void testUpload_UnsupportedFormat() throws Exception {
+        // When & Then: A JSON body is refused
+        mockMvc.perform(MockMvcRequestBuilders.post("/v1/swift-codes/uploads")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
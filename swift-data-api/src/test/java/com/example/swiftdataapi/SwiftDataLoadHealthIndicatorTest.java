@@ -0,0 +1,139 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.DataLoader;
+import com.example.swiftdataapi.loader.SwiftDataLoadHealthIndicator;
+import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.IngestionJob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the SwiftDataLoadHealthIndicator class.
+ * These tests check that the health follows the startup load and whether the table has records to serve.
+ */
+class SwiftDataLoadHealthIndicatorTest {
+
+    private DataLoader dataLoader;
+    private SwiftCodeRepository swiftCodeRepository;
+    private SwiftDataLoadHealthIndicator healthIndicator;
+
+    /**
+     * Creates the indicator with a mocked loader and repository.
+     */
+    @BeforeEach
+    void setUp() {
+        dataLoader = mock(DataLoader.class);
+        swiftCodeRepository = mock(SwiftCodeRepository.class);
+        healthIndicator = new SwiftDataLoadHealthIndicator(dataLoader, swiftCodeRepository);
+    }
+
+    /**
+     * Test that the application is not ready while an empty table is being loaded.
+     */
+    @Test
+    void testHealth_LoadingEmptyTable() {
+        // Given: The startup load is running and the table is empty
+        IngestionJob job = startupJob(IngestionJob.State.RUNNING);
+        when(job.getRowsParsed()).thenReturn(500L);
+        when(swiftCodeRepository.existsAnyRecord()).thenReturn(false);
+
+        // When: The health is checked
+        Health health = healthIndicator.health();
+
+        // Then: The data cannot be queried yet and the progress is reported
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(IngestionJob.State.RUNNING, health.getDetails().get("state"));
+        assertEquals(500L, health.getDetails().get("rowsParsed"));
+    }
+
+    /**
+     * Test that the existing records are served while the load runs.
+     */
+    @Test
+    void testHealth_LoadingFilledTable() {
+        // Given: The startup load is running and the table already has records
+        startupJob(IngestionJob.State.RUNNING);
+        when(swiftCodeRepository.existsAnyRecord()).thenReturn(true);
+
+        // When: The health is checked
+        Health health = healthIndicator.health();
+
+        // Then: The data can be queried
+        assertEquals(Status.UP, health.getStatus());
+    }
+
+    /**
+     * Test that a failed load is only DOWN when there is nothing to serve.
+     */
+    @Test
+    void testHealth_LoadFailed() {
+        // Given: The startup load failed and the table is empty
+        IngestionJob job = startupJob(IngestionJob.State.FAILED);
+        when(job.getError()).thenReturn("Error loading Excel data");
+        when(swiftCodeRepository.existsAnyRecord()).thenReturn(false);
+
+        // When: The health is checked
+        Health health = healthIndicator.health();
+
+        // Then: The application is DOWN with the error of the load
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals("Error loading Excel data", health.getDetails().get("error"));
+
+        // When: The table has records, e.g. from an earlier deployment
+        when(swiftCodeRepository.existsAnyRecord()).thenReturn(true);
+
+        // Then: The existing records are still served
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    /**
+     * Test that a database outage makes the application not ready instead of failing the health check.
+     */
+    @Test
+    void testHealth_DatabaseUnavailable() {
+        // Given: The startup load is running and the database cannot be reached
+        startupJob(IngestionJob.State.RUNNING);
+        when(swiftCodeRepository.existsAnyRecord()).thenThrow(new CannotCreateTransactionException("Connection refused"));
+
+        // When: The health is checked
+        Health health = healthIndicator.health();
+
+        // Then: The data cannot be queried and the error is reported
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals("Connection refused", health.getDetails().get("databaseError"));
+    }
+
+    /**
+     * Test that the application is up once the load has succeeded, without querying the table.
+     */
+    @Test
+    void testHealth_LoadSucceeded() {
+        // Given: The startup load has succeeded
+        startupJob(IngestionJob.State.SUCCEEDED);
+
+        // When: The health is checked
+        Health health = healthIndicator.health();
+
+        // Then: The data can be queried
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(IngestionJob.State.SUCCEEDED, health.getDetails().get("state"));
+        verify(swiftCodeRepository, never()).existsAnyRecord();
+    }
+
+    private IngestionJob startupJob(IngestionJob.State state) {
+        IngestionJob job = mock(IngestionJob.class);
+        when(job.getId()).thenReturn("job-1");
+        when(job.getState()).thenReturn(state);
+        when(dataLoader.getStartupJob()).thenReturn(job);
+        return job;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.swiftdataapi;
+
+import com.example.swiftdataapi.loader.DataLoader;
+import com.example.swiftdataapi.loader.SwiftDataLoadLivenessHealthIndicator;
+import com.example.swiftdataapi.service.IngestionJob;
+import com.example.swiftdataapi.service.IngestionJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the SwiftDataLoadLivenessHealthIndicator class.
+ * These tests check that liveness follows the state of the startup job only, the indicator has no access to the database.
+ */
+class SwiftDataLoadLivenessHealthIndicatorTest {
+
+    private DataLoader dataLoader;
+    private IngestionJobService ingestionJobService;
+    private SwiftDataLoadLivenessHealthIndicator healthIndicator;
+
+    /**
+     * Creates the indicator with a mocked loader and running ingestion threads.
+     */
+    @BeforeEach
+    void setUp() {
+        dataLoader = mock(DataLoader.class);
+        ingestionJobService = mock(IngestionJobService.class);
+        when(ingestionJobService.isRunning()).thenReturn(true);
+        healthIndicator = new SwiftDataLoadLivenessHealthIndicator(dataLoader, ingestionJobService);
+    }
+
+    /**
+     * Test that a running or failed load does not make the application dead.
+     */
+    @Test
+    void testHealth_LoadRunningOrFailed() {
+        // Given: The startup load is running
+        startupJob(IngestionJob.State.RUNNING);
+
+        // When & Then: The application is alive
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+
+        // When: The load fails, e.g. on a database outage
+        startupJob(IngestionJob.State.FAILED);
+
+        // Then: The application is still alive, readiness reports the failure
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+        assertEquals(IngestionJob.State.FAILED, healthIndicator.health().getDetails().get("state"));
+    }
+
+    /**
+     * Test that a load which can no longer finish makes the application dead.
+     */
+    @Test
+    void testHealth_IngestionStopped() {
+        // Given: The startup load is queued but the ingestion threads have been shut down
+        startupJob(IngestionJob.State.QUEUED);
+        when(ingestionJobService.isRunning()).thenReturn(false);
+
+        // When & Then: The application is DOWN
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    }
+
+    private void startupJob(IngestionJob.State state) {
+        IngestionJob job = mock(IngestionJob.class);
+        when(job.getId()).thenReturn("job-1");
+        when(job.getState()).thenReturn(state);
+        when(dataLoader.getStartupJob()).thenReturn(job);
+    }
+}
@@ -1,16 +1,40 @@
 package com.example.swiftdataapi;
 
+import com.example.swiftdataapi.dto.BranchListDTO;
 import com.example.swiftdataapi.dto.BranchSwiftCodeDTO;
+import com.example.swiftdataapi.dto.SwiftCodeResponseDTO;
+import com.example.swiftdataapi.dto.endpoint2.CountrySwiftCodesResponseDTO;
+import com.example.swiftdataapi.loader.IncrementalSwiftCodeLoader;
+import com.example.swiftdataapi.loader.LoadEngine;
+import com.example.swiftdataapi.loader.LoadProgress;
+import com.example.swiftdataapi.loader.LoadReport;
+import com.example.swiftdataapi.loader.PostgresCopyLoader;
 import com.example.swiftdataapi.model.SwiftCodeEntity;
 import com.example.swiftdataapi.repository.SwiftCodeRepository;
+import com.example.swiftdataapi.service.SwiftCodeMetrics;
+import com.example.swiftdataapi.service.SwiftCodeReadModel;
+import com.example.swiftdataapi.service.SwiftCodeSnapshot;
+import com.example.swiftdataapi.service.SwiftCodesChangedEvent;
 import com.example.swiftdataapi.service.SwiftTableManager;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +50,38 @@ class SwiftTableManagerTest {
     @Mock
     private SwiftCodeRepository swiftCodeRepository;
 
+    // Mock the COPY bulk-load engine
+    @Mock
+    private PostgresCopyLoader postgresCopyLoader;
+
+    // Mock the read model, it has no snapshot so reads go to the repository
+    @Mock
+    private SwiftCodeReadModel swiftCodeReadModel;
+
+    // Mock the publisher of change events
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    // Mock the metrics of the data loads
+    @Mock
+    private SwiftCodeMetrics swiftCodeMetrics;
+
+    // Mock the incremental load engine
+    @Mock
+    private IncrementalSwiftCodeLoader incrementalSwiftCodeLoader;
+
+    // Mock the transactions of the JPA loads
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Mock the persistence context flushed after every chunk
+    @Mock
+    private EntityManager entityManager;
+
+    // Captures the chunks passed to saveAll
+    @Captor
+    private ArgumentCaptor<List<SwiftCodeEntity>> savedChunks;
+
     // Inject the mock repository into the SwiftTableManager instance
     @InjectMocks
     private SwiftTableManager swiftTableManager;
@@ -122,5 +178,338 @@ class SwiftTableManagerTest {
 
         // Then: Verify that the repository's delete method was called once
         verify(swiftCodeRepository, times(1)).delete(entity);
+
+        // Then: Verify that the deletion was published to the read model and caches
+        ArgumentCaptor<SwiftCodesChangedEvent> event = ArgumentCaptor.forClass(SwiftCodesChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(SwiftCodesChangedEvent.Type.DELETED, event.getValue().getType());
+        assertSame(entity, event.getValue().getEntity());
+    }
+
+    /**
+     * Test that the loader detects existing records with one query per chunk instead of one query per row.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_SkipsExistingRecords() {
+        // Given: The repository already contains one record of the Excel file
+        List<Object[]> existingKeys = new ArrayList<>();
+        existingKeys.add(new Object[]{"AAISALTRXXX", "UNITED BANK OF ALBANIA SH.A", "AL"});
+        when(swiftCodeRepository.findNaturalKeysBySwiftCodeIn(any())).thenReturn(existingKeys).thenReturn(List.of());
+
+        // When: Load the Excel file
+        swiftTableManager.loadSwiftDataFromExcel("src/main/resources/Interns_2025_SWIFT_CODES.xlsx");
+
+        // Then: Duplicates are checked once per chunk and never row by row
+        verify(swiftCodeRepository, times(2)).findNaturalKeysBySwiftCodeIn(any());
+        verify(swiftCodeRepository, never()).findBySwiftCodeAndBankNameAndCountryISO2(any(), any(), any());
+
+        // Then: Every row except the existing one is saved
+        verify(swiftCodeRepository, times(2)).saveAll(savedChunks.capture());
+        List<SwiftCodeEntity> savedEntities = savedChunks.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(1060, savedEntities.size());
+        assertTrue(savedEntities.stream().noneMatch(entity -> entity.getSwiftCode().equals("AAISALTRXXX")));
+    }
+
+    /**
+     * Test that a JPA load failing after its first chunk is rolled back as a whole.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_JpaLoadRolledBackOnFailure() {
+        // Given: A listener failing after the first chunk has been saved
+        when(swiftCodeRepository.findNaturalKeysBySwiftCodeIn(any())).thenReturn(List.of());
+        int[] rows = {0};
+
+        // When: Load the Excel file with the JPA engine
+        assertThrows(RuntimeException.class, () -> swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.JPA, false, () -> {
+                    if (++rows[0] > 1050) {
+                        throw new IllegalStateException("Source failed");
+                    }
+                }));
+
+        // Then: The first chunk was flushed inside the load transaction, which is rolled back and never committed
+        verify(swiftCodeRepository, times(1)).saveAll(any());
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(eventPublisher, never()).publishEvent(any(SwiftCodesChangedEvent.class));
+    }
+
+    /**
+     * Test that a cancelled JPA load is rolled back like a failed one.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_JpaLoadRolledBackOnCancel() {
+        // Given: A load cancelled after the first chunk has been saved
+        when(swiftCodeRepository.findNaturalKeysBySwiftCodeIn(any())).thenReturn(List.of());
+        int[] rows = {0};
+
+        // When: Load the Excel file with the JPA engine
+        assertThrows(CancellationException.class, () -> swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.JPA, false, () -> {
+                    if (++rows[0] > 1050) {
+                        throw new CancellationException("Load cancelled");
+                    }
+                }));
+
+        // Then: The saved chunk is rolled back and never committed
+        verify(swiftCodeRepository, times(1)).saveAll(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(eventPublisher, never()).publishEvent(any(SwiftCodesChangedEvent.class));
+    }
+
+    /**
+     * Test that the records deleted by a failed JPA full reload are restored by its rollback.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_JpaFullReloadDeletesInLoadTransaction() {
+        // Given: A listener failing on the first row
+        LoadProgress failing = () -> {
+            throw new IllegalStateException("Source failed");
+        };
+
+        // When: Reload the Excel file with the JPA engine
+        assertThrows(RuntimeException.class, () -> swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.JPA, true, failing));
+
+        // Then: The records are deleted inside the load transaction, which is rolled back
+        InOrder inOrder = inOrder(transactionManager, swiftCodeRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(swiftCodeRepository).deleteAllInBatch();
+        inOrder.verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    /**
+     * Test that the AUTO engine uses COPY when the table is empty.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_AutoUsesCopyForEmptyTable() throws Exception {
+        // Given: The table is empty
+        when(swiftCodeRepository.existsAnyRecord()).thenReturn(false);
+        when(postgresCopyLoader.load(any(), anyBoolean())).thenReturn(new LoadReport());
+
+        // When: Load the Excel file with the AUTO engine
+        swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.AUTO, false);
+
+        // Then: The rows are written by the COPY engine and not through the repository
+        verify(postgresCopyLoader, times(1)).load(any(), eq(false));
+        verify(swiftCodeRepository, never()).saveAll(any());
+
+        // Then: The load is recorded for the COPY engine
+        verify(swiftCodeMetrics, times(1)).recordLoad(eq(LoadEngine.COPY), any(), anyLong());
+    }
+
+    /**
+     * Test that the AUTO engine keeps using the repository when the table already has records.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_AutoUsesRepositoryForFilledTable() throws Exception {
+        // Given: The table already contains records
+        when(swiftCodeRepository.existsAnyRecord()).thenReturn(true);
+        when(swiftCodeRepository.findNaturalKeysBySwiftCodeIn(any())).thenReturn(List.of());
+
+        // When: Load the Excel file with the AUTO engine
+        LoadReport report = swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.AUTO, false);
+
+        // Then: The rows are saved through the repository
+        verify(postgresCopyLoader, never()).load(any(), anyBoolean());
+        assertEquals(1061, report.getRowsInserted());
+
+        // Then: The load is recorded for the JPA engine
+        verify(swiftCodeMetrics, times(1)).recordLoad(eq(LoadEngine.JPA), eq(report), anyLong());
+    }
+
+    /**
+     * Test that an unchanged file skipped by the INCREMENTAL engine is not read and changes nothing.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_IncrementalSkipsUnchangedFile() throws Exception {
+        // Given: The incremental engine finds the file unchanged
+        LoadReport unchanged = new LoadReport();
+        unchanged.markSourceUnchanged();
+        when(incrementalSwiftCodeLoader.load(any(), any(), anyBoolean())).thenReturn(unchanged);
+
+        // When: Load the Excel file with the INCREMENTAL engine
+        LoadReport report = swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.INCREMENTAL, false);
+
+        // Then: No other engine runs and no change is published
+        assertTrue(report.isSourceUnchanged());
+        verify(postgresCopyLoader, never()).load(any(), anyBoolean());
+        verify(swiftCodeRepository, never()).saveAll(any());
+        verify(eventPublisher, never()).publishEvent(any(SwiftCodesChangedEvent.class));
+        verify(swiftCodeMetrics, times(1)).recordLoad(eq(LoadEngine.INCREMENTAL), eq(report), anyLong());
+    }
+
+    /**
+     * Test that a full reload with another engine makes the next incremental load read the files again.
+     */
+    @Test
+    void testLoadSwiftDataFromExcel_FullReloadForgetsFingerprints() throws Exception {
+        // Given: The COPY engine reloads the table
+        when(postgresCopyLoader.load(any(), anyBoolean())).thenReturn(new LoadReport());
+
+        // When: Fully reload the Excel file with the COPY engine
+        swiftTableManager.loadSwiftDataFromExcel(
+                "src/main/resources/Interns_2025_SWIFT_CODES.xlsx", LoadEngine.COPY, true);
+
+        // Then: The fingerprints of the files are removed
+        verify(incrementalSwiftCodeLoader, times(1)).forgetSources();
+        verify(postgresCopyLoader, times(1)).load(any(), eq(true));
+    }
+
+    /**
+     * Test that the branches of a headquarter are found by the institution prefix without loading the whole table.
+     */
+    @Test
+    void testGetSwiftCodeDetails_HeadquarterWithBranches() {
+        // Given: A headquarter and one of its branches, projected by the repository
+        BranchSwiftCodeDTO headquarter = new BranchSwiftCodeDTO(
+                "123 Main St", "Test Bank", "US", "UNITED STATES", true, "TESTUS33XXX");
+        BranchListDTO branch = new BranchListDTO("1 Side St", "Test Bank", "US", false, "TESTUS33ABC");
+        when(swiftCodeRepository.findDetailsBySwiftCode("TESTUS33XXX", Limit.of(1))).thenReturn(List.of(headquarter));
+        when(swiftCodeRepository.findBranchList("TESTUS33", "TESTUS33XXX")).thenReturn(List.of(branch));
+
+        // When: Get the details of the headquarter
+        SwiftCodeResponseDTO result = (SwiftCodeResponseDTO) swiftTableManager.getSwiftCodeDetails("TESTUS33XXX");
+
+        // Then: The branch is returned and the table is never scanned
+        assertEquals(1, result.getBranches().size());
+        assertEquals("TESTUS33ABC", result.getBranches().get(0).getSwiftCode());
+        verify(swiftCodeRepository, never()).findAll();
+    }
+
+    /**
+     * Test that a headquarter with branches cannot be deleted.
+     */
+    @Test
+    void testDeleteSwiftCode_HeadquarterWithBranches() {
+        // Given: A headquarter which still has a branch
+        SwiftCodeEntity headquarter = new SwiftCodeEntity(
+                1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true);
+        when(swiftCodeRepository.findBySwiftCodeAndBankNameAndCountryISO2("TESTUS33XXX", "Test Bank", "US"))
+                .thenReturn(Optional.of(headquarter));
+        when(swiftCodeRepository.existsByBankPrefixAndSwiftCodeNot("TESTUS33", "TESTUS33XXX")).thenReturn(true);
+
+        // When & Then: The deletion is rejected without scanning the table
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                swiftTableManager.deleteSwiftCode("TESTUS33XXX", "Test Bank", "US"));
+
+        assertEquals("Cannot delete headquarter SWIFT code as it has associated branches.", exception.getMessage());
+        verify(swiftCodeRepository, never()).delete(any());
+        verify(swiftCodeRepository, never()).findAll();
+    }
+
+    /**
+     * Test that reads are answered from the read model snapshot when it is available.
+     */
+    @Test
+    void testGetSwiftCodesForCountry_FromSnapshot() {
+        // Given: The read model has a snapshot with one record
+        SwiftCodeEntity headquarter = new SwiftCodeEntity(
+                1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true);
+        when(swiftCodeReadModel.currentSnapshot()).thenReturn(SwiftCodeSnapshot.of(List.of(headquarter)));
+
+        // When: Get the SWIFT codes of the country
+        CountrySwiftCodesResponseDTO result = swiftTableManager.getSwiftCodesForCountry("us");
+
+        // Then: The snapshot answers and the repository is not used
+        assertEquals("US", result.getCountryISO2());
+        assertEquals("UNITED STATES", result.getCountryName());
+        assertEquals(1, result.getSwiftCodes().size());
+        verifyNoInteractions(swiftCodeRepository);
+    }
+
+    /**
+     * Test that reads answered by the read model open no transaction, while database reads run in a read-only one.
+     */
+    @Test
+    void testGetSwiftCodeDetails_SnapshotOpensNoTransaction() {
+        // Given: The read model has a snapshot with one record
+        SwiftCodeEntity headquarter = new SwiftCodeEntity(
+                1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true);
+        when(swiftCodeReadModel.currentSnapshot()).thenReturn(SwiftCodeSnapshot.of(List.of(headquarter)));
+
+        // When: Read a known and an unknown code, one by one and at once
+        swiftTableManager.getSwiftCodeDetails("TESTUS33XXX");
+        assertThrows(IllegalArgumentException.class, () -> swiftTableManager.getSwiftCodeDetails("MISSUS33XXX"));
+        swiftTableManager.lookupSwiftCodes(List.of("TESTUS33XXX", "MISSUS33XXX"));
+        swiftTableManager.getSwiftCodesForCountry("us");
+
+        // Then: No transaction, and so no database connection, is used
+        verifyNoInteractions(transactionManager);
+        verifyNoInteractions(swiftCodeRepository);
+
+        // When: The read model has no snapshot
+        when(swiftCodeReadModel.currentSnapshot()).thenReturn(null);
+        when(swiftCodeRepository.findDetailsBySwiftCode(eq("TESTUS33ABC"), any())).thenReturn(List.of(
+                new BranchSwiftCodeDTO("1 Side St", "Test Bank", "US", "UNITED STATES", false, "TESTUS33ABC")));
+        swiftTableManager.getSwiftCodeDetails("TESTUS33ABC");
+
+        // Then: The database is read in a read-only transaction
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()));
+    }
+
+    /**
+     * Test that the first page of an unknown country fails like the listing without pages.
+     */
+    @Test
+    void testGetSwiftCodesForCountry_PagedUnknownCountry() {
+        // Given: The country has no SWIFT codes
+        when(swiftCodeRepository.findCountryPage("ZZ", 3)).thenReturn(List.of());
+        when(swiftCodeRepository.findDetailsByCountryISO2("ZZ")).thenReturn(List.of());
+
+        // When: Get the first page and the whole listing of the country
+        Exception paged = assertThrows(IllegalArgumentException.class,
+                () -> swiftTableManager.getSwiftCodesForCountry("zz", null, 2));
+        Exception unpaged = assertThrows(IllegalArgumentException.class,
+                () -> swiftTableManager.getSwiftCodesForCountry("zz"));
+
+        // Then: Both fail with the same error
+        assertEquals("No SWIFT codes found for country ISO2 code: zz", paged.getMessage());
+        assertEquals(unpaged.getMessage(), paged.getMessage());
+    }
+
+    /**
+     * Test that a batch lookup uses one query for the codes and one for all branches, keeping the request order.
+     */
+    @Test
+    void testLookupSwiftCodes_ConstantNumberOfQueries() {
+        // Given: A headquarter with a branch and a headquarter without branches
+        SwiftCodeEntity headquarter = new SwiftCodeEntity(
+                1L, "US", "TESTUS33XXX", "Test Bank", "123 Main St", "UNITED STATES", true);
+        SwiftCodeEntity branch = new SwiftCodeEntity(
+                2L, "US", "TESTUS33ABC", "Test Bank", "1 Side St", "UNITED STATES", false);
+        SwiftCodeEntity otherHeadquarter = new SwiftCodeEntity(
+                3L, "PL", "OTHRPLPWXXX", "Other Bank", "1 Rynek", "POLAND", true);
+        when(swiftCodeRepository.findAllBySwiftCodeIn(anyCollection(), any()))
+                .thenReturn(List.of(headquarter, branch, otherHeadquarter));
+        when(swiftCodeRepository.findAllByBankPrefixIn(anyCollection()))
+                .thenReturn(List.of(headquarter, branch, otherHeadquarter));
+
+        // When: Look up the codes, one of them unknown and one requested twice
+        Map<String, Object> result = swiftTableManager.lookupSwiftCodes(
+                List.of("TESTUS33ABC", "MISSINGXXXX", "TESTUS33XXX", "OTHRPLPWXXX", "TESTUS33ABC"));
+
+        // Then: Every distinct code is answered in request order
+        assertEquals(List.of("TESTUS33ABC", "MISSINGXXXX", "TESTUS33XXX", "OTHRPLPWXXX"), new ArrayList<>(result.keySet()));
+        assertEquals("TESTUS33ABC", ((BranchSwiftCodeDTO) result.get("TESTUS33ABC")).getSwiftCode());
+        assertEquals(Map.of("message", "SWIFT code not found: MISSINGXXXX"), result.get("MISSINGXXXX"));
+
+        SwiftCodeResponseDTO details = (SwiftCodeResponseDTO) result.get("TESTUS33XXX");
+        assertEquals(1, details.getBranches().size());
+        assertEquals("TESTUS33ABC", details.getBranches().get(0).getSwiftCode());
+        assertTrue(((SwiftCodeResponseDTO) result.get("OTHRPLPWXXX")).getBranches().isEmpty());
+
+        // Then: The codes and the branches are each loaded with a single query
+        verify(swiftCodeRepository, times(1)).findAllBySwiftCodeIn(anyCollection(), any());
+        verify(swiftCodeRepository, times(1)).findAllByBankPrefixIn(Set.of("TESTUS33", "OTHRPLPW"));
+        verify(swiftCodeRepository, never()).findBySwiftCode(anyString());
     }
 }
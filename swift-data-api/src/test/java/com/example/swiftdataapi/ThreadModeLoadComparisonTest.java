@@ -0,0 +1,174 @@
+package com.example.swiftdataapi;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load comparison of the platform-thread and virtual-thread request execution modes.
+ *
+ * The application is started twice against the configured database, once with the default Tomcat
+ * thread pool and once with the "virtual-threads" profile, both with the same JDBC pool size and with
+ * caching disabled so that every request blocks on JDBC. Each run drives a closed loop of concurrent
+ * clients alternating between the batch lookup and the country listing, then prints the throughput
+ * and latency percentiles of both modes.
+ *
+ * Not part of the regular build, run it with Java 21:
+ * mvn -Pjava21 test -Dtest=ThreadModeLoadComparisonTest -Dswift.load-comparison=true
+ */
+@EnabledIfSystemProperty(named = "swift.load-comparison", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ThreadModeLoadComparisonTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("swift.load-comparison.concurrency", 1000);
+    private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("swift.load-comparison.warm-up-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("swift.load-comparison.seconds", 20));
+    private static final String POOL_SIZE = System.getProperty("swift.load-comparison.pool-size", "40");
+
+    // Number of SWIFT codes in every batch lookup
+    private static final int LOOKUP_SIZE = 20;
+
+    /**
+     * Runs the same traffic against both modes and prints the results.
+     */
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println("Concurrency " + CONCURRENCY + ", JDBC pool " + POOL_SIZE + ", " + DURATION.toSeconds() + " s per mode");
+        System.out.println("platform threads: " + platform);
+        System.out.println("virtual threads:  " + virtual);
+
+        assertTrue(platform.requests > 0 && virtual.requests > 0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SwiftDataApiApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "swift.loader.engine=AUTO");
+        if (virtualThreads) {
+            builder.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1/swift-codes";
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<String> swiftCodes = jdbcTemplate.queryForList("SELECT swift_code FROM swift_codes", String.class);
+            List<String> countries = jdbcTemplate.queryForList("SELECT DISTINCT countryiso2 FROM swift_codes", String.class);
+
+            drive(baseUrl, swiftCodes, countries, WARM_UP);
+            return drive(baseUrl, swiftCodes, countries, DURATION);
+        }
+    }
+
+    // Runs CONCURRENCY clients sending requests back to back for the given time
+    private Result drive(String baseUrl, List<String> swiftCodes, List<String> countries, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Math.max(4, CONCURRENCY / 10)))
+                .build();
+        long end = System.nanoTime() + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        List<java.util.concurrent.Future<long[]>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                int errors = 0;
+                while (System.nanoTime() < end) {
+                    HttpRequest request = ThreadLocalRandom.current().nextBoolean()
+                            ? lookupRequest(baseUrl, swiftCodes)
+                            : countryRequest(baseUrl, countries);
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long latency = System.nanoTime() - start;
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = latency;
+                }
+                long[] result = Arrays.copyOf(latencies, count + 1);
+                result[count] = errors;
+                return result;
+            }));
+        }
+
+        long[] all = new long[0];
+        long errors = 0;
+        for (java.util.concurrent.Future<long[]> future : futures) {
+            long[] result = future.get();
+            errors += result[result.length - 1];
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + result.length - 1);
+            System.arraycopy(result, 0, all, offset, result.length - 1);
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(all);
+        return new Result(all.length, errors, all.length / (double) duration.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999));
+    }
+
+    private static HttpRequest lookupRequest(String baseUrl, List<String> swiftCodes) {
+        String body = ThreadLocalRandom.current().ints(LOOKUP_SIZE, 0, swiftCodes.size())
+                .mapToObj(i -> "\"" + swiftCodes.get(i) + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/lookup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static HttpRequest countryRequest(String baseUrl, List<String> countries) {
+        String country = countries.get(ThreadLocalRandom.current().nextInt(countries.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/country/" + country)).GET().build();
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long requests, long errors, double requestsPerSecond, double p50Millis, double p99Millis, double p999Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%,.0f req/s, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms (%d requests, %d errors)",
+                    requestsPerSecond, p50Millis, p99Millis, p999Millis, requests, errors);
+        }
+    }
+}